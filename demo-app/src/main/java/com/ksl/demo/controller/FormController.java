@@ -1,19 +1,31 @@
 package com.ksl.demo.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.genericform.core.FormEngine;
 import com.genericform.core.FormSchema;
 import com.genericform.core.FormSchemaManager;
+import com.genericform.core.SchemaComplexityReport;
+import com.genericform.core.SchemaSummaryPage;
+import com.genericform.core.SerializedSchema;
 import com.genericform.core.SubmissionResult;
+import com.genericform.core.ValidationMode;
 import com.ksl.demo.persistence.FormSubmissionEntity;
 import com.ksl.demo.persistence.FormSubmissionSpringRepo;
+import com.ksl.demo.persistence.PayloadCompression;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -31,15 +43,18 @@ public class FormController {
     private final FormSchemaManager formSchemaManager;
     private final FormSubmissionSpringRepo submissionRepo;
     private final ObjectMapper objectMapper;
+    private final PayloadCompression compression;
 
     public FormController(FormEngine formEngine,
             FormSchemaManager formSchemaManager,
             FormSubmissionSpringRepo submissionRepo,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            PayloadCompression compression) {
         this.formEngine = formEngine;
         this.formSchemaManager = formSchemaManager;
         this.submissionRepo = submissionRepo;
         this.objectMapper = objectMapper;
+        this.compression = compression;
     }
 
     // ─────────────────────────── Schema CRUD ───────────────────────────
@@ -52,12 +67,76 @@ public class FormController {
         return ResponseEntity.ok(formSchemaManager.listSchemas());
     }
 
+    /**
+     * List schema metadata (id, name, version, component count, size,
+     * updated-at) without loading component trees. Pass the returned
+     * {@code next_cursor} as {@code after} to fetch the next page.
+     * <p>
+     * Selected by {@code ?view=summary} on the collection rather than a
+     * path segment, so it cannot shadow a form whose id is
+     * {@code "summaries"}. A non-positive {@code size} is rejected with 400.
+     * </p>
+     */
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<SchemaSummaryPage> listSummaries(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(formSchemaManager.listSummaries(after, size));
+    }
+
     /**
      * Retrieve a specific form schema by its formId.
+     * <p>
+     * Serves the library's cached pre-serialized bytes, so no parsing or
+     * serialization happens on this read path. Clients that accept gzip
+     * get the precompressed variant; each encoding carries its own strong
+     * ETag, and a matching {@code If-None-Match} returns 304.
+     * </p>
      */
     @GetMapping("/{formId}")
-    public ResponseEntity<FormSchema> getSchema(@PathVariable String formId) {
+    public ResponseEntity<byte[]> getSchema(@PathVariable String formId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serve(formSchemaManager.getSerializedSchema(formId), ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * List the stored versions of a form schema, oldest first.
+     */
+    @GetMapping("/{formId}/versions")
+    public ResponseEntity<List<String>> listVersions(@PathVariable String formId) {
+        List<String> versions = formSchemaManager.listVersions(formId);
+        if (versions.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(versions);
+    }
+
+    /**
+     * Retrieve a specific version of a form schema.
+     * <p>
+     * Served like {@link #getSchema}, from bytes cached for exactly that
+     * version.
+     * </p>
+     */
+    @GetMapping("/{formId}/versions/{version}")
+    public ResponseEntity<byte[]> getSchemaVersion(@PathVariable String formId,
+            @PathVariable String version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serve(formSchemaManager.getSerializedSchema(formId, version), ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Static complexity report for a stored schema.
+     */
+    @GetMapping("/{formId}/complexity")
+    public ResponseEntity<SchemaComplexityReport> getComplexity(@PathVariable String formId) {
         return formSchemaManager.getSchema(formId)
+                .map(formSchemaManager::analyzeSchema)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -95,17 +174,46 @@ public class FormController {
     /**
      * Submit data against a form schema.
      * The library validates the data and persists it if valid.
+     * <p>
+     * Clients pass the {@code version} they rendered to be validated
+     * against that version even if the form has since been updated;
+     * without it the current version is used.
+     * </p>
+     * <p>
+     * {@code maxErrors} stops validation once that many errors were found
+     * ({@code 1} = fail fast); without it all errors are reported. A
+     * non-positive {@code maxErrors} is rejected with 400.
+     * </p>
      */
     @PostMapping("/{formId}/submit")
     public ResponseEntity<SubmissionResult> submitForm(@PathVariable String formId,
+            @RequestParam(required = false) String version,
+            @RequestParam(required = false) Integer maxErrors,
             @RequestBody Map<String, Object> data) {
-        SubmissionResult result = formEngine.process(formId, data);
+        if (maxErrors != null && maxErrors <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        ValidationMode mode = maxErrors != null ? ValidationMode.maxErrors(maxErrors) : ValidationMode.COLLECT_ALL;
+        SubmissionResult result = formEngine.process(formId, version, data, mode);
         if (result.isValid()) {
             return ResponseEntity.ok(result);
         }
         return ResponseEntity.badRequest().body(result);
     }
 
+    /**
+     * Validate only the fields affected by an edit (on-change / on-blur),
+     * without saving. {@code fields} lists the changed keys; dependent
+     * fields are validated too.
+     */
+    @PostMapping("/{formId}/validate")
+    public ResponseEntity<SubmissionResult> validateFields(@PathVariable String formId,
+            @RequestParam Set<String> fields,
+            @RequestParam(required = false) String version,
+            @RequestBody Map<String, Object> data) {
+        return ResponseEntity.ok(formEngine.validateFields(formId, version, data, fields));
+    }
+
     /**
      * Retrieve all submissions for a specific form.
      */
@@ -123,11 +231,46 @@ public class FormController {
         return ResponseEntity.ok(submissions);
     }
 
+    /**
+     * Write cached schema bytes with content negotiation and conditional
+     * request handling, or 404 if the schema was not found.
+     */
+    private ResponseEntity<byte[]> serve(Optional<SerializedSchema> schema, String ifNoneMatch,
+            String acceptEncoding) {
+        boolean gzip = SerializedSchema.acceptsGzip(acceptEncoding);
+        return schema
+                .map(serialized -> {
+                    if (serialized.isNotModified(ifNoneMatch, gzip)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(serialized.getETag(gzip))
+                                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                                .<byte[]>build();
+                    }
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .eTag(serialized.getETag(gzip))
+                            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                            .cacheControl(CacheControl.noCache())
+                            .contentType(MediaType.APPLICATION_JSON);
+                    if (gzip) {
+                        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                                .body(serialized.getGzip());
+                    }
+                    return response.body(serialized.getJson());
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     private Map<String, Object> toDataMap(FormSubmissionEntity entity) {
         try {
+            if (entity.getDataBin() != null) {
+                try (InputStream in = compression.open(entity.getDataBin())) {
+                    return objectMapper.readValue(in, new TypeReference<>() {
+                    });
+                }
+            }
             return objectMapper.readValue(entity.getDataJson(), new TypeReference<>() {
             });
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new RuntimeException("Failed to deserialise submission data", e);
         }
     }
@@ -0,0 +1,50 @@
+package com.ksl.demo.persistence;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+
+import java.time.Instant;
+
+/**
+ * JPA entity holding a preset Deflate dictionary trained for a form.
+ * <p>
+ * Compressed payloads reference their dictionary by {@link #dictId}, so a
+ * dictionary is kept for as long as rows compressed with it may exist,
+ * even after a newer one has been trained for the same form.
+ * </p>
+ */
+@Entity
+@Table(name = "form_compression_dictionaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FormCompressionDictionaryEntity {
+
+    /**
+     * The first 32 bits of the dictionary's SHA-256, or the next free id
+     * if that one is taken by a different dictionary; never 0, which marks
+     * a payload compressed without dictionary.
+     */
+    @Id
+    @Column(name = "dict_id", nullable = false)
+    private Integer dictId;
+
+    @Column(name = "form_id", nullable = false)
+    private String formId;
+
+    @Column(name = "dictionary", nullable = false, length = Length.LONG32)
+    private byte[] dictionary;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ksl.demo.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Spring Data repository for {@link FormCompressionDictionaryEntity}.
+ */
+public interface FormCompressionDictionarySpringRepo extends JpaRepository<FormCompressionDictionaryEntity, Integer> {
+    Optional<FormCompressionDictionaryEntity> findFirstByFormIdOrderByCreatedAtDesc(String formId);
+}
@@ -2,6 +2,10 @@ package com.ksl.demo.persistence;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Length;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 /**
  * JPA entity for persisting form schema definitions.
@@ -30,4 +34,30 @@ public class FormSchemaEntity {
      */
     @Column(name = "components_json", columnDefinition = "TEXT")
     private String componentsJson;
+
+    /**
+     * The component tree in binary form: Smile-encoded when
+     * {@code demo.schema.storage-format=smile}, and wrapped in the
+     * {@link PayloadCompression} envelope when compression is enabled.
+     * Used instead of {@link #componentsJson} when set.
+     */
+    @Column(name = "components_bin", length = Length.LONG32)
+    private byte[] componentsBin;
+
+    /**
+     * Number of root-level components, denormalised so listings can be
+     * served from a column projection.
+     */
+    @Column(name = "component_count")
+    private Integer componentCount;
+
+    /**
+     * Size in bytes of the stored component payload.
+     */
+    @Column(name = "payload_size")
+    private Long payloadSize;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
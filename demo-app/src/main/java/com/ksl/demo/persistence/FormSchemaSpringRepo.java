@@ -1,9 +1,18 @@
 package com.ksl.demo.persistence;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 /**
  * Spring Data repository for {@link FormSchemaEntity}.
  */
 public interface FormSchemaSpringRepo extends JpaRepository<FormSchemaEntity, String> {
+
+    /** First page of summaries, ordered by primary key. */
+    List<FormSchemaSummaryView> findAllByOrderByFormIdAsc(Limit limit);
+
+    /** Keyset page of summaries: rows after {@code formId}, ordered by primary key. */
+    List<FormSchemaSummaryView> findByFormIdGreaterThanOrderByFormIdAsc(String formId, Limit limit);
 }
@@ -0,0 +1,24 @@
+package com.ksl.demo.persistence;
+
+import java.time.Instant;
+
+/**
+ * Column projection of {@link FormSchemaEntity} for schema listings.
+ * <p>
+ * Selects only metadata columns, so the component payload is never read.
+ * </p>
+ */
+public interface FormSchemaSummaryView {
+
+    String getFormId();
+
+    String getFormName();
+
+    String getVersion();
+
+    Integer getComponentCount();
+
+    Long getPayloadSize();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,57 @@
+package com.ksl.demo.persistence;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity holding one published version of a form schema.
+ * <p>
+ * {@code form_schemas} holds the current version of each form; every
+ * version saved through it is also recorded here, so submissions pinned
+ * to an older version can still be validated against it. The payload
+ * columns use the same encoding as {@link FormSchemaEntity}.
+ * </p>
+ */
+@Entity
+@Table(name = "form_schema_versions",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "form_id", "version" }))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FormSchemaVersionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "form_id", nullable = false)
+    private String formId;
+
+    @Column(name = "version", nullable = false)
+    private String version;
+
+    @Column(name = "form_name")
+    private String formName;
+
+    @Column(name = "components_json", columnDefinition = "TEXT")
+    private String componentsJson;
+
+    @Column(name = "components_bin", length = Length.LONG32)
+    private byte[] componentsBin;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+}
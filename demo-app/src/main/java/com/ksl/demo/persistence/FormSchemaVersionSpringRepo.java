@@ -0,0 +1,19 @@
+package com.ksl.demo.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data repository for {@link FormSchemaVersionEntity}.
+ */
+public interface FormSchemaVersionSpringRepo extends JpaRepository<FormSchemaVersionEntity, UUID> {
+
+    Optional<FormSchemaVersionEntity> findByFormIdAndVersion(String formId, String version);
+
+    List<FormSchemaVersionEntity> findByFormIdOrderByCreatedAtAsc(String formId);
+
+    void deleteByFormId(String formId);
+}
@@ -2,6 +2,7 @@ package com.ksl.demo.persistence;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Length;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -25,12 +26,25 @@ public class FormSubmissionEntity {
     @Column(name = "form_id", nullable = false)
     private String formId;
 
+    /**
+     * The schema version the submission was validated against.
+     */
+    @Column(name = "schema_version")
+    private String schemaVersion;
+
     /**
      * The submitted data stored as a JSON string.
      */
     @Column(name = "data_json", columnDefinition = "TEXT")
     private String dataJson;
 
+    /**
+     * The submitted data, compressed (see {@link PayloadCompression}).
+     * Used instead of {@link #dataJson} when compression is enabled.
+     */
+    @Column(name = "data_bin", length = Length.LONG32)
+    private byte[] dataBin;
+
     @Column(name = "submitted_at", nullable = false)
     private Instant submittedAt;
 
@@ -6,13 +6,16 @@ import com.genericform.core.FormRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
  * JPA-backed implementation of the library's {@link FormRepository} SPI.
  * <p>
  * Persists validated form submission data to the {@code form_submissions}
- * table.
+ * table together with the schema version it was validated against,
+ * compressed into {@code data_bin} when
+ * {@code demo.storage.compression=deflate}.
  * </p>
  */
 @Slf4j
@@ -21,20 +24,33 @@ public class JpaFormRepository implements FormRepository {
 
     private final FormSubmissionSpringRepo springRepo;
     private final ObjectMapper objectMapper;
+    private final PayloadCompression compression;
 
-    public JpaFormRepository(FormSubmissionSpringRepo springRepo, ObjectMapper objectMapper) {
+    public JpaFormRepository(FormSubmissionSpringRepo springRepo, ObjectMapper objectMapper,
+            PayloadCompression compression) {
         this.springRepo = springRepo;
         this.objectMapper = objectMapper;
+        this.compression = compression;
     }
 
     @Override
     public void save(String formId, Map<String, Object> data) {
-        FormSubmissionEntity entity = FormSubmissionEntity.builder()
+        save(formId, null, data);
+    }
+
+    @Override
+    public void save(String formId, String version, Map<String, Object> data) {
+        FormSubmissionEntity.FormSubmissionEntityBuilder builder = FormSubmissionEntity.builder()
                 .formId(formId)
-                .dataJson(toJson(data))
-                .build();
+                .schemaVersion(version);
+        if (compression.isEnabled()) {
+            builder.dataBin(compression.compress(formId, toJson(data).getBytes(StandardCharsets.UTF_8)));
+        } else {
+            builder.dataJson(toJson(data));
+        }
+        FormSubmissionEntity entity = builder.build();
         springRepo.save(entity);
-        log.info("Saved submission to DB: formId={}, id={}", formId, entity.getId());
+        log.info("Saved submission to DB: formId={}, version={}, id={}", formId, version, entity.getId());
     }
 
     private String toJson(Map<String, Object> data) {
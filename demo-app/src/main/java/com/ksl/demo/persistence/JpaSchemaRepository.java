@@ -1,14 +1,20 @@
 package com.ksl.demo.persistence;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.genericform.core.FormComponent;
 import com.genericform.core.FormSchema;
 import com.genericform.core.SchemaRepository;
+import com.genericform.core.SchemaSummary;
+import com.genericform.engine.SchemaCodec;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,31 +22,88 @@ import java.util.Optional;
  * JPA-backed implementation of the library's {@link SchemaRepository} SPI.
  * <p>
  * Persists {@link FormSchema} definitions to the {@code form_schemas} table,
- * serialising the component tree as JSON.
+ * serialising the component tree as JSON ({@code components_json}) or, when
+ * {@code demo.schema.storage-format=smile}, as binary Smile
+ * ({@code components_bin}). With {@code demo.storage.compression=deflate}
+ * the payload is compressed into {@code components_bin} using a dictionary
+ * trained from the form's own components. Reads accept every combination,
+ * so formats can be switched without migrating existing rows.
+ * </p>
+ * <p>
+ * Every saved version is also recorded in {@code form_schema_versions}, so
+ * {@link #findVersion(String, String)} can serve versions that have since
+ * been superseded.
  * </p>
  */
 @Slf4j
 @Repository
 public class JpaSchemaRepository implements SchemaRepository {
 
+    private static final TypeReference<List<FormComponent>> COMPONENT_LIST = new TypeReference<>() {
+    };
+
     private final FormSchemaSpringRepo springRepo;
-    private final ObjectMapper objectMapper;
+    private final FormSchemaVersionSpringRepo versionRepo;
+    private final SchemaCodec schemaCodec;
+    private final PayloadCompression compression;
+    private final boolean storeSmile;
 
-    public JpaSchemaRepository(FormSchemaSpringRepo springRepo, ObjectMapper objectMapper) {
+    public JpaSchemaRepository(FormSchemaSpringRepo springRepo, FormSchemaVersionSpringRepo versionRepo,
+            SchemaCodec schemaCodec,
+            PayloadCompression compression,
+            @Value("${demo.schema.storage-format:json}") String storageFormat) {
         this.springRepo = springRepo;
-        this.objectMapper = objectMapper;
+        this.versionRepo = versionRepo;
+        this.schemaCodec = schemaCodec;
+        this.compression = compression;
+        this.storeSmile = "smile".equalsIgnoreCase(storageFormat);
     }
 
     @Override
+    @Transactional
     public void save(FormSchema schema) {
-        FormSchemaEntity entity = FormSchemaEntity.builder()
+        String componentsJson = null;
+        byte[] componentsBin = null;
+        long payloadSize;
+        if (compression.isEnabled()) {
+            // Train on the bytes that are compressed: JSON tokens never occur in Smile
+            byte[] payload = storeSmile
+                    ? toSmile(schema.getComponents())
+                    : toJson(schema.getComponents()).getBytes(StandardCharsets.UTF_8);
+            compression.train(schema.getFormId(), payload);
+            componentsBin = compression.compress(schema.getFormId(), payload);
+            payloadSize = componentsBin.length;
+        } else if (storeSmile) {
+            componentsBin = toSmile(schema.getComponents());
+            payloadSize = componentsBin.length;
+        } else {
+            componentsJson = toJson(schema.getComponents());
+            payloadSize = componentsJson.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        springRepo.save(FormSchemaEntity.builder()
                 .formId(schema.getFormId())
                 .formName(schema.getFormName())
                 .version(schema.getVersion())
-                .componentsJson(toJson(schema.getComponents()))
-                .build();
-        springRepo.save(entity);
-        log.debug("Saved schema to DB: formId={}", schema.getFormId());
+                .componentCount(schema.getComponents() != null ? schema.getComponents().size() : 0)
+                .componentsJson(componentsJson)
+                .componentsBin(componentsBin)
+                .payloadSize(payloadSize)
+                .build());
+
+        if (schema.getVersion() != null) {
+            FormSchemaVersionEntity version = versionRepo
+                    .findByFormIdAndVersion(schema.getFormId(), schema.getVersion())
+                    .orElseGet(() -> FormSchemaVersionEntity.builder()
+                            .formId(schema.getFormId())
+                            .version(schema.getVersion())
+                            .build());
+            version.setFormName(schema.getFormName());
+            version.setComponentsJson(componentsJson);
+            version.setComponentsBin(componentsBin);
+            versionRepo.save(version);
+        }
+        log.debug("Saved schema to DB: formId={}, version={}", schema.getFormId(), schema.getVersion());
     }
 
     @Override
@@ -48,6 +111,30 @@ public class JpaSchemaRepository implements SchemaRepository {
         return springRepo.findById(formId).map(this::toFormSchema);
     }
 
+    @Override
+    public Optional<FormSchema> findVersion(String formId, String version) {
+        Optional<FormSchema> current = findById(formId).filter(schema -> version.equals(schema.getVersion()));
+        if (current.isPresent()) {
+            return current;
+        }
+        return versionRepo.findByFormIdAndVersion(formId, version)
+                .map(entity -> FormSchema.builder()
+                        .formId(entity.getFormId())
+                        .formName(entity.getFormName())
+                        .version(entity.getVersion())
+                        .components(entity.getComponentsBin() != null
+                                ? fromBytes(entity.getComponentsBin())
+                                : fromJson(entity.getComponentsJson()))
+                        .build());
+    }
+
+    @Override
+    public List<String> findVersions(String formId) {
+        return versionRepo.findByFormIdOrderByCreatedAtAsc(formId).stream()
+                .map(FormSchemaVersionEntity::getVersion)
+                .toList();
+    }
+
     @Override
     public List<FormSchema> findAll() {
         return springRepo.findAll().stream()
@@ -55,9 +142,26 @@ public class JpaSchemaRepository implements SchemaRepository {
                 .toList();
     }
 
+    /**
+     * Served from a column projection with a {@code form_id > ?} keyset
+     * condition, so no component payload is loaded or deserialised.
+     */
     @Override
+    public List<SchemaSummary> findSummaries(String afterFormId, int limit) {
+        List<FormSchemaSummaryView> rows = afterFormId == null
+                ? springRepo.findAllByOrderByFormIdAsc(Limit.of(limit))
+                : springRepo.findByFormIdGreaterThanOrderByFormIdAsc(afterFormId, Limit.of(limit));
+        return rows.stream()
+                .map(row -> new SchemaSummary(row.getFormId(), row.getFormName(), row.getVersion(),
+                        row.getComponentCount(), row.getPayloadSize(), row.getUpdatedAt()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
     public void deleteById(String formId) {
         springRepo.deleteById(formId);
+        versionRepo.deleteByFormId(formId);
         log.debug("Deleted schema from DB: formId={}", formId);
     }
 
@@ -73,27 +177,43 @@ public class JpaSchemaRepository implements SchemaRepository {
                 .formId(entity.getFormId())
                 .formName(entity.getFormName())
                 .version(entity.getVersion())
-                .components(fromJson(entity.getComponentsJson()))
+                .components(entity.getComponentsBin() != null
+                        ? fromBytes(entity.getComponentsBin())
+                        : fromJson(entity.getComponentsJson()))
                 .build();
     }
 
     private String toJson(List<FormComponent> components) {
         try {
-            return objectMapper.writeValueAsString(components);
-        } catch (JsonProcessingException e) {
+            return new String(schemaCodec.writeJson(components), StandardCharsets.UTF_8);
+        } catch (IOException e) {
             throw new RuntimeException("Failed to serialise form components to JSON", e);
         }
     }
 
+    private byte[] toSmile(List<FormComponent> components) {
+        try {
+            return schemaCodec.writeSmile(components);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialise form components to Smile", e);
+        }
+    }
+
     private List<FormComponent> fromJson(String json) {
         if (json == null || json.isBlank()) {
             return List.of();
         }
-        try {
-            return objectMapper.readValue(json, new TypeReference<>() {
-            });
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to deserialise form components from JSON", e);
+        return fromBytes(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<FormComponent> fromBytes(byte[] content) {
+        if (content.length == 0) {
+            return List.of();
+        }
+        try (InputStream in = compression.open(content)) {
+            return schemaCodec.read(in, COMPONENT_LIST);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialise form components", e);
         }
     }
 }
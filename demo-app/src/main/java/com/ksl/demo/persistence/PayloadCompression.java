@@ -0,0 +1,272 @@
+package com.ksl.demo.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Optional compression of stored JSON / Smile payloads
+ * ({@code components_bin}, {@code data_bin}).
+ * <p>
+ * Enabled with {@code demo.storage.compression=deflate}. Form.io payloads
+ * repeat the same keys and boilerplate on every component and submission,
+ * so each form gets a preset Deflate dictionary trained from its schema.
+ * Compressed values use this envelope:
+ * </p>
+ *
+ * <pre>
+ * [0x02 format marker][int32 dictionary id, 0 = none][raw Deflate stream]
+ * </pre>
+ *
+ * Any other leading byte means the value is stored uncompressed (e.g. a
+ * plain Smile document), so rows written before compression was enabled
+ * remain readable. Decompression is exposed as an {@link InputStream} so
+ * callers can stream straight into the JSON parser.
+ */
+@Slf4j
+@Component
+public class PayloadCompression {
+
+    /** Format marker for raw Deflate with an optional preset dictionary. */
+    static final byte FORMAT_DEFLATE = 0x02;
+
+    private static final int HEADER_SIZE = 1 + Integer.BYTES;
+
+    /** Deflate cannot use more than its 32 KiB window as dictionary. */
+    private static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private final FormCompressionDictionarySpringRepo dictionaryRepo;
+    private final boolean enabled;
+
+    private final ConcurrentHashMap<Integer, byte[]> dictionariesById = new ConcurrentHashMap<>();
+
+    /** Current dictionary id per form; 0 caches that the form has none. */
+    private final ConcurrentHashMap<String, Integer> currentDictionaryByForm = new ConcurrentHashMap<>();
+
+    public PayloadCompression(FormCompressionDictionarySpringRepo dictionaryRepo,
+            @Value("${demo.storage.compression:none}") String compression) {
+        this.dictionaryRepo = dictionaryRepo;
+        this.enabled = "deflate".equalsIgnoreCase(compression);
+        log.info("Payload compression: {}", enabled ? "deflate" : "disabled");
+    }
+
+    /** Whether new payloads should be written compressed. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Check whether a stored value carries the compression envelope. */
+    public static boolean isCompressed(byte[] content) {
+        return content != null && content.length >= HEADER_SIZE && content[0] == FORMAT_DEFLATE;
+    }
+
+    // ───────────────────────────── Dictionaries ───────────────────────────
+
+    /**
+     * Train (or reuse) the dictionary for a form from a representative
+     * sample, typically the form's component tree in the stored encoding
+     * (JSON or Smile), and make it the form's current dictionary.
+     */
+    public void train(String formId, byte[] sample) {
+        byte[] dictionary = buildDictionary(sample);
+        int dictId = dictionaryId(dictionary);
+        while (true) {
+            byte[] existing = dictionariesById.get(dictId);
+            if (existing == null) {
+                existing = dictionaryRepo.findById(dictId)
+                        .map(FormCompressionDictionaryEntity::getDictionary)
+                        .orElse(null);
+            }
+            if (existing == null) {
+                dictionaryRepo.save(FormCompressionDictionaryEntity.builder()
+                        .dictId(dictId)
+                        .formId(formId)
+                        .dictionary(dictionary)
+                        .build());
+                dictionariesById.putIfAbsent(dictId, dictionary);
+                log.debug("Trained compression dictionary: formId={}, dictId={}, size={}",
+                        formId, dictId, dictionary.length);
+                break;
+            }
+            if (Arrays.equals(existing, dictionary)) {
+                dictionariesById.putIfAbsent(dictId, existing);
+                break;
+            }
+            // A different dictionary already owns this id: probe the next one
+            log.warn("Compression dictionary id collision: formId={}, dictId={}", formId, dictId);
+            dictId = dictId == -1 ? 1 : dictId + 1;
+        }
+        currentDictionaryByForm.put(formId, dictId);
+    }
+
+    /** The form's current dictionary id, or 0 if it has none; looked up once per form. */
+    private int currentDictionary(String formId) {
+        Integer cached = currentDictionaryByForm.get(formId);
+        if (cached != null) {
+            return cached;
+        }
+        int dictId = dictionaryRepo.findFirstByFormIdOrderByCreatedAtDesc(formId)
+                .map(entity -> {
+                    dictionariesById.putIfAbsent(entity.getDictId(), entity.getDictionary());
+                    return entity.getDictId();
+                })
+                .orElse(0);
+        Integer previous = currentDictionaryByForm.putIfAbsent(formId, dictId);
+        return previous != null ? previous : dictId;
+    }
+
+    private byte[] dictionary(int dictId) {
+        byte[] cached = dictionariesById.get(dictId);
+        if (cached != null) {
+            return cached;
+        }
+        // Load outside the map operation; a concurrent loader may win, with identical bytes
+        byte[] loaded = dictionaryRepo.findById(dictId)
+                .map(FormCompressionDictionaryEntity::getDictionary)
+                .orElseThrow(() -> new IllegalStateException("Compression dictionary not found: " + dictId));
+        byte[] previous = dictionariesById.putIfAbsent(dictId, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    // ───────────────────────────── Compress / Decompress ──────────────────
+
+    /**
+     * Compress a payload with the form's current dictionary (if any).
+     */
+    public byte[] compress(String formId, byte[] content) {
+        int dictId = currentDictionary(formId);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            if (dictId != 0) {
+                deflater.setDictionary(dictionary(dictId));
+            }
+            deflater.setInput(content);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + HEADER_SIZE + 16);
+            out.write(FORMAT_DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(dictId).array());
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Open a stored value for reading, decompressing on the fly if it
+     * carries the compression envelope.
+     */
+    public InputStream open(byte[] content) {
+        if (!isCompressed(content)) {
+            return new ByteArrayInputStream(content);
+        }
+        int dictId = ByteBuffer.wrap(content, 1, Integer.BYTES).getInt();
+        Inflater inflater = new Inflater(true);
+        if (dictId != 0) {
+            inflater.setDictionary(dictionary(dictId));
+        }
+        InputStream compressed = new ByteArrayInputStream(content, HEADER_SIZE, content.length - HEADER_SIZE);
+        return new InflaterInputStream(compressed, inflater) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                inflater.end();
+            }
+        };
+    }
+
+    // ───────────────────────────── Training ───────────────────────────────
+
+    /**
+     * Build a dictionary from the sample's most valuable fragments.
+     * <p>
+     * The sample is split at structural bytes (JSON's {@code , { } [ ]} and
+     * Smile's object and array markers, which never occur in UTF-8 text),
+     * fragments are scored by {@code occurrences × length}, and the best
+     * ones are packed up to the 32 KiB limit. The highest-scoring fragments
+     * go last because Deflate encodes matches at short distances more
+     * cheaply.
+     * </p>
+     */
+    static byte[] buildDictionary(byte[] sample) {
+        Map<ByteBuffer, Integer> counts = new HashMap<>();
+        int start = 0;
+        for (int i = 0; i < sample.length; i++) {
+            if (isBoundary(sample[i])) {
+                if (i - start >= 4) {
+                    counts.merge(ByteBuffer.wrap(sample, start, i + 1 - start).slice(), 1, Integer::sum);
+                }
+                start = i + 1;
+            }
+        }
+
+        List<Map.Entry<ByteBuffer, Integer>> ranked = new ArrayList<>(counts.entrySet());
+        ranked.sort((a, b) -> Long.compare(
+                (long) b.getValue() * b.getKey().remaining(),
+                (long) a.getValue() * a.getKey().remaining()));
+
+        List<byte[]> selected = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<ByteBuffer, Integer> entry : ranked) {
+            byte[] fragment = new byte[entry.getKey().remaining()];
+            entry.getKey().duplicate().get(fragment);
+            if (size + fragment.length > MAX_DICTIONARY_SIZE) {
+                continue;
+            }
+            selected.add(fragment);
+            size += fragment.length;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        for (int i = selected.size() - 1; i >= 0; i--) {
+            out.writeBytes(selected.get(i));
+        }
+        return out.toByteArray();
+    }
+
+    /** JSON structure characters and Smile's start/end array and object markers. */
+    private static boolean isBoundary(byte b) {
+        return switch (b) {
+            case ',', '{', '}', '[', ']', (byte) 0xF8, (byte) 0xF9, (byte) 0xFA, (byte) 0xFB -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * The preferred id of a dictionary: the first 32 bits of its SHA-256.
+     * Ids of different dictionaries can still collide, so {@link #train}
+     * compares the stored bytes and probes the next id on a mismatch.
+     */
+    static int dictionaryId(byte[] dictionary) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(dictionary);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        int id = ByteBuffer.wrap(digest).getInt();
+        return id != 0 ? id : 1;
+    }
+}
@@ -5,9 +5,13 @@ import com.genericform.core.FormSchema;
 import com.genericform.core.SchemaProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,37 +19,131 @@ import java.util.Optional;
  * <p>
  * Looks for JSON files under the configured prefix (default: {@code forms/}).
  * For example, {@code load("survey")} resolves to
- * {@code classpath:forms/survey.json}.
+ * {@code classpath:forms/survey.json}, and {@code load("hr/leave")} to
+ * {@code classpath:forms/hr/leave.json}.
+ * </p>
+ * <p>
+ * The classpath is scanned once at construction (including inside jars)
+ * and the result kept in a {@link SchemaIndex}, so indexed schemas are
+ * read without resolving resources again and {@link #listFormIds()} can
+ * enumerate every bundled schema. A form id that is not indexed (e.g. a
+ * resource the scan could not enumerate) is still looked up directly.
  * </p>
  */
 @Slf4j
 public class ClasspathSchemaProvider implements SchemaProvider {
 
+    private static final String SCHEMA_EXTENSION = ".json";
+
     private final ObjectMapper objectMapper;
     private final String classpathPrefix;
+    private final SchemaIndex index = new SchemaIndex();
 
     public ClasspathSchemaProvider(ObjectMapper objectMapper, String classpathPrefix) {
         this.objectMapper = objectMapper;
         this.classpathPrefix = classpathPrefix != null ? classpathPrefix : "forms/";
+        buildIndex();
     }
 
     @Override
     public Optional<FormSchema> load(String formId) {
-        String resourcePath = classpathPrefix + formId + ".json";
-        ClassPathResource resource = new ClassPathResource(resourcePath);
-
+        Resource resource = index.get(formId)
+                .map(SchemaIndex.Entry::getResource)
+                .orElseGet(() -> new ClassPathResource(classpathPrefix + formId + SCHEMA_EXTENSION));
         if (!resource.exists()) {
-            log.warn("Schema not found on classpath: {}", resourcePath);
+            log.warn("Schema not found on classpath: {}{}{}", classpathPrefix, formId, SCHEMA_EXTENSION);
             return Optional.empty();
         }
 
         try (InputStream is = resource.getInputStream()) {
-            FormSchema schema = objectMapper.readValue(is, FormSchema.class);
-            log.info("Loaded form schema from classpath: {}", resourcePath);
+            byte[] content = is.readAllBytes();
+            FormSchema schema = objectMapper.readValue(content, FormSchema.class);
+            index.putIfAbsent(formId, resource, content);
+            log.info("Loaded form schema from classpath: {}", resource.getDescription());
             return Optional.of(schema);
         } catch (IOException e) {
-            log.error("Failed to read schema from classpath: {}", resourcePath, e);
+            log.error("Failed to read schema from classpath: {}", resource.getDescription(), e);
             return Optional.empty();
         }
     }
+
+    @Override
+    public List<String> listFormIds() {
+        return index.formIds();
+    }
+
+    /**
+     * The index of schemas found on the classpath at startup.
+     */
+    public SchemaIndex getIndex() {
+        return index;
+    }
+
+    // ───────────────────────────── Indexing ───────────────────────────────
+
+    /**
+     * Scan {@code classpath*:<prefix>**}{@code /*.json} across all classpath
+     * roots, including jar files and subdirectories. Schemas in
+     * subdirectories get their relative path as formId (e.g.
+     * {@code hr/leave}). When the same formId exists in several roots the
+     * first one in classpath order wins and the others are logged.
+     */
+    private void buildIndex() {
+        String pattern = "classpath*:" + classpathPrefix + "**/*" + SCHEMA_EXTENSION;
+        try {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            List<String> roots = new ArrayList<>();
+            for (Resource root : resolver.getResources("classpath*:" + classpathPrefix)) {
+                roots.add(root.getURL().toString());
+            }
+            for (Resource resource : resolver.getResources(pattern)) {
+                String formId = formIdOf(resource, roots);
+                if (formId == null || !resource.isReadable()) {
+                    continue;
+                }
+                try (InputStream is = resource.getInputStream()) {
+                    if (!index.putIfAbsent(formId, resource, is.readAllBytes())) {
+                        log.warn("Ignoring schema {}: form id '{}' is already provided by {}",
+                                resource.getDescription(), formId,
+                                index.get(formId).orElseThrow().getResource().getDescription());
+                    }
+                }
+            }
+            log.info("Indexed {} form schema(s) on classpath: {}", index.size(), pattern);
+        } catch (IOException e) {
+            log.error("Failed to scan classpath for schemas: {}", pattern, e);
+        }
+    }
+
+    /**
+     * The formId of a schema resource: its path below the matching
+     * classpath root, without extension. If no root matches (e.g. jars
+     * without directory entries), the path after the first
+     * {@code classpathPrefix} segment within the jar or directory.
+     */
+    private String formIdOf(Resource resource, List<String> roots) throws IOException {
+        String fileName = resource.getFilename();
+        if (fileName == null || !fileName.endsWith(SCHEMA_EXTENSION)) {
+            return null;
+        }
+        String url = resource.getURL().toString();
+        String relative = null;
+        for (String root : roots) {
+            String base = root.endsWith("/") ? root : root + "/";
+            if (url.startsWith(base)) {
+                relative = url.substring(base.length());
+                break;
+            }
+        }
+        if (relative == null) {
+            int jarEntry = url.lastIndexOf("!/");
+            int start = jarEntry >= 0 ? jarEntry + 1 : 0;
+            int prefix = url.indexOf("/" + classpathPrefix, start);
+            if (prefix < 0) {
+                return null;
+            }
+            relative = url.substring(prefix + 1 + classpathPrefix.length());
+        }
+        return relative.substring(0, relative.length() - SCHEMA_EXTENSION.length());
+    }
 }
@@ -3,50 +3,171 @@ package com.genericform.autoconfigure;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.genericform.core.FormSchema;
 import com.genericform.core.SchemaProvider;
+import com.genericform.engine.SchemaCodec;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * {@link SchemaProvider} that reads form schemas from a filesystem directory.
  * <p>
  * Activated when {@code genericform.schema.source=filesystem}.
- * Resolves schema files as {@code <filesystemPath>/<formId>.json}.
+ * Resolves schema files as {@code <filesystemPath>/<formId>.json}, or
+ * {@code <formId>.smile} for schemas stored in binary Smile encoding. The
+ * format is detected from the content, not the extension. If both files
+ * exist for a formId, {@code .json} takes precedence and the shadowed
+ * {@code .smile} file is logged at startup.
+ * </p>
+ * <p>
+ * The directory is scanned once at construction into a {@link SchemaIndex}.
+ * Each successful {@link #load(String)} refreshes the index entry when the
+ * file's size or modification time changed (re-hashing only then), and a
+ * load that finds the file gone removes it, so the index follows changes
+ * picked up by {@link FilesystemSchemaWatcher}. Files added after startup
+ * are still found on their first lookup.
  * </p>
  */
 @Slf4j
 public class FilesystemSchemaProvider implements SchemaProvider {
 
-    private final ObjectMapper objectMapper;
+    /** Recognised schema file extensions, in precedence order. */
+    static final List<String> SCHEMA_EXTENSIONS = List.of(".json", ".smile");
+
+    private final SchemaCodec schemaCodec;
     private final Path basePath;
+    private final SchemaIndex index = new SchemaIndex();
 
     public FilesystemSchemaProvider(ObjectMapper objectMapper, String filesystemPath) {
-        this.objectMapper = objectMapper;
+        this.schemaCodec = new SchemaCodec(objectMapper);
         this.basePath = Paths.get(filesystemPath);
         log.info("FilesystemSchemaProvider initialised with path: {}", basePath.toAbsolutePath());
+        buildIndex();
     }
 
     @Override
     public Optional<FormSchema> load(String formId) {
-        Path schemaFile = basePath.resolve(formId + ".json");
-
-        if (!Files.exists(schemaFile)) {
-            log.warn("Schema file not found: {}", schemaFile.toAbsolutePath());
-            return Optional.empty();
-        }
+        Path schemaFile = schemaPath(formId);
 
         try {
+            BasicFileAttributes attributes = Files.readAttributes(schemaFile, BasicFileAttributes.class);
             byte[] content = Files.readAllBytes(schemaFile);
-            FormSchema schema = objectMapper.readValue(content, FormSchema.class);
+            FormSchema schema = schemaCodec.readSchema(content);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            boolean current = index.get(formId)
+                    .filter(entry -> entry.getResource().getFilename().equals(schemaFile.getFileName().toString()))
+                    .filter(entry -> entry.isCurrent(content.length, lastModified))
+                    .isPresent();
+            if (!current) {
+                index.put(formId, new FileSystemResource(schemaFile), content, lastModified);
+            }
             log.info("Loaded form schema from filesystem: {}", schemaFile.toAbsolutePath());
             return Optional.of(schema);
+        } catch (NoSuchFileException e) {
+            index.remove(formId);
+            log.warn("Schema file not found: {}", schemaFile.toAbsolutePath());
+            return Optional.empty();
         } catch (IOException e) {
             log.error("Failed to read schema from filesystem: {}", schemaFile.toAbsolutePath(), e);
             return Optional.empty();
         }
     }
+
+    @Override
+    public List<String> listFormIds() {
+        return index.formIds();
+    }
+
+    /**
+     * The index of schemas found in the directory.
+     */
+    public SchemaIndex getIndex() {
+        return index;
+    }
+
+    // ───────────────────────────── Indexing ───────────────────────────────
+
+    /**
+     * Resolve the file for a formId: the indexed file if known, otherwise
+     * the first existing candidate extension (defaulting to {@code .json}).
+     * Form ids may contain subdirectories, e.g. {@code hr/leave}.
+     */
+    private Path schemaPath(String formId) {
+        return index.get(formId)
+                .map(entry -> ((FileSystemResource) entry.getResource()).getFile().toPath())
+                .orElseGet(() -> SCHEMA_EXTENSIONS.stream()
+                        .map(ext -> basePath.resolve(formId + ext))
+                        .filter(Files::isRegularFile)
+                        .findFirst()
+                        .orElse(basePath.resolve(formId + SCHEMA_EXTENSIONS.get(0))));
+    }
+
+    /**
+     * Extract the formId from a schema file name, or {@code null} if the
+     * file does not have a recognised schema extension.
+     */
+    static String formIdOf(String fileName) {
+        for (String ext : SCHEMA_EXTENSIONS) {
+            if (fileName.endsWith(ext)) {
+                return fileName.substring(0, fileName.length() - ext.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scan the directory for {@code *.json} and {@code *.smile} schema
+     * files, in precedence order per formId regardless of listing order.
+     */
+    private void buildIndex() {
+        if (!Files.isDirectory(basePath)) {
+            log.warn("Schema directory does not exist: {}", basePath.toAbsolutePath());
+            return;
+        }
+        try (Stream<Path> files = Files.list(basePath)) {
+            files.filter(file -> formIdOf(file.getFileName().toString()) != null)
+                    .filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing((Path file) -> formIdOf(file.getFileName().toString()))
+                            .thenComparingInt(FilesystemSchemaProvider::precedence))
+                    .forEach(this::indexFile);
+            log.info("Indexed {} form schema(s) in {}", index.size(), basePath.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Failed to scan schema directory: {}", basePath.toAbsolutePath(), e);
+        }
+    }
+
+    private void indexFile(Path file) {
+        String formId = formIdOf(file.getFileName().toString());
+        if (index.contains(formId)) {
+            log.warn("Ignoring schema file {}: shadowed by {}", file.toAbsolutePath(),
+                    index.get(formId).orElseThrow().getResource().getFilename());
+            return;
+        }
+        try {
+            index.put(formId, new FileSystemResource(file), Files.readAllBytes(file),
+                    Files.getLastModifiedTime(file).toMillis());
+        } catch (IOException e) {
+            log.warn("Failed to index schema file: {}", file.toAbsolutePath(), e);
+        }
+    }
+
+    /** Position of a file's extension in {@link #SCHEMA_EXTENSIONS}. */
+    private static int precedence(Path file) {
+        String fileName = file.getFileName().toString();
+        for (int i = 0; i < SCHEMA_EXTENSIONS.size(); i++) {
+            if (fileName.endsWith(SCHEMA_EXTENSIONS.get(i))) {
+                return i;
+            }
+        }
+        return SCHEMA_EXTENSIONS.size();
+    }
 }
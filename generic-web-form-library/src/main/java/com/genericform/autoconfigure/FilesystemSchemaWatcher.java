@@ -0,0 +1,186 @@
+package com.genericform.autoconfigure;
+
+import com.genericform.engine.FormRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Watches the filesystem schema directory and hot-reloads changed schemas.
+ * <p>
+ * Activated when {@code genericform.schema.source=filesystem} and
+ * {@code genericform.schema.filesystem-watch-enabled=true}. Change events
+ * are debounced per file, so an editor writing a file in several chunks
+ * triggers a single reload. Only the affected {@code formId} is touched:
+ * </p>
+ * <ul>
+ * <li>created / modified — if cached, the schema is reloaded off-thread and
+ * swapped atomically via {@link FormRegistry#reload(String)}; in-flight
+ * validations keep the instance they already hold</li>
+ * <li>deleted — the schema is evicted</li>
+ * <li>event overflow — every cached schema is reloaded</li>
+ * </ul>
+ * Schemas that are not cached yet are left alone; they are read fresh on
+ * their first lookup.
+ */
+@Slf4j
+public class FilesystemSchemaWatcher implements AutoCloseable {
+
+    private final Path directory;
+    private final FormRegistry formRegistry;
+    private final long debounceMillis;
+
+    private final ConcurrentHashMap<String, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reloadExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "genericform-schema-reload");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile WatchService watchService;
+    private volatile Thread watchThread;
+
+    /**
+     * @param filesystemPath the schema directory to watch
+     * @param formRegistry   the registry whose entries are reloaded
+     * @param debounceMillis quiet period after the last event before reloading
+     */
+    public FilesystemSchemaWatcher(String filesystemPath, FormRegistry formRegistry, long debounceMillis) {
+        this.directory = Paths.get(filesystemPath);
+        this.formRegistry = formRegistry;
+        this.debounceMillis = Math.max(0, debounceMillis);
+    }
+
+    /**
+     * Register the watch and start the watcher thread.
+     *
+     * @throws IllegalStateException if the directory cannot be watched
+     */
+    public void start() {
+        if (!Files.isDirectory(directory)) {
+            log.warn("Schema directory does not exist, hot-reload disabled: {}", directory.toAbsolutePath());
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to watch schema directory: " + directory.toAbsolutePath(), e);
+        }
+
+        watchThread = new Thread(this::pollEvents, "genericform-schema-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("Watching schema directory for changes: {} (debounce={}ms)",
+                directory.toAbsolutePath(), debounceMillis);
+    }
+
+    /**
+     * Stop watching and cancel any pending reloads.
+     */
+    @Override
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Error closing schema watch service", e);
+            }
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+        reloadExecutor.shutdownNow();
+    }
+
+    // ───────────────────────────── Event Loop ─────────────────────────────
+
+    private void pollEvents() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    handleEvent(event);
+                }
+                if (!key.reset()) {
+                    log.warn("Schema directory is no longer accessible, hot-reload stopped: {}",
+                            directory.toAbsolutePath());
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Normal shutdown
+        }
+    }
+
+    private void handleEvent(WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            log.warn("Schema watch events overflowed; reloading all cached schemas");
+            formRegistry.cachedFormIds().forEach(formId -> schedule(formId, false));
+            return;
+        }
+
+        String formId = FilesystemSchemaProvider.formIdOf(event.context().toString());
+        if (formId == null) {
+            return;
+        }
+        schedule(formId, event.kind() == StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * Debounce: replace any pending task for the same formId.
+     */
+    private void schedule(String formId, boolean deleted) {
+        AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+        ScheduledFuture<?> task = reloadExecutor.schedule(
+                () -> apply(formId, deleted, self.get()), debounceMillis, TimeUnit.MILLISECONDS);
+        self.set(task);
+        ScheduledFuture<?> previous = pending.put(formId, task);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void apply(String formId, boolean deleted, ScheduledFuture<?> self) {
+        // Only drop our own entry: a newer task may have been scheduled meanwhile
+        if (self != null) {
+            pending.remove(formId, self);
+        }
+        try {
+            if (deleted) {
+                if (formRegistry.isCached(formId)) {
+                    formRegistry.evict(formId);
+                }
+                return;
+            }
+            if (!formRegistry.isCached(formId)) {
+                return;
+            }
+            if (formRegistry.reload(formId).isEmpty()) {
+                log.warn("Hot-reload of formId={} failed; keeping the previously cached schema", formId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Hot-reload of formId={} failed", formId, e);
+        }
+    }
+}
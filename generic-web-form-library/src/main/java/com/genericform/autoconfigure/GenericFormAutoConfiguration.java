@@ -1,21 +1,32 @@
 package com.genericform.autoconfigure;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genericform.core.ComponentValidator;
 import com.genericform.core.FormEngine;
 import com.genericform.core.FormRepository;
 import com.genericform.core.FormSchemaManager;
 import com.genericform.core.SchemaProvider;
 import com.genericform.core.SchemaRepository;
+import com.genericform.core.SubmissionStage;
+import com.genericform.engine.ComponentValidatorRegistry;
 import com.genericform.engine.DefaultFormEngine;
 import com.genericform.engine.DefaultFormSchemaManager;
 import com.genericform.engine.FormRegistry;
 import com.genericform.engine.JavaScriptValidationEngine;
+import com.genericform.engine.SchemaCodec;
+import com.genericform.engine.SchemaComplexityBudget;
+import com.genericform.engine.SchemaWarmup;
 import com.genericform.engine.ValidationEngine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.Nullable;
 
 /**
@@ -62,6 +73,27 @@ public class GenericFormAutoConfiguration {
         };
     }
 
+    /**
+     * Hot-reload of filesystem schemas. Only created when
+     * {@code genericform.schema.source=filesystem} and
+     * {@code genericform.schema.filesystem-watch-enabled=true}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "genericform.schema.source", havingValue = "filesystem")
+    static class FilesystemWatchConfiguration {
+
+        @Bean(destroyMethod = "close")
+        @ConditionalOnMissingBean(FilesystemSchemaWatcher.class)
+        @ConditionalOnProperty(name = "genericform.schema.filesystem-watch-enabled", havingValue = "true")
+        public FilesystemSchemaWatcher filesystemSchemaWatcher(GenericFormProperties properties,
+                FormRegistry formRegistry) {
+            FilesystemSchemaWatcher watcher = new FilesystemSchemaWatcher(properties.getFilesystemPath(),
+                    formRegistry, properties.getFilesystemWatchDebounceMillis());
+            watcher.start();
+            return watcher;
+        }
+    }
+
     // ───────────────────────────── Repository ─────────────────────────────────
 
     @Bean
@@ -78,6 +110,16 @@ public class GenericFormAutoConfiguration {
         return new ObjectMapper();
     }
 
+    /**
+     * Codec for reading and writing schemas as text JSON or binary Smile,
+     * available to host-provided stores.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SchemaCodec.class)
+    public SchemaCodec schemaCodec(ObjectMapper objectMapper) {
+        return new SchemaCodec(objectMapper);
+    }
+
     // ───────────────────────────── Engine Components ──────────────────────────
 
     @Bean
@@ -104,19 +146,41 @@ public class GenericFormAutoConfiguration {
         return new JavaScriptValidationEngine(properties.getCustomJsTimeoutSeconds());
     }
 
+    /**
+     * Registry of the built-in component validators plus every
+     * {@link ComponentValidator} bean of the host application.
+     */
+    @Bean
+    @ConditionalOnMissingBean(ComponentValidatorRegistry.class)
+    public ComponentValidatorRegistry componentValidatorRegistry(
+            ObjectProvider<ComponentValidator> validators) {
+        return new ComponentValidatorRegistry(validators.orderedStream().toList());
+    }
+
     @Bean
     @ConditionalOnMissingBean(ValidationEngine.class)
     public ValidationEngine validationEngine(
-            @Nullable JavaScriptValidationEngine jsEngine) {
-        return new ValidationEngine(jsEngine);
+            @Nullable JavaScriptValidationEngine jsEngine,
+            GenericFormProperties properties,
+            ComponentValidatorRegistry validators) {
+        int threads = properties.getParallelValidationThreads();
+        return new ValidationEngine(jsEngine, properties.getParallelValidationThreshold(),
+                properties.isAdaptiveOrderingEnabled(), validators,
+                threads > 0 ? threads : ValidationEngine.DEFAULT_PARALLELISM);
     }
 
+    /**
+     * The form engine, running every {@link SubmissionStage} bean of the
+     * host application in its pipeline, in {@code @Order} within a phase.
+     */
     @Bean
     @ConditionalOnMissingBean(FormEngine.class)
     public FormEngine formEngine(FormRegistry formRegistry,
             ValidationEngine validationEngine,
-            FormRepository formRepository) {
-        return new DefaultFormEngine(formRegistry, validationEngine, formRepository);
+            FormRepository formRepository,
+            ObjectProvider<SubmissionStage> stages) {
+        return new DefaultFormEngine(formRegistry, validationEngine, formRepository,
+                stages.orderedStream().toList());
     }
 
     // ───────────────────────────── Schema Management ──────────────────────────
@@ -130,7 +194,66 @@ public class GenericFormAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(FormSchemaManager.class)
     public FormSchemaManager formSchemaManager(SchemaRepository schemaRepository,
-            FormRegistry formRegistry) {
-        return new DefaultFormSchemaManager(schemaRepository, formRegistry);
+            FormRegistry formRegistry,
+            ObjectMapper objectMapper,
+            GenericFormProperties properties) {
+        SchemaComplexityBudget budget = SchemaComplexityBudget.builder()
+                .maxDepth(properties.getComplexityMaxDepth())
+                .maxInputs(properties.getComplexityMaxInputs())
+                .maxScripts(properties.getComplexityMaxScripts())
+                .maxScriptSize(properties.getComplexityMaxScriptSize())
+                .maxRegexRisk(properties.getComplexityMaxRegexRisk())
+                .maxOptions(properties.getComplexityMaxOptions())
+                .maxCost(properties.getComplexityMaxCost())
+                .build();
+        return new DefaultFormSchemaManager(schemaRepository, formRegistry, objectMapper, budget);
+    }
+
+    // ───────────────────────────── Startup Warm-up ────────────────────────────
+
+    /**
+     * Preloads all known schemas and exercises the validation paths at
+     * startup. Only created when {@code genericform.schema.warmup-enabled=true}.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SchemaWarmup.class)
+    @ConditionalOnProperty(name = "genericform.schema.warmup-enabled", havingValue = "true")
+    public SchemaWarmup schemaWarmup(FormRegistry formRegistry,
+            SchemaProvider schemaProvider,
+            ValidationEngine validationEngine,
+            GenericFormProperties properties) {
+        return new SchemaWarmup(formRegistry, schemaProvider, validationEngine,
+                properties.getWarmupParallelism(), properties.getWarmupIterations());
+    }
+
+    /**
+     * Starts the warm-up in the background once the context is refreshed,
+     * so startup is not blocked while readiness is held back.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "genericform.schema.warmup-enabled", havingValue = "true")
+    public ApplicationRunner schemaWarmupRunner(SchemaWarmup schemaWarmup) {
+        return args -> schemaWarmup.runAsync();
+    }
+
+    /**
+     * Readiness reporting for the warm-up, registered only when Spring Boot
+     * Actuator is on the classpath.
+     * <p>
+     * Conditioned on the property rather than on the {@link SchemaWarmup}
+     * bean: member configurations are processed before the outer class's
+     * bean methods, so a bean condition would never match.
+     * </p>
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HealthIndicator.class)
+    @ConditionalOnProperty(name = "genericform.schema.warmup-enabled", havingValue = "true")
+    static class SchemaWarmupHealthConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "schemaWarmupHealthIndicator")
+        public SchemaWarmupHealthIndicator schemaWarmupHealthIndicator(SchemaWarmup schemaWarmup) {
+            return new SchemaWarmupHealthIndicator(schemaWarmup);
+        }
     }
 }
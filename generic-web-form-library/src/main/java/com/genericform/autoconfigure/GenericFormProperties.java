@@ -22,6 +22,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * <pre>
  * genericform.schema.source=filesystem
  * genericform.schema.filesystem-path=/opt/forms
+ * genericform.schema.filesystem-watch-enabled=true
+ * </pre>
+ *
+ * <h3>Example — startup warm-up:</h3>
+ * 
+ * <pre>
+ * genericform.schema.warmup-enabled=true
+ * genericform.schema.warmup-parallelism=4
  * </pre>
  */
 @Getter
@@ -51,6 +59,19 @@ public class GenericFormProperties {
      */
     private String filesystemPath;
 
+    /**
+     * Whether to watch the filesystem schema directory and hot-reload
+     * changed schemas (used when {@code source=filesystem}).
+     * Default: {@code false}.
+     */
+    private boolean filesystemWatchEnabled = false;
+
+    /**
+     * Quiet period in milliseconds after the last change to a schema file
+     * before it is reloaded. Default: {@code 500}.
+     */
+    private long filesystemWatchDebounceMillis = 500;
+
     // ─────────────────────────── Validation Settings ─────────────────────
 
     /**
@@ -67,6 +88,96 @@ public class GenericFormProperties {
      */
     private int customJsTimeoutSeconds = 5;
 
+    /**
+     * Estimated validation work per submission (one unit per input, 100 per
+     * custom script, grids counted per submitted row) above which large
+     * grids and top-level panels are validated in parallel on the engine's
+     * own fork-join pool. {@code 0} disables parallel validation.
+     * Default: {@code 5000}.
+     */
+    private long parallelValidationThreshold = 5_000;
+
+    /**
+     * Threads of the parallel validation pool, shared by all submissions.
+     * {@code 0} uses one per available processor; {@code 1} disables
+     * parallel validation.
+     * Default: {@code 0}.
+     */
+    private int parallelValidationThreads = 0;
+
+    /**
+     * Whether the engine records per-field validation cost and failure
+     * rate, and validations with an error budget (fail-fast / max errors)
+     * run the cheapest-expected-rejection checks first. Errors are then
+     * reported in that order rather than schema order.
+     * Default: {@code false}.
+     */
+    private boolean adaptiveOrderingEnabled = false;
+
+    // ─────────────────────────── Complexity Budget ───────────────────────
+
+    /**
+     * Maximum component nesting depth accepted by createSchema / updateSchema.
+     * {@code 0} disables the check. Default: {@code 0}.
+     */
+    private int complexityMaxDepth = 0;
+
+    /**
+     * Maximum number of input components. {@code 0} disables the check.
+     * Default: {@code 0}.
+     */
+    private int complexityMaxInputs = 0;
+
+    /**
+     * Maximum number of JavaScript snippets (custom validation, conditionals,
+     * calculations). {@code 0} disables the check. Default: {@code 0}.
+     */
+    private int complexityMaxScripts = 0;
+
+    /**
+     * Maximum total JavaScript size in characters. {@code 0} disables the
+     * check. Default: {@code 0}.
+     */
+    private int complexityMaxScriptSize = 0;
+
+    /**
+     * Maximum regex backtracking risk score of a single pattern.
+     * {@code 0} disables the check. Default: {@code 0}.
+     */
+    private int complexityMaxRegexRisk = 0;
+
+    /**
+     * Maximum number of options of a single select / radio component.
+     * {@code 0} disables the check. Default: {@code 0}.
+     */
+    private int complexityMaxOptions = 0;
+
+    /**
+     * Maximum estimated validation cost per submission, in cost units.
+     * {@code 0} disables the check. Default: {@code 0}.
+     */
+    private long complexityMaxCost = 0;
+
+    // ─────────────────────────── Warm-up Settings ────────────────────────
+
+    /**
+     * Whether to preload all known schemas and run synthetic submissions
+     * through the validation engine at startup. Default: {@code false}.
+     */
+    private boolean warmupEnabled = false;
+
+    /**
+     * Number of threads used to load schemas during warm-up.
+     * Default: number of available processors.
+     */
+    private int warmupParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of synthetic submissions validated per schema during warm-up.
+     * Default: {@code 20}.
+     */
+    private int warmupIterations = 20;
+
     /**
      * Enum defining the supported schema source types.
      */
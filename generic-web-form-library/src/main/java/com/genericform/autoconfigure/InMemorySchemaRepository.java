@@ -5,7 +5,10 @@ import com.genericform.core.SchemaRepository;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -14,6 +17,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * Stores schemas in a {@link ConcurrentHashMap} — suitable for
  * development and testing. Data is <strong>lost on restart</strong>.
+ * Every saved version is kept, so older versions remain available via
+ * {@link #findVersion(String, String)}.
  * </p>
  * <p>
  * For production, the host application should provide its own
@@ -24,10 +29,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class InMemorySchemaRepository implements SchemaRepository {
 
     private final ConcurrentHashMap<String, FormSchema> store = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Map<String, FormSchema>> history = new ConcurrentHashMap<>();
 
     @Override
     public void save(FormSchema schema) {
         store.put(schema.getFormId(), schema);
+        if (schema.getVersion() != null) {
+            history.computeIfAbsent(schema.getFormId(), id -> Collections.synchronizedMap(new LinkedHashMap<>()))
+                    .put(schema.getVersion(), schema);
+        }
         log.debug("[InMemorySchemaRepository] Saved schema: formId={}", schema.getFormId());
     }
 
@@ -36,6 +46,23 @@ public class InMemorySchemaRepository implements SchemaRepository {
         return Optional.ofNullable(store.get(formId));
     }
 
+    @Override
+    public Optional<FormSchema> findVersion(String formId, String version) {
+        Map<String, FormSchema> versions = history.get(formId);
+        return versions != null ? Optional.ofNullable(versions.get(version)) : Optional.empty();
+    }
+
+    @Override
+    public List<String> findVersions(String formId) {
+        Map<String, FormSchema> versions = history.get(formId);
+        if (versions == null) {
+            return List.of();
+        }
+        synchronized (versions) {
+            return List.copyOf(versions.keySet());
+        }
+    }
+
     @Override
     public List<FormSchema> findAll() {
         return new ArrayList<>(store.values());
@@ -44,6 +71,7 @@ public class InMemorySchemaRepository implements SchemaRepository {
     @Override
     public void deleteById(String formId) {
         store.remove(formId);
+        history.remove(formId);
         log.debug("[InMemorySchemaRepository] Deleted schema: formId={}", formId);
     }
 
@@ -3,8 +3,11 @@ package com.genericform.autoconfigure;
 import com.genericform.core.FormSchema;
 import com.genericform.core.SchemaProvider;
 import com.genericform.core.SchemaRepository;
+import com.genericform.core.SchemaSummary;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,6 +22,9 @@ import java.util.Optional;
 @Slf4j
 public class RepositorySchemaProvider implements SchemaProvider {
 
+    /** Summaries fetched per query when listing the form ids. */
+    static final int LIST_PAGE_SIZE = 500;
+
     private final SchemaRepository schemaRepository;
 
     public RepositorySchemaProvider(SchemaRepository schemaRepository) {
@@ -30,4 +36,31 @@ public class RepositorySchemaProvider implements SchemaProvider {
         log.debug("Loading schema from repository: formId={}", formId);
         return schemaRepository.findById(formId);
     }
+
+    @Override
+    public Optional<FormSchema> loadVersion(String formId, String version) {
+        log.debug("Loading schema version from repository: formId={}, version={}", formId, version);
+        return schemaRepository.findVersion(formId, version);
+    }
+
+    /**
+     * Lists the ids through the {@link SchemaRepository#findSummaries}
+     * projection, page by page, so warm-up does not deserialize every
+     * schema once here before loading them again in parallel.
+     */
+    @Override
+    public List<String> listFormIds() {
+        List<String> formIds = new ArrayList<>();
+        String after = null;
+        while (true) {
+            List<SchemaSummary> page = schemaRepository.findSummaries(after, LIST_PAGE_SIZE);
+            for (SchemaSummary summary : page) {
+                formIds.add(summary.getFormId());
+            }
+            if (page.size() < LIST_PAGE_SIZE) {
+                return formIds;
+            }
+            after = page.get(page.size() - 1).getFormId();
+        }
+    }
 }
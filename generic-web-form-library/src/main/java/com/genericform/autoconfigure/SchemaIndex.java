@@ -0,0 +1,138 @@
+package com.genericform.autoconfigure;
+
+import com.genericform.core.SerializedSchema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the schema files available to a file-based
+ * {@link com.genericform.core.SchemaProvider}.
+ * <p>
+ * Built once at startup by scanning the schema location, so existence
+ * checks and form listings are map lookups instead of per-request
+ * resource probes. Each {@link Entry} records where the schema lives,
+ * its size in bytes, its modification time (for files) and a SHA-256
+ * hash of its content. Providers compare size and modification time to
+ * tell whether a file changed, so unchanged files are not hashed again.
+ * </p>
+ */
+public class SchemaIndex {
+
+    /**
+     * A single indexed schema file.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Entry {
+
+        /** Form identifier derived from the file name. */
+        private final String formId;
+
+        /** Location of the schema content. */
+        private final Resource resource;
+
+        /** Content size in bytes. */
+        private final long size;
+
+        /** Hex-encoded SHA-256 hash of the content. */
+        private final String contentHash;
+
+        /** Last modification time in epoch millis, or {@code 0} if unknown. */
+        private final long lastModified;
+
+        /** Whether the entry still describes a file of this size and modification time. */
+        public boolean isCurrent(long size, long lastModified) {
+            return this.size == size && this.lastModified == lastModified && lastModified != 0;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Add or replace the entry for a schema.
+     *
+     * @param formId   the form identifier
+     * @param resource the schema location
+     * @param content  the schema content (used for size and hash)
+     * @return the new entry
+     */
+    public Entry put(String formId, Resource resource, byte[] content) {
+        return put(formId, resource, content, 0);
+    }
+
+    /**
+     * Add or replace the entry for a schema file.
+     *
+     * @param formId       the form identifier
+     * @param resource     the schema location
+     * @param content      the schema content (used for size and hash)
+     * @param lastModified the file's modification time in epoch millis
+     * @return the new entry
+     */
+    public Entry put(String formId, Resource resource, byte[] content, long lastModified) {
+        Entry entry = new Entry(formId, resource, content.length, SerializedSchema.sha256Hex(content), lastModified);
+        entries.put(formId, entry);
+        return entry;
+    }
+
+    /**
+     * Add an entry only if none exists yet for its formId (first one wins,
+     * mirroring classpath resolution order).
+     *
+     * @return {@code true} if the entry was added
+     */
+    public boolean putIfAbsent(String formId, Resource resource, byte[] content) {
+        return entries.putIfAbsent(formId,
+                new Entry(formId, resource, content.length, SerializedSchema.sha256Hex(content), 0)) == null;
+    }
+
+    /**
+     * Look up an indexed schema.
+     *
+     * @param formId the form identifier
+     * @return the entry, or empty if not indexed
+     */
+    public Optional<Entry> get(String formId) {
+        return Optional.ofNullable(entries.get(formId));
+    }
+
+    /**
+     * Check whether a schema is indexed.
+     *
+     * @param formId the form identifier
+     * @return {@code true} if indexed
+     */
+    public boolean contains(String formId) {
+        return entries.containsKey(formId);
+    }
+
+    /**
+     * Remove an entry.
+     *
+     * @param formId the form identifier
+     */
+    public void remove(String formId) {
+        entries.remove(formId);
+    }
+
+    /**
+     * All indexed form identifiers, sorted.
+     *
+     * @return the form identifiers
+     */
+    public List<String> formIds() {
+        return entries.keySet().stream().sorted().toList();
+    }
+
+    /** Number of indexed schemas. */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.genericform.autoconfigure;
+
+import com.genericform.engine.SchemaWarmup;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Spring Boot {@link HealthIndicator} reporting the progress of the
+ * startup {@link SchemaWarmup}.
+ * <p>
+ * Reports {@code OUT_OF_SERVICE} until the warm-up has completed, so it
+ * can be included in the readiness group to keep traffic away from an
+ * instance with cold schemas:
+ * </p>
+ *
+ * <pre>
+ * management.endpoint.health.group.readiness.include=readinessState,schemaWarmup
+ * </pre>
+ */
+public class SchemaWarmupHealthIndicator implements HealthIndicator {
+
+    private final SchemaWarmup schemaWarmup;
+
+    public SchemaWarmupHealthIndicator(SchemaWarmup schemaWarmup) {
+        this.schemaWarmup = schemaWarmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = switch (schemaWarmup.getState()) {
+            case COMPLETED -> Health.up();
+            case FAILED -> Health.down();
+            case PENDING, RUNNING -> Health.outOfService();
+        };
+        return builder
+                .withDetail("state", schemaWarmup.getState())
+                .withDetail("warmedForms", schemaWarmup.getWarmedForms())
+                .withDetail("totalForms", schemaWarmup.getTotalForms())
+                .build();
+    }
+}
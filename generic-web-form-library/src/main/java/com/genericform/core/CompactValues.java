@@ -0,0 +1,122 @@
+package com.genericform.core;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-compaction helpers for the {@code additionalProperties} catch-all
+ * maps of the schema model.
+ * <p>
+ * Form.io schemas repeat the same UI-only keys and values on every
+ * component ({@code "customClass": ""}, {@code "overlay": {...}}, ...).
+ * With many cached schemas these copies dominate the heap, so values are
+ * canonicalised as they are deserialized:
+ * </p>
+ * <ul>
+ * <li>Empty maps start out as a {@link CopyOnWriteMap} over the shared
+ * {@link Collections#emptyMap()} and only allocate storage on the first
+ * write</li>
+ * <li>Keys and short string values are interned</li>
+ * <li>Small nested objects of scalars (e.g. {@code overlay}) are
+ * deduplicated into shared unmodifiable instances, compared in
+ * insertion order so serialized output is unchanged, and handed out
+ * behind a {@link CopyOnWriteMap} so that holders can still mutate
+ * their own copy</li>
+ * </ul>
+ * <p>
+ * The table of shared nested objects is a bounded LRU, so that
+ * long-running hosts that load many distinct schemas keep deduplicating
+ * the values in current use instead of pinning the first ones forever.
+ * </p>
+ */
+final class CompactValues {
+
+    /** Strings longer than this (scripts, HTML) are kept as-is. */
+    private static final int MAX_INTERNED_LENGTH = 64;
+
+    /** Nested objects with more entries than this are not deduplicated. */
+    private static final int MAX_SHARED_MAP_SIZE = 16;
+
+    /** Upper bound on distinct shared nested objects; least recently used are evicted. */
+    private static final int MAX_SHARED_MAPS = 10_000;
+
+    private static final Map<List<Map.Entry<String, Object>>, Map<String, Object>> SHARED_MAPS =
+            Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Map.Entry<String, Object>>, Map<String, Object>> eldest) {
+                    return size() > MAX_SHARED_MAPS;
+                }
+            });
+
+    private CompactValues() {
+    }
+
+    /**
+     * Put a catch-all property, allocating a real map only on first write.
+     *
+     * @param target the current map (may be {@code null})
+     * @param name   the property name
+     * @param value  the raw deserialized value
+     * @return the map now holding the property
+     */
+    static Map<String, Object> put(Map<String, Object> target, String name, Object value) {
+        Map<String, Object> map = target;
+        if (map == null) {
+            map = CopyOnWriteMap.empty();
+        }
+        map.put(name.intern(), canonicalize(value));
+        return map;
+    }
+
+    /**
+     * Return a canonical, possibly shared, representation of a value.
+     */
+    @SuppressWarnings("unchecked")
+    static Object canonicalize(Object value) {
+        if (value instanceof String s) {
+            return s.length() <= MAX_INTERNED_LENGTH ? s.intern() : s;
+        }
+        if (value instanceof Map<?, ?> m) {
+            return canonicalizeMap((Map<String, Object>) m);
+        }
+        if (value instanceof List<?> l) {
+            if (l.isEmpty()) {
+                return new ArrayList<>(0);
+            }
+            List<Object> list = new ArrayList<>(l.size());
+            for (Object item : l) {
+                list.add(canonicalize(item));
+            }
+            return list;
+        }
+        return value;
+    }
+
+    private static Map<String, Object> canonicalizeMap(Map<String, Object> source) {
+        if (source.isEmpty()) {
+            return CopyOnWriteMap.empty();
+        }
+        Map<String, Object> map = new LinkedHashMap<>(source.size() * 4 / 3 + 1);
+        boolean scalarsOnly = source.size() <= MAX_SHARED_MAP_SIZE;
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            Object value = canonicalize(entry.getValue());
+            scalarsOnly &= value == null || value instanceof String
+                    || value instanceof Number || value instanceof Boolean;
+            map.put(entry.getKey().intern(), value);
+        }
+        if (!scalarsOnly) {
+            return map;
+        }
+
+        List<Map.Entry<String, Object>> key = new ArrayList<>(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            key.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+        }
+        Map<String, Object> shared = SHARED_MAPS.computeIfAbsent(key, k -> Collections.unmodifiableMap(map));
+        return new CopyOnWriteMap(shared);
+    }
+}
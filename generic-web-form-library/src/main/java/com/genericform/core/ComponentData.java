@@ -7,7 +7,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,14 +32,11 @@ public class ComponentData {
     // ─────────────────────────── Catch-All ────────────────────────────────
 
     @Builder.Default
-    private Map<String, Object> additionalProperties = new LinkedHashMap<>();
+    private Map<String, Object> additionalProperties = CopyOnWriteMap.empty();
 
     @JsonAnySetter
     public void setAdditionalProperty(String name, Object value) {
-        if (additionalProperties == null) {
-            additionalProperties = new LinkedHashMap<>();
-        }
-        additionalProperties.put(name, value);
+        additionalProperties = CompactValues.put(additionalProperties, name, value);
     }
 
     @JsonAnyGetter
@@ -0,0 +1,38 @@
+package com.genericform.core;
+
+import java.util.Set;
+
+/**
+ * SPI for validating the values of one or more Form.io component types.
+ * <p>
+ * The library ships validators for the standard types. The host
+ * application can register its own as Spring beans, either for custom
+ * component types (e.g. {@code hkid}, {@code iban}) or to replace a
+ * built-in one. The validator of each component is resolved once when
+ * the schema's validation plan is compiled, so implementations are
+ * shared across all submissions and threads: they must be stateless and
+ * thread-safe.
+ * </p>
+ * <p>
+ * Validators only see present values: the required check and the
+ * {@code inputMask} check run before, and custom JavaScript runs after
+ * them, only if they pass.
+ * </p>
+ */
+public interface ComponentValidator {
+
+    /**
+     * The component types this validator handles, e.g. {@code "iban"}.
+     * Matched case-insensitively.
+     */
+    Set<String> types();
+
+    /**
+     * Validate a submitted value.
+     *
+     * @param component the component definition
+     * @param value     the submitted value, never {@code null} or blank
+     * @return the error message, or {@code null} if the value is valid
+     */
+    String validate(FormComponent component, Object value);
+}
@@ -0,0 +1,169 @@
+package com.genericform.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A mutable {@code additionalProperties} map that starts out as a view of a
+ * shared, unmodifiable map and detaches into a private copy on its first
+ * write.
+ * <p>
+ * Used by the schema model so that catch-all maps and repeated nested
+ * objects can be shared between components (see {@code CompactValues})
+ * while callers may still mutate them as an ordinary {@link Map}: a write
+ * only ever affects this instance, never the other holders of the shared
+ * map.
+ * </p>
+ * <p>
+ * Not thread-safe, like the {@link LinkedHashMap} it replaces.
+ * </p>
+ */
+public final class CopyOnWriteMap extends AbstractMap<String, Object> {
+
+    private Map<String, Object> delegate;
+
+    CopyOnWriteMap(Map<String, Object> shared) {
+        this.delegate = shared;
+    }
+
+    /** An empty map that allocates its storage on the first write. */
+    public static CopyOnWriteMap empty() {
+        return new CopyOnWriteMap(Collections.emptyMap());
+    }
+
+    /**
+     * The shared map this view still reads through, or {@code null} once
+     * it has detached into a private copy.
+     */
+    public Map<String, Object> getShared() {
+        return detached() ? null : delegate;
+    }
+
+    // ───────────────────────────── Reads ──────────────────────────────────
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return delegate.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return delegate.containsValue(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (detached()) {
+            return delegate.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new SharedIterator(delegate.entrySet().iterator());
+            }
+
+            @Override
+            public int size() {
+                return CopyOnWriteMap.this.size();
+            }
+        };
+    }
+
+    // ───────────────────────────── Writes ─────────────────────────────────
+
+    @Override
+    public Object put(String key, Object value) {
+        return detach().put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (!map.isEmpty()) {
+            detach().putAll(map);
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return delegate.containsKey(key) ? detach().remove(key) : null;
+    }
+
+    @Override
+    public void clear() {
+        if (!delegate.isEmpty()) {
+            detach().clear();
+        }
+    }
+
+    private boolean detached() {
+        return delegate.getClass() == LinkedHashMap.class;
+    }
+
+    private Map<String, Object> detach() {
+        if (!detached()) {
+            delegate = new LinkedHashMap<>(delegate);
+        }
+        return delegate;
+    }
+
+    /**
+     * Iterates the shared map; {@code remove} and {@code setValue} detach
+     * first and then apply to the private copy.
+     */
+    private final class SharedIterator implements Iterator<Entry<String, Object>> {
+
+        private final Iterator<Entry<String, Object>> shared;
+        private String last;
+
+        SharedIterator(Iterator<Entry<String, Object>> shared) {
+            this.shared = shared;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return shared.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            Entry<String, Object> entry = shared.next();
+            last = entry.getKey();
+            return new SimpleEntry<>(entry) {
+                @Override
+                public Object setValue(Object value) {
+                    super.setValue(value);
+                    return put(getKey(), value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            CopyOnWriteMap.this.remove(last);
+            last = null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.genericform.core;
+
+/**
+ * Java type a submitted field value is coerced into, derived from the
+ * component's schema declaration.
+ * <ul>
+ * <li>{@link #LONG} — {@code number} with {@code decimalLimit: 0}</li>
+ * <li>{@link #DOUBLE} — any other {@code number}</li>
+ * <li>{@link #DECIMAL} — {@code currency}, as {@link java.math.BigDecimal}</li>
+ * <li>{@link #BOOLEAN} — {@code checkbox}</li>
+ * <li>{@link #DATE} — {@code datetime} with {@code enableTime: false}, as
+ * {@link java.time.LocalDate}</li>
+ * <li>{@link #INSTANT} — any other {@code datetime}, as
+ * {@link java.time.Instant}</li>
+ * <li>{@link #STRING} — everything else, kept as submitted</li>
+ * </ul>
+ *
+ * @see TypedSubmission
+ */
+public enum FieldType {
+    STRING,
+    LONG,
+    DOUBLE,
+    DECIMAL,
+    BOOLEAN,
+    DATE,
+    INSTANT;
+
+    /** Whether values of this type are numbers. */
+    public boolean isNumeric() {
+        return this == LONG || this == DOUBLE || this == DECIMAL;
+    }
+}
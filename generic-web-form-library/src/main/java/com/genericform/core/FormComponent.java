@@ -7,7 +7,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -131,16 +130,20 @@ public class FormComponent {
      * present in the original JSON is preserved when the schema is
      * stored and later returned to the frontend.
      * </p>
+     * <p>
+     * Keys and values are compacted on deserialization (see
+     * {@code CompactValues}): the map and repeated nested objects are
+     * {@link CopyOnWriteMap}s over shared instances, so they stay mutable
+     * but only allocate a private copy when written to. The maps of a
+     * frozen schema (see {@code SchemaFreezer}) are unmodifiable.
+     * </p>
      */
     @Builder.Default
-    private Map<String, Object> additionalProperties = new LinkedHashMap<>();
+    private Map<String, Object> additionalProperties = CopyOnWriteMap.empty();
 
     @JsonAnySetter
     public void setAdditionalProperty(String name, Object value) {
-        if (additionalProperties == null) {
-            additionalProperties = new LinkedHashMap<>();
-        }
-        additionalProperties.put(name, value);
+        additionalProperties = CompactValues.put(additionalProperties, name, value);
     }
 
     @JsonAnyGetter
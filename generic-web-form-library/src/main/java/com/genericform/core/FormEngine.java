@@ -1,6 +1,9 @@
 package com.genericform.core;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Main entry-point interface for the Generic Web Form Engine.
@@ -21,4 +24,101 @@ public interface FormEngine {
      * @return a {@link SubmissionResult} indicating success or validation errors
      */
     SubmissionResult process(String formId, Map<String, Object> data);
+
+    /**
+     * Process a submission against a specific schema version.
+     * <p>
+     * Lets clients that rendered an older version of the form submit
+     * against the rules they were shown, while new sessions use the
+     * current version. A {@code null} version means the current one.
+     * </p>
+     * <p>
+     * The default serves the current version (see {@link #currentVersion})
+     * by delegating to {@link #process(String, Map)}; engines that keep
+     * older versions override it.
+     * </p>
+     *
+     * @param formId  the unique form identifier
+     * @param version the schema version the client rendered, or {@code null}
+     * @param data    the submitted key-value data
+     * @return a {@link SubmissionResult} indicating success or validation errors
+     * @throws UnsupportedOperationException if a version other than the
+     *                                       current one is given and the
+     *                                       engine does not support versioned lookup
+     */
+    default SubmissionResult process(String formId, String version, Map<String, Object> data) {
+        if (version != null && currentVersion(formId).filter(version::equals).isEmpty()) {
+            throw new UnsupportedOperationException("Version " + version + " of form " + formId
+                    + " is not the current one and versioned submissions are not supported by "
+                    + getClass().getSimpleName());
+        }
+        return process(formId, data);
+    }
+
+    /**
+     * Process a submission with a {@link ValidationMode}.
+     * <p>
+     * With {@link ValidationMode#FAIL_FAST} or
+     * {@link ValidationMode#maxErrors(int)}, validation stops once the error
+     * budget is reached and the result reports only those errors. Valid
+     * submissions are persisted as with {@link #process(String, String, Map)}.
+     * </p>
+     * <p>
+     * The default validates fully and reports the first errors within the
+     * budget, which has the same outcome without the early stop.
+     * </p>
+     *
+     * @param formId  the unique form identifier
+     * @param version the schema version the client rendered, or {@code null}
+     * @param data    the submitted key-value data
+     * @param mode    how many errors to collect
+     * @return a {@link SubmissionResult} indicating success or validation errors
+     */
+    default SubmissionResult process(String formId, String version, Map<String, Object> data,
+            ValidationMode mode) {
+        SubmissionResult result = process(formId, version, data);
+        if (mode == null || mode.isCollectAll() || result.isValid()) {
+            return result;
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Map.Entry<String, String> error : result.getErrors().entrySet()) {
+            if (mode.isExhausted(errors.size())) {
+                break;
+            }
+            errors.put(error.getKey(), error.getValue());
+        }
+        return SubmissionResult.failure(errors);
+    }
+
+    /**
+     * Validate only the fields affected by an edit, without persisting.
+     * <p>
+     * Intended for on-change / on-blur checks: validates the changed keys
+     * and the fields that depend on them (custom JS, JSONLogic,
+     * conditionals).
+     * </p>
+     *
+     * @param formId      the unique form identifier
+     * @param version     the schema version the client rendered, or {@code null} for the current one
+     * @param data        the full current submission data
+     * @param changedKeys the top-level data keys that changed
+     * @return a {@link SubmissionResult} for the affected fields
+     */
+    SubmissionResult validateFields(String formId, String version, Map<String, Object> data,
+            Set<String> changedKeys);
+
+    /**
+     * The version new submissions of a form are validated against.
+     * <p>
+     * The default does not know it, so versioned submissions are only
+     * accepted by engines that override this or
+     * {@link #process(String, String, Map)}.
+     * </p>
+     *
+     * @param formId the unique form identifier
+     * @return the current schema version, or empty if unknown
+     */
+    default Optional<String> currentVersion(String formId) {
+        return Optional.empty();
+    }
 }
@@ -19,4 +19,39 @@ public interface FormRepository {
      * @param data   the submitted key-value data
      */
     void save(String formId, Map<String, Object> data);
+
+    /**
+     * Persist a validated form submission together with the schema
+     * version it was validated against.
+     * <p>
+     * The default implementation drops the version and delegates to
+     * {@link #save(String, Map)}; implementations should override it to
+     * record the version.
+     * </p>
+     *
+     * @param formId  the form identifier
+     * @param version the schema version used for validation (may be {@code null})
+     * @param data    the submitted key-value data
+     */
+    default void save(String formId, String version, Map<String, Object> data) {
+        save(formId, data);
+    }
+
+    /**
+     * Persist a validated, typed form submission.
+     * <p>
+     * The default implementation delegates to
+     * {@link #save(String, String, Map)} with {@link TypedSubmission#toMap()},
+     * so numbers and booleans are stored as such rather than as submitted
+     * strings. Implementations with typed columns can override it and read
+     * the slots directly.
+     * </p>
+     *
+     * @param formId  the form identifier
+     * @param version the schema version used for validation (may be {@code null})
+     * @param record  the coerced submission
+     */
+    default void save(String formId, String version, TypedSubmission record) {
+        save(formId, version, record.toMap());
+    }
 }
@@ -1,5 +1,7 @@
 package com.genericform.core;
 
+import com.genericform.engine.SchemaComplexityAnalyzer;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +41,72 @@ public interface FormSchemaManager {
      */
     Optional<FormSchema> getSchema(String formId);
 
+    /**
+     * Retrieve a specific version of a form schema.
+     *
+     * @param formId  the unique form identifier
+     * @param version the schema version
+     * @return the schema, or empty if that version is not available
+     */
+    Optional<FormSchema> getSchema(String formId, String version);
+
+    /**
+     * List the stored versions of a form schema, oldest first.
+     *
+     * @param formId the unique form identifier
+     * @return the known versions (may be empty, never null)
+     */
+    List<String> listVersions(String formId);
+
+    /**
+     * Retrieve a form schema as pre-serialized JSON bytes.
+     * <p>
+     * The bytes are cached per {@code formId} and invalidated by
+     * {@link #updateSchema} and {@link #deleteSchema}, so hosts can write
+     * them directly to a response without parsing or serializing on the
+     * read path.
+     * </p>
+     *
+     * @param formId the unique form identifier
+     * @return the serialized schema, or empty if not found
+     */
+    Optional<SerializedSchema> getSerializedSchema(String formId);
+
+    /**
+     * Retrieve a specific version of a form schema as pre-serialized JSON
+     * bytes.
+     * <p>
+     * Cached per {@code (formId, version)}, so a pinned version is never
+     * answered with the bytes of the current one. The default only serves
+     * the current version.
+     * </p>
+     *
+     * @param formId  the unique form identifier
+     * @param version the schema version, or {@code null} for the current one
+     * @return the serialized schema, or empty if that version is not available
+     */
+    default Optional<SerializedSchema> getSerializedSchema(String formId, String version) {
+        return getSerializedSchema(formId)
+                .filter(serialized -> version == null || version.equals(serialized.getVersion()));
+    }
+
+    /**
+     * Compute the static complexity report for a schema without storing it.
+     * <p>
+     * {@link #createSchema} and {@link #updateSchema} run the same analysis
+     * and reject schemas that exceed the configured complexity budget. The
+     * analysis is purely static, so the default delegates to
+     * {@link SchemaComplexityAnalyzer} and implementations need not
+     * override it.
+     * </p>
+     *
+     * @param schema the schema to analyze
+     * @return the complexity report
+     */
+    default SchemaComplexityReport analyzeSchema(FormSchema schema) {
+        return new SchemaComplexityAnalyzer().analyze(schema);
+    }
+
     /**
      * List all available form schemas.
      *
@@ -46,6 +114,21 @@ public interface FormSchemaManager {
      */
     List<FormSchema> listSchemas();
 
+    /**
+     * List lightweight schema metadata, one page at a time.
+     * <p>
+     * Unlike {@link #listSchemas()}, component trees are not loaded.
+     * Pages are ordered by {@code formId} and keyed by the last id seen.
+     * </p>
+     *
+     * @param afterFormId cursor from {@link SchemaSummaryPage#getNextCursor()},
+     *                    or {@code null} for the first page
+     * @param size        page size (clamped to the supported maximum)
+     * @return the requested page
+     * @throws IllegalArgumentException if {@code size} is not positive
+     */
+    SchemaSummaryPage listSummaries(String afterFormId, int size);
+
     /**
      * Delete a form schema by its identifier.
      *
@@ -0,0 +1,59 @@
+package com.genericform.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Immutable static cost report for a {@link FormSchema}.
+ * <p>
+ * Produced by {@link FormSchemaManager#analyzeSchema(FormSchema)} without
+ * running any validation. The {@link #estimatedCost} is a relative figure
+ * in abstract cost units (roughly: one unit per simple field check) and is
+ * meant for comparing schemas and enforcing budgets, not as a latency
+ * prediction.
+ * </p>
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SchemaComplexityReport {
+
+    /** The analysed form identifier. */
+    private final String formId;
+
+    /** Deepest component nesting level (root components are at depth 1). */
+    private final int maxDepth;
+
+    /** Total number of components, including layout and static ones. */
+    private final int componentCount;
+
+    /** Number of input components. */
+    private final int inputCount;
+
+    /** Number of JavaScript snippets (custom validation, conditionals, calculations). */
+    private final int scriptCount;
+
+    /** Total size of all JavaScript snippets in characters. */
+    private final int scriptSize;
+
+    /** Number of regex patterns. */
+    private final int patternCount;
+
+    /** Highest backtracking risk score of any single pattern (0 = no risk found). */
+    private final int maxRegexRisk;
+
+    /** Patterns with a non-zero risk score, or that do not compile. */
+    private final List<String> riskyPatterns;
+
+    /** Largest option list of a single select / radio component. */
+    private final int maxOptions;
+
+    /** Total number of options over all select / radio components. */
+    private final int totalOptions;
+
+    /** Estimated validation cost of one submission, in cost units. */
+    private final long estimatedCost;
+}
@@ -1,5 +1,6 @@
 package com.genericform.core;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,4 +20,33 @@ public interface SchemaProvider {
      * @return the schema wrapped in an {@link Optional}, or empty if not found
      */
     Optional<FormSchema> load(String formId);
+
+    /**
+     * Load a specific version of a form schema.
+     * <p>
+     * The default implementation only finds the version that is currently
+     * stored under {@code formId}. Providers backed by a versioned store
+     * should override it so older versions remain loadable.
+     * </p>
+     *
+     * @param formId  the unique form identifier
+     * @param version the schema version
+     * @return the schema, or empty if that version is not available
+     */
+    default Optional<FormSchema> loadVersion(String formId, String version) {
+        return load(formId).filter(schema -> version.equals(schema.getVersion()));
+    }
+
+    /**
+     * List the identifiers of all schemas this provider can load.
+     * <p>
+     * Used for bulk operations such as startup warm-up. Providers that
+     * cannot enumerate their schemas return an empty list (the default).
+     * </p>
+     *
+     * @return list of known form identifiers (may be empty, never null)
+     */
+    default List<String> listFormIds() {
+        return List.of();
+    }
 }
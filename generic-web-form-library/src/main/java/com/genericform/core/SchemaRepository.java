@@ -1,6 +1,8 @@
 package com.genericform.core;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -32,6 +34,38 @@ public interface SchemaRepository {
      */
     Optional<FormSchema> findById(String formId);
 
+    /**
+     * Find a specific version of a form schema.
+     * <p>
+     * {@link #save(FormSchema)} stores the current version; implementations
+     * that keep version history should override this (and
+     * {@link #findVersions(String)}) so submissions pinned to an older
+     * version can still be validated. The default only matches the current
+     * version.
+     * </p>
+     *
+     * @param formId  the unique form identifier
+     * @param version the schema version
+     * @return the schema, or empty if that version is not stored
+     */
+    default Optional<FormSchema> findVersion(String formId, String version) {
+        return findById(formId).filter(schema -> version.equals(schema.getVersion()));
+    }
+
+    /**
+     * List the stored versions of a form schema, oldest first.
+     *
+     * @param formId the unique form identifier
+     * @return the known versions (may be empty, never null)
+     */
+    default List<String> findVersions(String formId) {
+        return findById(formId)
+                .map(FormSchema::getVersion)
+                .filter(Objects::nonNull)
+                .map(List::of)
+                .orElse(List.of());
+    }
+
     /**
      * Retrieve all stored form schemas.
      *
@@ -39,6 +73,32 @@ public interface SchemaRepository {
      */
     List<FormSchema> findAll();
 
+    /**
+     * List schema metadata ordered by {@code formId}, starting after the
+     * given key (keyset pagination).
+     * <p>
+     * The default implementation falls back to {@link #findAll()};
+     * implementations backed by a database should override it with a
+     * column projection that does not load the component trees.
+     * </p>
+     *
+     * @param afterFormId return only schemas whose id sorts after this one,
+     *                    or {@code null} to start from the beginning
+     * @param limit       maximum number of summaries to return
+     * @return summaries in ascending {@code formId} order
+     */
+    default List<SchemaSummary> findSummaries(String afterFormId, int limit) {
+        return findAll().stream()
+                .filter(schema -> afterFormId == null || schema.getFormId().compareTo(afterFormId) > 0)
+                .sorted(Comparator.comparing(FormSchema::getFormId))
+                .limit(limit)
+                .map(schema -> new SchemaSummary(schema.getFormId(), schema.getFormName(),
+                        schema.getVersion(),
+                        schema.getComponents() != null ? schema.getComponents().size() : 0,
+                        null, null))
+                .toList();
+    }
+
     /**
      * Delete a form schema by its identifier.
      *
@@ -0,0 +1,46 @@
+package com.genericform.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Lightweight, immutable metadata about a stored {@link FormSchema}.
+ * <p>
+ * Used for listings, where loading and deserializing every component tree
+ * would be wasted work. Repositories should populate it from a column
+ * projection.
+ * </p>
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SchemaSummary {
+
+    /** Unique identifier of the form. */
+    @JsonProperty("form_id")
+    private final String formId;
+
+    /** Human-readable form name. */
+    @JsonProperty("form_name")
+    private final String formName;
+
+    /** Schema version string. */
+    @JsonProperty("form_version")
+    private final String version;
+
+    /** Number of root-level components, or {@code null} if unknown. */
+    @JsonProperty("component_count")
+    private final Integer componentCount;
+
+    /** Stored payload size in bytes, or {@code null} if unknown. */
+    @JsonProperty("size_bytes")
+    private final Long sizeBytes;
+
+    /** Last modification time, or {@code null} if not tracked. */
+    @JsonProperty("updated_at")
+    private final Instant updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.genericform.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * One page of {@link SchemaSummary} entries, ordered by {@code formId}.
+ * <p>
+ * Pagination is keyset-based: pass {@link #nextCursor} as the
+ * {@code after} argument of {@link FormSchemaManager#listSummaries} to
+ * fetch the next page. It is {@code null} on the last page.
+ * </p>
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SchemaSummaryPage {
+
+    /** Summaries on this page. */
+    private final List<SchemaSummary> items;
+
+    /** The {@code formId} to continue after, or {@code null} if this is the last page. */
+    @JsonProperty("next_cursor")
+    private final String nextCursor;
+}
@@ -0,0 +1,207 @@
+package com.genericform.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, pre-serialized JSON representation of a {@link FormSchema}.
+ * <p>
+ * Returned by {@link FormSchemaManager#getSerializedSchema(String)} so the
+ * host can write the bytes straight to an HTTP response without parsing
+ * or re-serializing the schema on every read. The {@link #contentHash}
+ * identifies the exact bytes and changes whenever the schema does.
+ * </p>
+ * <p>
+ * A gzip-compressed variant is built once alongside the JSON, and
+ * {@link #getETag(boolean)}, {@link #isNotModified(String, boolean)} and
+ * {@link #acceptsGzip(String)} let a controller answer conditional
+ * requests and pick the encoding without compressing per request:
+ * </p>
+ *
+ * <pre>
+ * gzip = SerializedSchema.acceptsGzip(acceptEncoding)
+ * if (schema.isNotModified(ifNoneMatch, gzip)) → 304 + ETag(gzip)
+ * else → 200 + ETag(gzip) + gzip or json bytes
+ * </pre>
+ *
+ * The byte arrays are shared with the cache and must not be modified.
+ */
+@Getter
+@ToString(exclude = {"json", "gzip"})
+@AllArgsConstructor
+public class SerializedSchema {
+
+    /** The form identifier. */
+    private final String formId;
+
+    /** The schema version the bytes were serialized from. */
+    private final String version;
+
+    /** UTF-8 JSON bytes of the full schema. */
+    private final byte[] json;
+
+    /** Gzip-compressed {@link #json}. */
+    private final byte[] gzip;
+
+    /** Hex-encoded SHA-256 hash of {@link #json}. */
+    private final String contentHash;
+
+    /**
+     * Create a serialized schema, computing its content hash and
+     * precompressed variant.
+     *
+     * @param formId  the form identifier
+     * @param version the schema version
+     * @param json    the UTF-8 JSON bytes
+     * @return the serialized schema
+     */
+    public static SerializedSchema of(String formId, String version, byte[] json) {
+        return new SerializedSchema(formId, version, json, gzip(json), sha256Hex(json));
+    }
+
+    // ───────────────────────────── HTTP Helpers ─────────────────────────
+
+    /**
+     * Strong entity tag of the identity-encoded JSON, derived from the
+     * content hash, e.g. {@code "3f2a…"}.
+     */
+    public String getETag() {
+        return getETag(false);
+    }
+
+    /**
+     * Strong entity tag of one encoding of the schema.
+     * <p>
+     * The gzip and identity bodies are different byte sequences, so each
+     * gets its own tag ({@code "3f2a…-gzip"} for gzip); a cache must not
+     * answer a range or integrity check for one with the bytes of the
+     * other.
+     * </p>
+     *
+     * @param gzip whether the tag is for the gzip-compressed body
+     * @return the quoted entity tag
+     */
+    public String getETag(boolean gzip) {
+        return gzip ? "\"" + contentHash + "-gzip\"" : "\"" + contentHash + "\"";
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against the identity-encoded
+     * JSON, see {@link #isNotModified(String, boolean)}.
+     *
+     * @param ifNoneMatch the header value (may be {@code null})
+     * @return {@code true} if a 304 Not Modified should be returned
+     */
+    public boolean isNotModified(String ifNoneMatch) {
+        return isNotModified(ifNoneMatch, false);
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against one encoding of this
+     * schema.
+     * <p>
+     * Uses the weak comparison required for {@code If-None-Match}, so a
+     * {@code W/} prefix added by an intermediary still matches.
+     * </p>
+     *
+     * @param ifNoneMatch the header value (may be {@code null})
+     * @param gzip        whether the response would be gzip-encoded
+     * @return {@code true} if a 304 Not Modified should be returned
+     */
+    public boolean isNotModified(String ifNoneMatch, boolean gzip) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String etag = getETag(gzip);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an {@code Accept-Encoding} header allows gzip.
+     * <p>
+     * An explicit {@code gzip} (or {@code x-gzip}) entry takes precedence
+     * over {@code *}, so {@code "gzip;q=0, *"} refuses gzip.
+     * </p>
+     *
+     * @param acceptEncoding the header value (may be {@code null})
+     * @return {@code true} if gzip (or, without a gzip entry, {@code *}) is
+     *         accepted with a non-zero quality
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim();
+            boolean isGzip = coding.equals("gzip") || coding.equals("x-gzip");
+            if (!isGzip && !coding.equals("*")) {
+                continue;
+            }
+            double quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (isGzip) {
+                gzip = Math.max(gzip, quality);
+            } else {
+                any = Math.max(any, quality);
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip schema", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Compute the hex-encoded SHA-256 hash of the given bytes.
+     */
+    public static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.genericform.core;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State of one submission on its way through the {@link SubmissionStage}
+ * pipeline, shared by all stages.
+ * <p>
+ * Holds the schema, the submitted data (a private, mutable copy sized for
+ * the submission, so stages can rewrite it without copying again), the
+ * {@link TypedSubmission} once coerced, the error sink, free-form
+ * attributes for passing state between stages, and the time spent in
+ * each step.
+ * </p>
+ * <p>
+ * Not thread-safe: a context belongs to a single submission.
+ * </p>
+ */
+@Getter
+public final class SubmissionContext {
+
+    private final String formId;
+    private final FormSchema schema;
+    private final ValidationMode mode;
+
+    /**
+     * The submission data, normalised and calculated in place. After
+     * coercion this is the record's source map, so values added by
+     * {@link SubmissionStage.Phase#ENRICH} stages are persisted with it.
+     */
+    private Map<String, Object> data;
+
+    /** The coerced submission, {@code null} before the coerce step. */
+    @Setter
+    private TypedSubmission record;
+
+    /** Errors by field path; the submission is rejected unless empty. */
+    private final Map<String, String> errors = new LinkedHashMap<>();
+
+    /** Nanoseconds spent per step, in execution order. */
+    private final Map<String, Long> timings = new LinkedHashMap<>(8);
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Object> attributes = new HashMap<>(4);
+
+    /**
+     * @param formId the form identifier
+     * @param schema the schema the submission is processed against
+     * @param mode   the validation mode
+     * @param data   the submitted data (copied)
+     */
+    public SubmissionContext(String formId, FormSchema schema, ValidationMode mode, Map<String, Object> data) {
+        this.formId = formId;
+        this.schema = schema;
+        this.mode = mode;
+        int size = data != null ? data.size() : 0;
+        this.data = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+        if (data != null) {
+            this.data.putAll(data);
+        }
+    }
+
+    /**
+     * Replace the submission data, e.g. from a
+     * {@link SubmissionStage.Phase#NORMALIZE} stage. Once coerced, the data
+     * is the record's source and can only be changed in place.
+     *
+     * @param data the new data, a mutable map the context takes over
+     * @throws IllegalStateException if the submission was already coerced
+     */
+    public void setData(Map<String, Object> data) {
+        if (record != null) {
+            throw new IllegalStateException("The data of form " + formId
+                    + " was already coerced and can only be changed in place");
+        }
+        this.data = data;
+    }
+
+    /** Whether no errors were reported so far. */
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Report an error; keeps the first message per field.
+     *
+     * @param key     the field path
+     * @param message the error message
+     */
+    public void reject(String key, String message) {
+        errors.putIfAbsent(key, message);
+    }
+
+    /** Nanoseconds spent per step (e.g. {@code "validate"}), in execution order. */
+    public Map<String, Long> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+
+    /**
+     * Record the time spent in a step.
+     *
+     * @param step  the step name
+     * @param nanos the elapsed nanoseconds
+     */
+    public void recordTiming(String step, long nanos) {
+        timings.merge(step, nanos, Long::sum);
+    }
+
+    /** An attribute set by an earlier stage, or {@code null}. */
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(String name) {
+        return (T) attributes.get(name);
+    }
+
+    /** Set an attribute for later stages. */
+    public void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+}
@@ -0,0 +1,70 @@
+package com.genericform.core;
+
+/**
+ * SPI for a stage of the submission pipeline of the default
+ * {@link FormEngine}.
+ * <p>
+ * A submission runs through the steps normalise → coerce → validate →
+ * enrich → persist, then complete. Coercion, validation and persistence
+ * are built in; host stages hook into the other phases, see
+ * {@link Phase}. Stages are registered as Spring beans and run in their
+ * {@code @Order} within a phase. They share one {@link SubmissionContext}
+ * per submission and are shared across threads, so they must be
+ * stateless and thread-safe.
+ * </p>
+ * <p>
+ * Per-field normalisation (trimming, lower-casing an email) goes into
+ * {@link #normalize}: the engine walks the top-level inputs once and
+ * applies every normalising stage to each value in that single pass,
+ * instead of each stage re-walking the submission.
+ * </p>
+ */
+public interface SubmissionStage {
+
+    /**
+     * When a stage runs.
+     */
+    enum Phase {
+        /** Before coercion: rewrite submitted values. Errors added here reject the submission. */
+        NORMALIZE,
+        /**
+         * After successful validation, before persistence: add derived or
+         * audit fields to {@link SubmissionContext#getData()}; they are
+         * stored, but not validated. Only new keys may be added: changing a
+         * field the schema declares fails the submission with an
+         * {@link IllegalStateException}, since its coerced value was already
+         * validated. Errors added here reject the submission.
+         */
+        ENRICH,
+        /**
+         * After persistence or rejection, e.g. for auditing; also runs when
+         * an earlier step threw. Cannot change the outcome: errors added
+         * here are not reported, and an exception is logged (and suppressed
+         * into the step's failure, if any) instead of thrown.
+         */
+        COMPLETE
+    }
+
+    /** The phase this stage runs in. */
+    Phase phase();
+
+    /**
+     * Normalise the value of one top-level input. Only called for
+     * {@link Phase#NORMALIZE} stages, before {@link #process}.
+     *
+     * @param component the input
+     * @param value     its submitted (or previously normalised) value, never {@code null}
+     * @return the value to use instead, or {@code value} itself to keep it
+     */
+    default Object normalize(FormComponent component, Object value) {
+        return value;
+    }
+
+    /**
+     * Process the submission as a whole.
+     *
+     * @param context the submission's context
+     */
+    default void process(SubmissionContext context) {
+    }
+}
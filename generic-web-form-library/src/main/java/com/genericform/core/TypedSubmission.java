@@ -0,0 +1,404 @@
+package com.genericform.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A submission whose top-level fields were coerced once into their
+ * schema-declared {@link FieldType}.
+ * <p>
+ * Values are stored in arrays indexed by <em>slot</em>, the position of
+ * the field in the schema's {@link Layout}: {@code long} and
+ * {@code double} values (and booleans) as primitives, {@link BigDecimal},
+ * {@link LocalDate} and {@link Instant} values as objects, strings as
+ * submitted. Validators and repositories read them through the typed
+ * getters instead of re-parsing the raw values of the submitted map.
+ * </p>
+ * <p>
+ * Each slot is <em>absent</em> (missing or blank), <em>present</em>, or
+ * <em>invalid</em> (could not be converted; the raw value is kept). Fields
+ * inside {@code editgrid} / {@code datagrid} rows are not slotted; they
+ * stay in the submitted map.
+ * </p>
+ */
+public final class TypedSubmission {
+
+    /** Slot states; a fresh slot (0) is absent. */
+    private static final byte PRESENT = 1;
+    private static final byte INVALID = 2;
+
+    /**
+     * The slots of a schema: one per top-level input, in schema order,
+     * keyed by data path (e.g. {@code "address.city"} inside a container).
+     * Compiled once per schema and shared by all of its submissions.
+     */
+    public static final class Layout {
+        private final String[] keys;
+        private final String[][] segments;
+        private final FieldType[] types;
+        private final Map<String, Integer> slots;
+
+        /**
+         * @param keys  the data path of each slot
+         * @param types the field type of each slot
+         * @throws IllegalArgumentException if the lists differ in size
+         */
+        public Layout(List<String> keys, List<FieldType> types) {
+            if (keys.size() != types.size()) {
+                throw new IllegalArgumentException(
+                        "Expected one type per key, got " + keys.size() + " keys and " + types.size() + " types");
+            }
+            this.keys = keys.toArray(String[]::new);
+            this.types = types.toArray(FieldType[]::new);
+            this.segments = new String[this.keys.length][];
+            this.slots = new HashMap<>();
+            for (int slot = 0; slot < this.keys.length; slot++) {
+                segments[slot] = this.keys[slot].split("\\.");
+                slots.putIfAbsent(this.keys[slot], slot);
+            }
+        }
+
+        /** Number of slots. */
+        public int size() {
+            return keys.length;
+        }
+
+        /** The slot of a data path, or {@code -1} if the schema has no such top-level input. */
+        public int slot(String key) {
+            Integer slot = slots.get(key);
+            return slot != null ? slot : -1;
+        }
+
+        /** The data path of a slot. */
+        public String key(int slot) {
+            return keys[slot];
+        }
+
+        /** The field type of a slot. */
+        public FieldType type(int slot) {
+            return types[slot];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Layout other
+                    && Arrays.equals(keys, other.keys) && Arrays.equals(types, other.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(keys) + Arrays.hashCode(types);
+        }
+    }
+
+    private final Layout layout;
+    private final Map<String, Object> source;
+    private final Object[] raw;
+    private final byte[] states;
+    private final long[] primitives;
+    private final Object[] objects;
+
+    private TypedSubmission(Layout layout, Map<String, Object> source, Object[] raw) {
+        this.layout = layout;
+        this.source = source != null ? source : Collections.emptyMap();
+        this.raw = raw;
+        this.states = new byte[layout.size()];
+        this.primitives = new long[layout.size()];
+        this.objects = new Object[layout.size()];
+    }
+
+    /**
+     * Coerce the raw values of a submission.
+     *
+     * @param layout the schema's slots
+     * @param source the submitted data
+     * @param values the raw value of each slot, resolved from {@code source}
+     *               (kept, not copied)
+     * @return the typed submission
+     * @throws IllegalArgumentException if {@code values} does not match the layout
+     */
+    public static TypedSubmission coerce(Layout layout, Map<String, Object> source, Object[] values) {
+        if (values.length != layout.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + layout.size() + " values, got " + values.length);
+        }
+        TypedSubmission submission = new TypedSubmission(layout, source, values);
+        for (int slot = 0; slot < values.length; slot++) {
+            submission.set(slot, values[slot]);
+        }
+        return submission;
+    }
+
+    // ───────────────────────────── Accessors ──────────────────────────────
+
+    /** The layout this submission was coerced with. */
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /** The submitted data, unchanged. */
+    public Map<String, Object> getSource() {
+        return source;
+    }
+
+    /** Whether a slot holds a converted value. */
+    public boolean isPresent(int slot) {
+        return states[slot] == PRESENT;
+    }
+
+    /** Whether a slot was submitted but could not be converted to its type. */
+    public boolean isInvalid(int slot) {
+        return states[slot] == INVALID;
+    }
+
+    /** A {@link FieldType#LONG} value. */
+    public long getLong(int slot) {
+        require(slot, FieldType.LONG);
+        return primitives[slot];
+    }
+
+    /** A numeric value of any numeric type, as {@code double}. */
+    public double getDouble(int slot) {
+        FieldType type = require(slot, null);
+        return switch (type) {
+            case LONG -> primitives[slot];
+            case DOUBLE -> Double.longBitsToDouble(primitives[slot]);
+            case DECIMAL -> ((BigDecimal) objects[slot]).doubleValue();
+            default -> throw wrongType(slot, "numeric");
+        };
+    }
+
+    /** A {@link FieldType#DECIMAL} value. */
+    public BigDecimal getDecimal(int slot) {
+        require(slot, FieldType.DECIMAL);
+        return (BigDecimal) objects[slot];
+    }
+
+    /** A {@link FieldType#BOOLEAN} value. */
+    public boolean getBoolean(int slot) {
+        require(slot, FieldType.BOOLEAN);
+        return primitives[slot] != 0;
+    }
+
+    /** A {@link FieldType#DATE} value. */
+    public LocalDate getDate(int slot) {
+        require(slot, FieldType.DATE);
+        return (LocalDate) objects[slot];
+    }
+
+    /** An {@link FieldType#INSTANT} value. */
+    public Instant getInstant(int slot) {
+        require(slot, FieldType.INSTANT);
+        return (Instant) objects[slot];
+    }
+
+    /** A {@link FieldType#STRING} value, as text. */
+    public String getString(int slot) {
+        require(slot, FieldType.STRING);
+        return objects[slot].toString();
+    }
+
+    /**
+     * The value of a slot, boxed: the converted value if present, otherwise
+     * {@code null}.
+     */
+    public Object get(int slot) {
+        if (states[slot] != PRESENT) {
+            return null;
+        }
+        return switch (layout.types[slot]) {
+            case LONG -> primitives[slot];
+            case DOUBLE -> Double.longBitsToDouble(primitives[slot]);
+            case BOOLEAN -> primitives[slot] != 0;
+            default -> objects[slot];
+        };
+    }
+
+    /** The value of a top-level input by data path, see {@link #get(int)}. */
+    public Object get(String key) {
+        int slot = layout.slot(key);
+        return slot >= 0 ? get(slot) : null;
+    }
+
+    /**
+     * The submitted data with numbers and booleans replaced by their
+     * converted values, for persistence. Strings and dates are kept as
+     * submitted (dates keep their original offset), as are grid rows and
+     * keys the schema does not declare. The source map is not modified.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>(source);
+        Set<Map<?, ?>> copies = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int slot = 0; slot < states.length; slot++) {
+            FieldType type = layout.types[slot];
+            if (states[slot] == PRESENT && (type.isNumeric() || type == FieldType.BOOLEAN)) {
+                put(map, layout.segments[slot], get(slot), copies);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * The data path of the first slot whose value in the source map is no
+     * longer the one it was coerced from, or {@code null} if none changed.
+     * A value written there later would disagree with the typed getters,
+     * and {@link #toMap()} would replace it with the coerced value.
+     */
+    public String findReplacedKey() {
+        for (int slot = 0; slot < raw.length; slot++) {
+            if (!Objects.equals(raw[slot], read(source, layout.segments[slot]))) {
+                return layout.keys[slot];
+            }
+        }
+        return null;
+    }
+
+    // ───────────────────────────── Coercion ───────────────────────────────
+
+    private void set(int slot, Object value) {
+        if (value == null || value instanceof String s && s.isBlank()) {
+            return;
+        }
+        FieldType type = layout.types[slot];
+        try {
+            switch (type) {
+                case LONG -> primitives[slot] = toLong(value);
+                case DOUBLE -> primitives[slot] = Double.doubleToRawLongBits(toDouble(value));
+                case DECIMAL -> objects[slot] = toDecimal(value);
+                case BOOLEAN -> primitives[slot] = toBoolean(value) ? 1 : 0;
+                case DATE -> objects[slot] = toDate(value.toString().trim());
+                case INSTANT -> objects[slot] = OffsetDateTime.parse(value.toString().trim()).toInstant();
+                case STRING -> objects[slot] = value;
+            }
+            states[slot] = PRESENT;
+        } catch (NumberFormatException | ArithmeticException | DateTimeParseException e) {
+            objects[slot] = value;
+            states[slot] = INVALID;
+        }
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        return toDecimal(value).longValueExact();
+    }
+
+    private static double toDouble(Object value) {
+        double d = value instanceof Number n ? n.doubleValue() : Double.parseDouble(value.toString());
+        if (!Double.isFinite(d)) {
+            throw new NumberFormatException("Not a finite number: " + d);
+        }
+        return d;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Number number) {
+            double d = number.doubleValue();
+            if (!Double.isFinite(d)) {
+                throw new NumberFormatException("Not a finite number: " + d);
+            }
+            return BigDecimal.valueOf(d);
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        String s = value.toString().trim();
+        if ("true".equalsIgnoreCase(s)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(s)) {
+            return false;
+        }
+        throw new NumberFormatException("Not a boolean: " + s);
+    }
+
+    /** A date, or the local date of a date-time with offset (Form.io sends both). */
+    private static LocalDate toDate(String s) {
+        return s.length() == 10
+                ? LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE)
+                : OffsetDateTime.parse(s).toLocalDate();
+    }
+
+    private static Object read(Map<String, Object> map, String[] segments) {
+        // Nested if every container object exists, else flat
+        Object current = map;
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (!(((Map<?, ?>) current).get(segments[i]) instanceof Map<?, ?> next)) {
+                return map.get(segments[segments.length - 1]);
+            }
+            current = next;
+        }
+        return ((Map<?, ?>) current).get(segments[segments.length - 1]);
+    }
+
+    /**
+     * Mirrors {@link #read}: nested if every container object exists, else
+     * flat. Containers are copied on first write so the source stays intact;
+     * {@code copies} holds the ones already copied in this {@link #toMap()}.
+     */
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> map, String[] segments, Object value,
+                            Set<Map<?, ?>> copies) {
+        Map<String, Object> target = map;
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (!(target.get(segments[i]) instanceof Map<?, ?> next)) {
+                map.put(segments[segments.length - 1], value);
+                return;
+            }
+            if (copies.contains(next)) {
+                target = (Map<String, Object>) next;
+                continue;
+            }
+            Map<String, Object> copy = new LinkedHashMap<>((Map<String, Object>) next);
+            copies.add(copy);
+            target.put(segments[i], copy);
+            target = copy;
+        }
+        target.put(segments[segments.length - 1], value);
+    }
+
+    private FieldType require(int slot, FieldType expected) {
+        if (states[slot] != PRESENT) {
+            throw new IllegalStateException("Field '" + layout.keys[slot] + "' has no "
+                    + (states[slot] == INVALID ? "valid " : "") + "value");
+        }
+        FieldType type = layout.types[slot];
+        if (expected != null && type != expected) {
+            throw wrongType(slot, expected.name());
+        }
+        return type;
+    }
+
+    private IllegalStateException wrongType(int slot, String expected) {
+        return new IllegalStateException("Field '" + layout.keys[slot] + "' is " + layout.types[slot]
+                + ", not " + expected);
+    }
+}
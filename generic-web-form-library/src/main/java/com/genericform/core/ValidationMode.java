@@ -0,0 +1,73 @@
+package com.genericform.core;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * How much of a submission to validate once errors are found.
+ * <ul>
+ * <li>{@link #COLLECT_ALL} (default) — validate every field and report
+ * all errors</li>
+ * <li>{@link #FAIL_FAST} — stop at the first error, e.g. for clients that
+ * only need a yes / no answer</li>
+ * <li>{@link #maxErrors(int)} — stop once {@code n} errors were found, e.g.
+ * for bulk import triage</li>
+ * </ul>
+ * <p>
+ * Once the budget is reached no further validators run, including custom
+ * JavaScript, so invalid payloads are rejected early. Within the budget
+ * the reported errors are the first ones in schema order, the same as the
+ * head of a full validation.
+ * </p>
+ */
+@Getter
+@EqualsAndHashCode
+public final class ValidationMode {
+
+    /** Validate everything and report all errors. */
+    public static final ValidationMode COLLECT_ALL = new ValidationMode(0);
+
+    /** Stop at the first error. */
+    public static final ValidationMode FAIL_FAST = new ValidationMode(1);
+
+    /** Maximum number of errors to collect; {@code 0} means unlimited. */
+    private final int maxErrors;
+
+    private ValidationMode(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Stop once {@code n} errors were found.
+     *
+     * @param n the error budget, at least 1
+     * @return the validation mode
+     * @throws IllegalArgumentException if {@code n < 1}
+     */
+    public static ValidationMode maxErrors(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("maxErrors must be at least 1, got: " + n);
+        }
+        return n == 1 ? FAIL_FAST : new ValidationMode(n);
+    }
+
+    /** Whether errors are collected without a limit. */
+    public boolean isCollectAll() {
+        return maxErrors == 0;
+    }
+
+    /**
+     * Check whether the error budget is used up.
+     *
+     * @param errorCount the number of errors found so far
+     * @return {@code true} if validation should stop
+     */
+    public boolean isExhausted(int errorCount) {
+        return maxErrors > 0 && errorCount >= maxErrors;
+    }
+
+    @Override
+    public String toString() {
+        return isCollectAll() ? "COLLECT_ALL" : maxErrors == 1 ? "FAIL_FAST" : "MAX_ERRORS(" + maxErrors + ")";
+    }
+}
@@ -0,0 +1,198 @@
+package com.genericform.engine;
+
+import com.genericform.core.FormColumn;
+import com.genericform.core.FormComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cost-based ordering of the top-level validation units of a schema,
+ * learned from runtime statistics.
+ * <p>
+ * A <em>unit</em> is an input or grid outside grid rows, together with
+ * the layouts above it (whose conditionals decide its visibility). For
+ * each unit the engine records how long its checks take and how often
+ * they fail. Validation with an error budget can then run the units in
+ * ascending order of {@code cost / failureRate}, the order that minimises
+ * the expected work until the first error, so cheap checks that often
+ * fail run before expensive custom JS that rarely does.
+ * </p>
+ * <p>
+ * Until a unit has {@value #MIN_SAMPLES} samples its cost is taken from
+ * the plan's static estimate. The failure rate is Laplace-smoothed. The
+ * order is recomputed every {@value #REORDER_INTERVAL} budgeted
+ * validations; it lives in the {@link ValidationPlan}, so it is kept per
+ * published schema and starts over when a new version is published.
+ * </p>
+ * <p>
+ * A budgeted validation stops at the first errors, so units at the back
+ * of the order would rarely run and never correct their statistics; a
+ * unit that started failing often would stay at the back. One in
+ * {@value #SAMPLE_INTERVAL} budgeted validations is therefore a
+ * <em>sample</em> that validates every unit (keeping only the errors the
+ * budget allows), as do full validations.
+ * </p>
+ */
+final class AdaptiveOrdering {
+
+    static final int MIN_SAMPLES = 32;
+    static final int REORDER_INTERVAL = 256;
+    static final int SAMPLE_INTERVAL = 16;
+
+    /** Rough wall-clock cost of one static cost unit, for cold units. */
+    private static final double NANOS_PER_COST_UNIT = 200;
+
+    /**
+     * Statistics of one unit.
+     */
+    static final class Unit {
+        final FormComponent component;
+        final FormComponent[] ancestors;
+        private final long staticCost;
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Unit(FormComponent component, FormComponent[] ancestors, long staticCost) {
+            this.component = component;
+            this.ancestors = ancestors;
+            this.staticCost = staticCost;
+        }
+
+        /** Record one validation of this unit. */
+        void record(long elapsedNanos, boolean failed) {
+            runs.increment();
+            nanos.add(elapsedNanos);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        /** Expected cost per detected failure; lower runs first. */
+        double score() {
+            long n = runs.sum();
+            double cost = n >= MIN_SAMPLES
+                    ? (double) nanos.sum() / n
+                    : Math.max(1, staticCost) * NANOS_PER_COST_UNIT;
+            double failureRate = (failures.sum() + 1.0) / (n + 2.0);
+            return cost / failureRate;
+        }
+
+        /** Recorded validations (for tests and diagnostics). */
+        long runs() {
+            return runs.sum();
+        }
+
+        /** Recorded failures (for tests and diagnostics). */
+        long failures() {
+            return failures.sum();
+        }
+    }
+
+    private final Unit[] schemaOrder;
+    private final Map<FormComponent, Unit> byComponent;
+    private final AtomicLong validations = new AtomicLong();
+    private final AtomicLong samples = new AtomicLong();
+    private volatile Unit[] order;
+
+    private AdaptiveOrdering(List<Unit> units) {
+        this.schemaOrder = units.toArray(Unit[]::new);
+        this.byComponent = new IdentityHashMap<>();
+        for (Unit unit : schemaOrder) {
+            byComponent.put(unit.component, unit);
+        }
+        this.order = schemaOrder;
+    }
+
+    /**
+     * Collect the units of a component tree.
+     *
+     * @param components the top-level components
+     * @param costs      static cost estimates per component (see {@link ValidationPlan})
+     */
+    static AdaptiveOrdering compile(List<FormComponent> components, Map<FormComponent, Long> costs) {
+        List<Unit> units = new ArrayList<>();
+        collect(components, new ArrayList<>(), costs, units);
+        return new AdaptiveOrdering(units);
+    }
+
+    /** The unit for a top-level input or grid, or {@code null}. */
+    Unit unit(FormComponent component) {
+        return byComponent.get(component);
+    }
+
+    /**
+     * The current order for a budgeted validation, recomputing it from the
+     * statistics every {@value #REORDER_INTERVAL} calls.
+     */
+    Unit[] order() {
+        if (validations.incrementAndGet() % REORDER_INTERVAL == 0) {
+            // Snapshot the scores first: the statistics keep changing
+            Unit[] sorted = schemaOrder.clone();
+            Map<Unit, Double> scores = new IdentityHashMap<>();
+            for (Unit unit : sorted) {
+                scores.put(unit, unit.score());
+            }
+            Arrays.sort(sorted, Comparator.comparingDouble(scores::get));
+            order = sorted;
+        }
+        return order;
+    }
+
+    /**
+     * Whether the next budgeted validation should be a sample that
+     * validates every unit; true for one in {@value #SAMPLE_INTERVAL}.
+     */
+    boolean sample() {
+        return samples.incrementAndGet() % SAMPLE_INTERVAL == 0;
+    }
+
+    private static void collect(List<FormComponent> components, List<FormComponent> ancestors,
+            Map<FormComponent, Long> costs, List<Unit> units) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            String type = component.getType() != null ? component.getType().toLowerCase() : "textfield";
+            if (ValidationEngine.STATIC_TYPES.contains(type)) {
+                continue;
+            }
+
+            List<FormComponent> path = new ArrayList<>(ancestors);
+            path.add(component);
+            if ("columns".equals(type)) {
+                if (component.getColumns() != null) {
+                    for (FormColumn column : component.getColumns()) {
+                        if (column != null) {
+                            collect(column.getComponents(), path, costs, units);
+                        }
+                    }
+                }
+                continue;
+            }
+            if (ValidationEngine.LAYOUT_TYPES.contains(type)) {
+                collect(component.getComponents(), path, costs, units);
+                continue;
+            }
+
+            boolean grid = "editgrid".equals(type) || "datagrid".equals(type);
+            if (component.isInput() || grid) {
+                units.add(new Unit(component, ancestors.toArray(FormComponent[]::new),
+                        costs.getOrDefault(component, 0L)));
+            }
+            if (!grid) {
+                collect(component.getComponents(), path, costs, units);
+            }
+        }
+    }
+}
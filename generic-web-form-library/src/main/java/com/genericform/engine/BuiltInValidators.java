@@ -0,0 +1,190 @@
+package com.genericform.engine;
+
+import com.genericform.core.ComponentData;
+import com.genericform.core.ComponentValidation;
+import com.genericform.core.ComponentValidator;
+import com.genericform.core.FieldType;
+import com.genericform.core.FormComponent;
+import org.hibernate.validator.internal.constraintvalidators.bv.EmailValidator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link ComponentValidator}s of the standard Form.io types. Each is a
+ * single shared, stateless instance.
+ * <p>
+ * {@link #NUMBER} and {@link #DATE_TIME} work standalone, but
+ * {@link ValidationEngine} recognises them and uses the values and rules
+ * precompiled in the {@link ValidationPlan} instead of parsing again.
+ * </p>
+ */
+final class BuiltInValidators {
+
+    /** Compiled {@code validate.pattern} regexes, shared by all schemas. */
+    private static final ConcurrentHashMap<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    /** Pattern, minimum and maximum length; also the fallback for unknown types. */
+    static final ComponentValidator TEXT = new Validator(
+            Set.of("textfield", "textarea", "password", "phonenumber", "url")) {
+        @Override
+        public String validate(FormComponent component, Object value) {
+            return validateText(component, value.toString());
+        }
+    };
+
+    /** Email format, then the text checks. */
+    static final ComponentValidator EMAIL = new Validator(Set.of("email")) {
+        private final EmailValidator emailValidator = new EmailValidator();
+
+        @Override
+        public String validate(FormComponent component, Object value) {
+            String text = value.toString();
+            return emailValidator.isValid(text, null) ? validateText(component, text) : "Invalid email format";
+        }
+    };
+
+    /** Numeric format and min / max. */
+    static final ComponentValidator NUMBER = new Validator(Set.of("number", "currency")) {
+        @Override
+        public String validate(FormComponent component, Object value) {
+            FieldType fieldType = ValidationPlan.fieldType(component, normalizeType(component.getType()));
+            double number;
+            try {
+                number = Double.parseDouble(value.toString());
+            } catch (NumberFormatException e) {
+                return "Expected a numeric value";
+            }
+            if (!Double.isFinite(number) || fieldType == FieldType.LONG && number != Math.rint(number)) {
+                return numberError(fieldType);
+            }
+            return checkRange(component, number);
+        }
+    };
+
+    /** Value must be one of the component's options. */
+    static final ComponentValidator SELECT = new Validator(Set.of("select", "radio")) {
+        @Override
+        public String validate(FormComponent component, Object value) {
+            ComponentData data = component.getData();
+            if (data == null || data.getValues() == null || data.getValues().isEmpty()) {
+                return null; // no predefined values to check against
+            }
+            String text = value.toString();
+            boolean found = data.getValues().stream().anyMatch(sv -> text.equals(sv.getValue()));
+            return found ? null : "Value is not one of the allowed options";
+        }
+    };
+
+    /** Date / time format and min / max date, see {@link DateTimeRule}. */
+    static final ComponentValidator DATE_TIME = new Validator(Set.of("datetime", "day", "time")) {
+        @Override
+        public String validate(FormComponent component, Object value) {
+            DateTimeRule rule = DateTimeRule.compile(component, normalizeType(component.getType()));
+            return rule != null ? rule.check(value) : null;
+        }
+    };
+
+    /** Signature must be non-empty. */
+    static final ComponentValidator SIGNATURE = new Validator(Set.of("signature")) {
+        @Override
+        public String validate(FormComponent component, Object value) {
+            return value.toString().isBlank() ? "Signature is required" : null;
+        }
+    };
+
+    static final List<ComponentValidator> ALL = List.of(TEXT, EMAIL, NUMBER, SELECT, DATE_TIME, SIGNATURE);
+
+    private BuiltInValidators() {
+    }
+
+    private abstract static class Validator implements ComponentValidator {
+        private final Set<String> types;
+
+        Validator(Set<String> types) {
+            this.types = types;
+        }
+
+        @Override
+        public Set<String> types() {
+            return types;
+        }
+    }
+
+    // ───────────────────────────── Shared Checks ──────────────────────────
+
+    /** Pattern, then min / max length; the last failing check wins. */
+    private static String validateText(FormComponent component, String text) {
+        ComponentValidation v = component.getValidate();
+        if (v == null) {
+            return null;
+        }
+
+        Integer maxLen = parseIntOrNull(v.getMaxLength());
+        if (maxLen != null && text.length() > maxLen) {
+            return "Value must be at most " + maxLen + " characters";
+        }
+        Integer minLen = parseIntOrNull(v.getMinLength());
+        if (minLen != null && text.length() < minLen) {
+            return "Value must be at least " + minLen + " characters";
+        }
+        if (v.getPattern() != null && !v.getPattern().isEmpty()
+                && !PATTERNS.computeIfAbsent(v.getPattern(), Pattern::compile).matcher(text).matches()) {
+            return hasCustomMessage(v) ? v.getCustomMessage() : "Value does not match pattern: " + v.getPattern();
+        }
+        return null;
+    }
+
+    /** Check a number against {@code validate.minLength} / {@code maxLength}. */
+    static String checkRange(FormComponent component, double number) {
+        ComponentValidation v = component.getValidate();
+        if (v == null) {
+            return null;
+        }
+        Double max = parseDoubleOrNull(v.getMaxLength());
+        if (max != null && number > max) {
+            return "Value must be <= " + max;
+        }
+        Double min = parseDoubleOrNull(v.getMinLength());
+        if (min != null && number < min) {
+            return "Value must be >= " + min;
+        }
+        return null;
+    }
+
+    static String numberError(FieldType fieldType) {
+        return fieldType == FieldType.LONG ? "Expected a whole number" : "Expected a numeric value";
+    }
+
+    static String normalizeType(String type) {
+        return type != null ? type.toLowerCase() : "textfield";
+    }
+
+    static boolean hasCustomMessage(ComponentValidation v) {
+        return v != null && v.getCustomMessage() != null && !v.getCustomMessage().isEmpty();
+    }
+
+    private static Integer parseIntOrNull(String s) {
+        if (s == null || s.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(s.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDoubleOrNull(String s) {
+        if (s == null || s.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(s.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
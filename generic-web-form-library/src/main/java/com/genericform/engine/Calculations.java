@@ -0,0 +1,614 @@
+package com.genericform.engine;
+
+import com.genericform.core.FormColumn;
+import com.genericform.core.FormComponent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Server-side recomputation of Form.io calculated fields: inputs with a
+ * {@code calculateValue} script and {@code calculateServer: true}, whose
+ * submitted value is replaced by the one computed from the rest of the
+ * submission instead of trusting the client.
+ * <p>
+ * Calculations are compiled once per {@link ValidationPlan}, ordered so
+ * that a field is computed after the calculated fields its script reads
+ * ({@code data.x} / {@code data['x']} references); fields in a cycle keep
+ * their schema order. Scripts of the form {@code value = <arithmetic>}
+ * over numbers and {@code data} references, with {@code + - * / %} and
+ * parentheses, are compiled to a Java expression tree; like JavaScript,
+ * they read a {@code null} operand as 0 and a missing one as {@code NaN}.
+ * Anything else, and compiled expressions with an operand of another type
+ * at submission time (where JavaScript would e.g. concatenate strings), is
+ * evaluated by the {@link JavaScriptValidationEngine}: from the first
+ * such calculation on, the remaining ones run in one batch, so a
+ * submission costs at most one script context.
+ * </p>
+ * <p>
+ * Results are stored the way they would be serialised from JavaScript:
+ * whole numbers as integers, non-finite numbers as {@code null}.
+ * Calculations inside {@code editgrid} / {@code datagrid} rows and
+ * JSONLogic {@code calculateValue} objects are not evaluated.
+ * </p>
+ * <p>
+ * A calculation that cannot be evaluated, because its script fails or it
+ * needs JavaScript and no engine is configured, clears the field to
+ * {@code null} rather than keeping the untrusted submitted value, so
+ * validation treats it as missing.
+ * </p>
+ */
+@Slf4j
+final class Calculations {
+
+    static final Calculations NONE = new Calculations(List.of(), Set.of(), false);
+
+    /** A {@code data} or {@code row} access other than {@code data.x} / {@code data['x']}. */
+    private static final Pattern OPAQUE_ACCESS =
+            Pattern.compile("\\brow\\b|\\bdata\\b(?!\\.[A-Za-z_$]|\\[\\s*['\"][^'\"]+['\"]\\s*])");
+
+    /**
+     * One calculated field.
+     *
+     * @param path       its data path from the submission root
+     * @param script     the {@code calculateValue} script
+     * @param expression the compiled arithmetic, or {@code null} if JS-only
+     */
+    record Calculation(DataPath path, String script, @Nullable Expression expression) {
+    }
+
+    /** Calculations in evaluation order. */
+    private final List<Calculation> calculations;
+
+    /** Top-level keys the calculations read or write. */
+    private final Set<String> keys;
+
+    /** Whether a script reads data in a way its references do not capture. */
+    private final boolean opaque;
+
+    private Calculations(List<Calculation> calculations, Set<String> keys, boolean opaque) {
+        this.calculations = calculations;
+        this.keys = keys;
+        this.opaque = opaque;
+    }
+
+    /**
+     * Compile the server-side calculations of a component tree.
+     *
+     * @param components the top-level components
+     * @param paths      the compiled data paths of the plan
+     */
+    static Calculations compile(List<FormComponent> components, Map<FormComponent, DataPath> paths) {
+        List<Calculation> found = new ArrayList<>();
+        collect(components, paths, found);
+        if (found.isEmpty()) {
+            return NONE;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        boolean opaque = false;
+        for (Calculation calculation : found) {
+            keys.add(topLevelKey(calculation.path()));
+            ValidationPlan.scriptReferences(calculation.script(), keys);
+            opaque |= OPAQUE_ACCESS.matcher(calculation.script()).find();
+        }
+        return new Calculations(order(found), Set.copyOf(keys), opaque);
+    }
+
+    /** The calculations in evaluation order. */
+    List<Calculation> calculations() {
+        return calculations;
+    }
+
+    /** Whether some calculation is not compiled and always needs JavaScript. */
+    boolean needsScripts() {
+        return calculations.stream().anyMatch(calculation -> calculation.expression() == null);
+    }
+
+    /**
+     * Whether changing any of the given top-level keys can change a
+     * calculated value: they include a calculated field or one its script
+     * reads, or a script reads data in a way that cannot be traced.
+     */
+    boolean isAffectedBy(Collection<String> changedKeys) {
+        if (calculations.isEmpty()) {
+            return false;
+        }
+        if (opaque) {
+            return true;
+        }
+        for (String key : changedKeys) {
+            if (keys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recompute the calculated fields of a submission.
+     *
+     * @param data     the submitted data (not modified)
+     * @param jsEngine the engine for scripts that are not compiled (may be {@code null})
+     * @return {@code data} itself if there is nothing to calculate, else a
+     *         copy with the computed values
+     */
+    Map<String, Object> apply(Map<String, Object> data, @Nullable JavaScriptValidationEngine jsEngine) {
+        if (calculations.isEmpty()) {
+            return data;
+        }
+        Map<String, Object> result = data != null ? new LinkedHashMap<>(data) : new LinkedHashMap<>();
+        applyInPlace(result, jsEngine);
+        return result;
+    }
+
+    /**
+     * Recompute the calculated fields of a submission, writing them into
+     * the data itself.
+     *
+     * @param result   the submitted data (mutable)
+     * @param jsEngine the engine for scripts that are not compiled (may be {@code null})
+     */
+    void applyInPlace(Map<String, Object> result, @Nullable JavaScriptValidationEngine jsEngine) {
+        for (int i = 0; i < calculations.size(); i++) {
+            Calculation calculation = calculations.get(i);
+            Expression expression = calculation.expression();
+            if (expression != null && expression.accepts(result)) {
+                calculation.path().put(result, jsonNumber(expression.evaluate(result)));
+                continue;
+            }
+            if (jsEngine == null) {
+                calculation.path().put(result, null);
+                continue;
+            }
+            evaluateScripts(calculations.subList(i, calculations.size()), result, jsEngine);
+            break;
+        }
+    }
+
+    private static void evaluateScripts(List<Calculation> remaining, Map<String, Object> result,
+            JavaScriptValidationEngine jsEngine) {
+        List<String> scripts = new ArrayList<>(remaining.size());
+        List<String> paths = new ArrayList<>(remaining.size());
+        for (Calculation calculation : remaining) {
+            scripts.add(calculation.script());
+            paths.add(calculation.path().toString());
+        }
+        List<Object> values = jsEngine.evaluateCalculations(scripts, paths, result);
+        for (int i = 0; i < remaining.size(); i++) {
+            // Fields the batch did not return (it failed as a whole) are cleared
+            Object value = i < values.size() ? values.get(i) : null;
+            DataPath path = remaining.get(i).path();
+            if (!Objects.equals(value, path.get(result))) {
+                path.put(result, value);
+            }
+        }
+    }
+
+    /** A JavaScript number as JSON would carry it: int, long, double or {@code null}. */
+    static Object jsonNumber(double value) {
+        if (!Double.isFinite(value)) {
+            return null;
+        }
+        if (value == Math.rint(value) && Math.abs(value) <= 9_007_199_254_740_992d) {
+            long whole = (long) value;
+            if (whole == (int) whole) {
+                return (int) whole;
+            }
+            return whole;
+        }
+        return value;
+    }
+
+    // ───────────────────────────── Compilation ────────────────────────────
+
+    private static void collect(List<FormComponent> components, Map<FormComponent, DataPath> paths,
+            List<Calculation> out) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            String type = component.getType() != null ? component.getType().toLowerCase() : "";
+            if ("editgrid".equals(type) || "datagrid".equals(type)) {
+                continue; // row calculations are not evaluated
+            }
+            Map<String, Object> extras = component.getAdditionalProperties();
+            DataPath path = paths.get(component);
+            if (extras != null && path != null && component.isInput()
+                    && Boolean.TRUE.equals(extras.get("calculateServer"))
+                    && extras.get("calculateValue") instanceof String script && !script.isBlank()) {
+                out.add(new Calculation(path, script, Expression.compile(script)));
+            }
+            collect(component.getComponents(), paths, out);
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    if (column != null) {
+                        collect(column.getComponents(), paths, out);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Order calculations so each comes after the calculated fields it
+     * references, keeping schema order otherwise.
+     */
+    private static List<Calculation> order(List<Calculation> found) {
+        int n = found.size();
+        List<Set<Integer>> dependencies = new ArrayList<>(n);
+        for (Calculation calculation : found) {
+            Set<String> references = new LinkedHashSet<>();
+            ValidationPlan.scriptReferences(calculation.script(), references);
+            Set<Integer> before = new LinkedHashSet<>();
+            for (int j = 0; j < n; j++) {
+                Calculation other = found.get(j);
+                if (other != calculation && references.contains(topLevelKey(other.path()))) {
+                    before.add(j);
+                }
+            }
+            dependencies.add(before);
+        }
+
+        List<Calculation> ordered = new ArrayList<>(n);
+        boolean[] placed = new boolean[n];
+        while (ordered.size() < n) {
+            int next = -1;
+            for (int i = 0; i < n && next < 0; i++) {
+                if (!placed[i] && dependencies.get(i).stream().allMatch(j -> placed[j])) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                // Cycle: place the first remaining field in schema order
+                for (int i = 0; i < n && next < 0; i++) {
+                    if (!placed[i]) {
+                        next = i;
+                    }
+                }
+                log.warn("Calculated fields depend on each other in a cycle; evaluating '{}' first",
+                        found.get(next).path());
+            }
+            placed[next] = true;
+            ordered.add(found.get(next));
+        }
+        return List.copyOf(ordered);
+    }
+
+    private static String topLevelKey(DataPath path) {
+        String dotted = path.toString();
+        int dot = dotted.indexOf('.');
+        return dot < 0 ? dotted : dotted.substring(0, dot);
+    }
+
+    // ───────────────────────────── Expressions ────────────────────────────
+
+    /**
+     * Arithmetic over numbers and {@code data} references, compiled from
+     * {@code value = <expr>}. Evaluates with JavaScript number semantics.
+     */
+    abstract static class Expression {
+
+        /** Evaluate against submission data this expression {@linkplain #accepts accepts}. */
+        abstract double evaluate(Map<String, Object> data);
+
+        /**
+         * Whether every reference resolves to a number, {@code null} or
+         * nothing, so the result is the same as in JavaScript.
+         */
+        abstract boolean accepts(Map<String, Object> data);
+
+        /**
+         * Compile a {@code calculateValue} script.
+         *
+         * @return the expression, or {@code null} if the script is not plain arithmetic
+         */
+        static Expression compile(String script) {
+            Parser parser = new Parser(script);
+            try {
+                parser.skipSpace();
+                parser.expectWord("value");
+                parser.expect('=');
+                Expression expression = parser.sum();
+                parser.skipSpace();
+                if (parser.peek() == ';') {
+                    parser.pos++;
+                    parser.skipSpace();
+                }
+                if (parser.pos != script.length()) {
+                    return null;
+                }
+                // value = data.x copies the value: null stays null instead of reading as 0
+                return expression instanceof Reference reference ? reference.copy() : expression;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class Constant extends Expression {
+        private final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double evaluate(Map<String, Object> data) {
+            return value;
+        }
+
+        @Override
+        boolean accepts(Map<String, Object> data) {
+            return true;
+        }
+    }
+
+    /**
+     * A {@code data} path. As in JavaScript arithmetic, {@code null} reads
+     * as 0 and a missing value (or a path through {@code null} or a missing
+     * object, where the script would throw) as {@code NaN}. A copied
+     * reference (the whole script is {@code value = data.x}) reads
+     * {@code null} as {@code NaN}, which is stored as {@code null}.
+     */
+    private static final class Reference extends Expression {
+        private static final Object UNDEFINED = new Object();
+        private static final Object OTHER = new Object();
+
+        private final String[] segments;
+        private final boolean copied;
+
+        Reference(List<String> segments) {
+            this(segments.toArray(String[]::new), false);
+        }
+
+        private Reference(String[] segments, boolean copied) {
+            this.segments = segments;
+            this.copied = copied;
+        }
+
+        Reference copy() {
+            return new Reference(segments, true);
+        }
+
+        @Override
+        double evaluate(Map<String, Object> data) {
+            Object value = resolve(data);
+            if (value == UNDEFINED || value == null && copied) {
+                return Double.NaN;
+            }
+            return value != null ? ((Number) value).doubleValue() : 0;
+        }
+
+        @Override
+        boolean accepts(Map<String, Object> data) {
+            Object value = resolve(data);
+            return value == null || value == UNDEFINED || value instanceof Number;
+        }
+
+        /** The value, {@link #UNDEFINED}, or {@link #OTHER} for a path through a non-object. */
+        private Object resolve(Map<String, Object> data) {
+            Object current = data;
+            for (String segment : segments) {
+                if (current == null || current == UNDEFINED) {
+                    return UNDEFINED;
+                }
+                if (!(current instanceof Map<?, ?> map)) {
+                    return OTHER;
+                }
+                current = map.containsKey(segment) ? map.get(segment) : UNDEFINED;
+            }
+            return current;
+        }
+    }
+
+    private static final class Negation extends Expression {
+        private final Expression operand;
+
+        Negation(Expression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        double evaluate(Map<String, Object> data) {
+            return -operand.evaluate(data);
+        }
+
+        @Override
+        boolean accepts(Map<String, Object> data) {
+            return operand.accepts(data);
+        }
+    }
+
+    private static final class Binary extends Expression {
+        private final char operator;
+        private final Expression left;
+        private final Expression right;
+
+        Binary(char operator, Expression left, Expression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double evaluate(Map<String, Object> data) {
+            double a = left.evaluate(data);
+            double b = right.evaluate(data);
+            return switch (operator) {
+                case '+' -> a + b;
+                case '-' -> a - b;
+                case '*' -> a * b;
+                case '/' -> a / b;
+                default -> a % b;
+            };
+        }
+
+        @Override
+        boolean accepts(Map<String, Object> data) {
+            return left.accepts(data) && right.accepts(data);
+        }
+    }
+
+    /** Recursive-descent parser; throws {@link IllegalArgumentException} on anything else. */
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Expression sum() {
+            Expression left = product();
+            for (char c = peekToken(); c == '+' || c == '-'; c = peekToken()) {
+                pos++;
+                left = new Binary(c, left, product());
+            }
+            return left;
+        }
+
+        Expression product() {
+            Expression left = unary();
+            for (char c = peekToken(); c == '*' || c == '/' || c == '%'; c = peekToken()) {
+                pos++;
+                left = new Binary(c, left, unary());
+            }
+            return left;
+        }
+
+        Expression unary() {
+            char c = peekToken();
+            if (c == '-' || c == '+') {
+                pos++;
+                Expression operand = unary();
+                return c == '-' ? new Negation(operand) : new Binary('+', new Constant(0), operand);
+            }
+            if (c == '(') {
+                pos++;
+                Expression inner = sum();
+                expect(')');
+                return inner;
+            }
+            if (c >= '0' && c <= '9' || c == '.') {
+                return number();
+            }
+            expectWord("data");
+            List<String> segments = new ArrayList<>();
+            while (true) {
+                char next = peek();
+                if (next == '.') {
+                    pos++;
+                    segments.add(identifier());
+                } else if (next == '[') {
+                    pos++;
+                    skipSpace();
+                    segments.add(string());
+                    expect(']');
+                } else {
+                    break;
+                }
+            }
+            if (segments.isEmpty()) {
+                throw new IllegalArgumentException("data");
+            }
+            return new Reference(segments);
+        }
+
+        /** A decimal literal with optional exponent; malformed ones throw {@link NumberFormatException}. */
+        private Expression number() {
+            int start = pos;
+            skipDigits();
+            if (peek() == '.') {
+                pos++;
+                skipDigits();
+            }
+            if (peek() == 'e' || peek() == 'E') {
+                pos++;
+                if (peek() == '+' || peek() == '-') {
+                    pos++;
+                }
+                skipDigits();
+            }
+            return new Constant(Double.parseDouble(text.substring(start, pos)));
+        }
+
+        private void skipDigits() {
+            while (peek() >= '0' && peek() <= '9') {
+                pos++;
+            }
+        }
+
+        private String identifier() {
+            int start = pos;
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos))
+                    || text.charAt(pos) == '_' || text.charAt(pos) == '$')) {
+                pos++;
+            }
+            if (pos == start || Character.isDigit(text.charAt(start))) {
+                throw new IllegalArgumentException("identifier");
+            }
+            return text.substring(start, pos);
+        }
+
+        private String string() {
+            char quote = peek();
+            if (quote != '\'' && quote != '"') {
+                throw new IllegalArgumentException("string");
+            }
+            int end = text.indexOf(quote, pos + 1);
+            if (end < 0 || text.substring(pos + 1, end).indexOf('\\') >= 0) {
+                throw new IllegalArgumentException("string");
+            }
+            String value = text.substring(pos + 1, end);
+            pos = end + 1;
+            return value;
+        }
+
+        void expect(char c) {
+            if (peekToken() != c) {
+                throw new IllegalArgumentException(String.valueOf(c));
+            }
+            pos++;
+        }
+
+        void expectWord(String word) {
+            skipSpace();
+            if (!text.startsWith(word, pos)) {
+                throw new IllegalArgumentException(word);
+            }
+            int end = pos + word.length();
+            if (end < text.length() && (Character.isLetterOrDigit(text.charAt(end))
+                    || text.charAt(end) == '_' || text.charAt(end) == '$')) {
+                throw new IllegalArgumentException(word);
+            }
+            pos = end;
+        }
+
+        char peekToken() {
+            skipSpace();
+            return peek();
+        }
+
+        char peek() {
+            return pos < text.length() ? text.charAt(pos) : '\0';
+        }
+
+        void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
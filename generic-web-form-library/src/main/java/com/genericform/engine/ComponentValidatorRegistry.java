@@ -0,0 +1,77 @@
+package com.genericform.engine;
+
+import com.genericform.core.ComponentValidator;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps Form.io component types to their {@link ComponentValidator}.
+ * <p>
+ * Starts from the built-in validators of the standard types; validators
+ * registered by the host replace the built-in one of each type they
+ * declare. Types without a validator (including unknown custom types) are
+ * validated like text fields: pattern and min / max length.
+ * </p>
+ * <p>
+ * {@link ValidationEngine} resolves each component's validator once, when
+ * a schema's validation plan is compiled.
+ * </p>
+ */
+public final class ComponentValidatorRegistry {
+
+    private static final ComponentValidatorRegistry DEFAULTS = new ComponentValidatorRegistry(List.of());
+
+    private final Map<String, ComponentValidator> validators;
+
+    /**
+     * Create a registry of the built-in validators plus custom ones.
+     *
+     * @param custom validators registered by the host application
+     * @throws IllegalArgumentException if two custom validators declare the same type
+     */
+    public ComponentValidatorRegistry(List<ComponentValidator> custom) {
+        Map<String, ComponentValidator> map = new HashMap<>();
+        for (ComponentValidator validator : BuiltInValidators.ALL) {
+            for (String type : validator.types()) {
+                map.put(type, validator);
+            }
+        }
+        Set<String> overridden = new HashSet<>();
+        for (ComponentValidator validator : custom) {
+            for (String type : validator.types()) {
+                String key = type.toLowerCase();
+                if (!overridden.add(key)) {
+                    throw new IllegalArgumentException(
+                            "More than one ComponentValidator registered for type: " + type);
+                }
+                map.put(key, validator);
+            }
+        }
+        this.validators = Collections.unmodifiableMap(map);
+    }
+
+    /** The registry of the built-in validators only. */
+    public static ComponentValidatorRegistry defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * The validator of a component type.
+     *
+     * @param type the component type (any case; {@code null} means {@code textfield})
+     * @return the validator, never {@code null}
+     */
+    public ComponentValidator get(String type) {
+        return validators.getOrDefault(BuiltInValidators.normalizeType(type), BuiltInValidators.TEXT);
+    }
+
+    /** The component types with a registered validator. */
+    public Set<String> types() {
+        return validators.keySet();
+    }
+}
@@ -0,0 +1,187 @@
+package com.genericform.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compiles simple Form.io {@code conditional} settings into Java
+ * predicates, so visibility can be decided without a JS engine.
+ * <p>
+ * Two formats are supported:
+ * </p>
+ * <ul>
+ * <li>Legacy: {@code {"show": true, "when": "key", "eq": "value"}}</li>
+ * <li>Current: {@code {"show": true, "conjunction": "all|any",
+ * "conditions": [{"component": "key", "operator": "isEqual", "value": ...}]}}</li>
+ * </ul>
+ * <p>
+ * Values are compared the way Form.io compares them client-side: as
+ * strings, with arrays matching if any element matches and selectbox maps
+ * matching if the option is checked. A conditional using an unknown
+ * operator is not compiled, leaving the component visible.
+ * </p>
+ */
+final class Conditions {
+
+    private Conditions() {
+    }
+
+    /**
+     * Compile a {@code conditional} object.
+     *
+     * @param conditional the raw {@code conditional} property
+     * @return the compiled condition, or {@code null} if the conditional is
+     *         empty or cannot be evaluated natively
+     */
+    static ValidationPlan.Condition compile(Map<?, ?> conditional) {
+        boolean show = parseShow(conditional.get("show"));
+
+        if (conditional.get("conditions") instanceof List<?> list && !list.isEmpty()) {
+            List<ValidationPlan.Condition> terms = new ArrayList<>(list.size());
+            for (Object item : list) {
+                ValidationPlan.Condition term = item instanceof Map<?, ?> map ? compileTerm(map) : null;
+                if (term == null) {
+                    return null;
+                }
+                terms.add(term);
+            }
+            boolean any = "any".equals(conditional.get("conjunction"));
+            return lookup -> {
+                boolean matched = !any;
+                for (ValidationPlan.Condition term : terms) {
+                    if (term.isVisible(lookup) == any) {
+                        matched = any;
+                        break;
+                    }
+                }
+                return matched == show;
+            };
+        }
+
+        if (conditional.get("when") instanceof String when && !when.isBlank()) {
+            String eq = conditional.get("eq") != null ? String.valueOf(conditional.get("eq")) : "";
+            return lookup -> matches(resolve(lookup, when), eq) == show;
+        }
+        return null;
+    }
+
+    private static ValidationPlan.Condition compileTerm(Map<?, ?> term) {
+        if (!(term.get("component") instanceof String path) || path.isBlank()) {
+            return null;
+        }
+        Object value = term.get("value");
+        String expected = value != null ? String.valueOf(value) : "";
+        String operator = term.get("operator") instanceof String op ? op : "isEqual";
+        return switch (operator) {
+            case "isEqual" -> lookup -> matches(resolve(lookup, path), expected);
+            case "isNotEqual" -> lookup -> !matches(resolve(lookup, path), expected);
+            case "isEmpty" -> lookup -> isEmpty(resolve(lookup, path));
+            case "isNotEmpty" -> lookup -> !isEmpty(resolve(lookup, path));
+            case "includes" -> lookup -> includes(resolve(lookup, path), expected);
+            case "notIncludes" -> lookup -> !includes(resolve(lookup, path), expected);
+            case "greaterThan" -> lookup -> compare(resolve(lookup, path), expected) > 0;
+            case "greaterThanOrEqual" -> lookup -> compare(resolve(lookup, path), expected) >= 0;
+            case "lessThan" -> lookup -> {
+                int cmp = compare(resolve(lookup, path), expected);
+                return cmp != Integer.MIN_VALUE && cmp < 0;
+            };
+            case "lessThanOrEqual" -> lookup -> {
+                int cmp = compare(resolve(lookup, path), expected);
+                return cmp != Integer.MIN_VALUE && cmp <= 0;
+            };
+            default -> null;
+        };
+    }
+
+    private static boolean parseShow(Object show) {
+        if (show instanceof Boolean b) {
+            return b;
+        }
+        return !(show instanceof String s) || !"false".equalsIgnoreCase(s.trim());
+    }
+
+    // ───────────────────────────── Evaluation ─────────────────────────────
+
+    /**
+     * Resolve a possibly dotted path ({@code "address.city"}): the first
+     * segment through the lookup, the rest through nested maps.
+     */
+    private static Object resolve(Function<String, Object> lookup, String path) {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            return lookup.apply(path);
+        }
+        Object value = lookup.apply(path.substring(0, dot));
+        int start = dot + 1;
+        while (value instanceof Map<?, ?> map) {
+            int next = path.indexOf('.', start);
+            String segment = next < 0 ? path.substring(start) : path.substring(start, next);
+            value = map.get(segment);
+            if (next < 0) {
+                return value;
+            }
+            start = next + 1;
+        }
+        return null;
+    }
+
+    private static boolean matches(Object value, String expected) {
+        if (value == null) {
+            return expected.isEmpty();
+        }
+        if (value instanceof Collection<?> items) {
+            for (Object item : items) {
+                if (item != null && String.valueOf(item).equals(expected)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (value instanceof Map<?, ?> options) {
+            return Boolean.TRUE.equals(options.get(expected));
+        }
+        return String.valueOf(value).equals(expected);
+    }
+
+    private static boolean isEmpty(Object value) {
+        if (value == null) {
+            return true;
+        }
+        if (value instanceof String s) {
+            return s.isEmpty();
+        }
+        if (value instanceof Collection<?> items) {
+            return items.isEmpty();
+        }
+        if (value instanceof Map<?, ?> options) {
+            return !options.containsValue(Boolean.TRUE);
+        }
+        return false;
+    }
+
+    private static boolean includes(Object value, String expected) {
+        if (value instanceof Collection<?> || value instanceof Map<?, ?>) {
+            return matches(value, expected);
+        }
+        return value != null && String.valueOf(value).contains(expected);
+    }
+
+    /**
+     * Numeric comparison, or {@link Integer#MIN_VALUE} if either side is
+     * not a number.
+     */
+    private static int compare(Object value, String expected) {
+        if (value == null) {
+            return Integer.MIN_VALUE;
+        }
+        try {
+            return new BigDecimal(String.valueOf(value).trim()).compareTo(new BigDecimal(expected.trim()));
+        } catch (NumberFormatException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+}
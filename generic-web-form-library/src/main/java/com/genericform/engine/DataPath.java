@@ -0,0 +1,119 @@
+package com.genericform.engine;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled accessor for a component's value, relative to its data
+ * scope: the submission root, or the row of the nearest enclosing
+ * {@code editgrid} / {@code datagrid}.
+ * <p>
+ * Form.io nests the data of a {@code container} under its key, so an
+ * input {@code c} inside containers {@code a} → {@code b} is read from
+ * {@code a.b.c}. Submissions that send such fields flat at the scope root
+ * (as earlier versions of this library expected) are still accepted: if
+ * the enclosing container objects are absent, the value is read from the
+ * scope by its own key.
+ * </p>
+ * <p>
+ * Paths are compiled once per {@link ValidationPlan} and resolved by
+ * walking the submitted maps, without copying them.
+ * </p>
+ */
+final class DataPath {
+
+    /** Sentinel for "container objects absent, read flat". */
+    private static final Object NOT_NESTED = new Object();
+
+    private final String[] segments;
+    private final String key;
+    private final String dotted;
+
+    DataPath(List<String> segments) {
+        this.segments = segments.toArray(String[]::new);
+        this.key = this.segments[this.segments.length - 1];
+        this.dotted = String.join(".", segments);
+    }
+
+    /** The component's own key (last segment). */
+    String key() {
+        return key;
+    }
+
+    /** The top-level data key: the outermost container's, or the component's own. */
+    String root() {
+        return segments[0];
+    }
+
+    /** Whether the component sits inside at least one container. */
+    boolean isNested() {
+        return segments.length > 1;
+    }
+
+    /**
+     * Resolve the value within a scope.
+     *
+     * @param scope the submission root or a grid row (may be {@code null})
+     * @return the value, or {@code null} if absent
+     */
+    Object get(Map<String, Object> scope) {
+        Object parent = parent(scope);
+        if (parent == NOT_NESTED) {
+            return scope != null ? scope.get(key) : null;
+        }
+        return ((Map<?, ?>) parent).get(key);
+    }
+
+    /**
+     * Set the value within a scope, where {@link #get} reads it from:
+     * under the enclosing container objects if present, else flat. The
+     * containers along the path are replaced by copies, so only
+     * {@code scope} itself has to be mutable.
+     *
+     * @param scope a mutable copy of the submission root or a grid row
+     * @param value the new value
+     */
+    @SuppressWarnings("unchecked")
+    void put(Map<String, Object> scope, Object value) {
+        if (parent(scope) == NOT_NESTED) {
+            scope.put(key, value);
+            return;
+        }
+        Map<String, Object> current = scope;
+        for (int i = 0; i < segments.length - 1; i++) {
+            Map<String, Object> copy = new LinkedHashMap<>((Map<String, Object>) current.get(segments[i]));
+            current.put(segments[i], copy);
+            current = copy;
+        }
+        current.put(key, value);
+    }
+
+    /**
+     * The error key for this component: the dotted path behind
+     * {@code prefix}, or just its key when the submission is flat.
+     *
+     * @param scope  the scope the value was resolved in
+     * @param prefix the scope's error prefix, e.g. {@code "items[3]."}
+     */
+    String errorKey(Map<String, Object> scope, String prefix) {
+        String path = isNested() && parent(scope) != NOT_NESTED ? dotted : key;
+        return prefix.isEmpty() ? path : prefix + path;
+    }
+
+    private Object parent(Map<String, Object> scope) {
+        Object current = scope;
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (!(current instanceof Map<?, ?> map) || !(map.get(segments[i]) instanceof Map<?, ?> next)) {
+                return NOT_NESTED;
+            }
+            current = next;
+        }
+        return current instanceof Map<?, ?> ? current : NOT_NESTED;
+    }
+
+    @Override
+    public String toString() {
+        return dotted;
+    }
+}
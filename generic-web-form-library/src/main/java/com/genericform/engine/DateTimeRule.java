@@ -0,0 +1,283 @@
+package com.genericform.engine;
+
+import com.genericform.core.FormComponent;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiled validation rule of a {@code datetime}, {@code day} or
+ * {@code time} component.
+ * <p>
+ * Formatters and date limits are derived once from the component settings
+ * when the {@link ValidationPlan} is compiled, so validating a value only
+ * parses it:
+ * </p>
+ * <ul>
+ * <li>{@code datetime} — ISO-8601 as submitted by Form.io (date, or date-time
+ * with optional offset), falling back to the component's display
+ * {@code format}. {@code datePicker.minDate} / {@code maxDate} are enforced
+ * on the local date when {@code enableTime} is {@code false}, otherwise on
+ * the instant (values without offset are taken as UTC).</li>
+ * <li>{@code day} — {@code MM/dd/yyyy}, or {@code dd/MM/yyyy} with
+ * {@code dayFirst}. Parts left empty by the widget are submitted as
+ * {@code 00} and accepted; complete dates must exist in the calendar and
+ * respect {@code minDate} / {@code maxDate}.</li>
+ * <li>{@code time} — the component's {@code dataFormat} (default
+ * {@code HH:mm:ss}), or ISO {@code HH:mm[:ss]}.</li>
+ * </ul>
+ * <p>
+ * Limits that are not ISO dates (e.g. moment expressions) are ignored.
+ * </p>
+ */
+final class DateTimeRule {
+
+    private enum Kind { DATE, DATE_TIME, DAY, TIME }
+
+    /** ISO date with optional time, offset and zone id, as Form.io submits. */
+    static final DateTimeFormatter ISO = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .optionalStart()
+            .appendLiteral('T')
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .optionalStart().appendOffsetId().optionalEnd()
+            .optionalStart().appendLiteral('[').parseCaseSensitive().appendZoneRegionId().appendLiteral(']')
+            .optionalEnd()
+            .optionalEnd()
+            .toFormatter(Locale.ROOT)
+            .withChronology(IsoChronology.INSTANCE)
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private static final long NO_LIMIT_MIN = Long.MIN_VALUE;
+    private static final long NO_LIMIT_MAX = Long.MAX_VALUE;
+
+    private final Kind kind;
+    private final DateTimeFormatter fallback;
+    private final boolean dayFirst;
+    private final long min;
+    private final long max;
+    private final String minText;
+    private final String maxText;
+
+    private DateTimeRule(Kind kind, DateTimeFormatter fallback, boolean dayFirst,
+            String minText, String maxText) {
+        this.kind = kind;
+        this.fallback = fallback;
+        this.dayFirst = dayFirst;
+        this.minText = minText;
+        this.maxText = maxText;
+        this.min = minText != null ? limit(minText, NO_LIMIT_MIN) : NO_LIMIT_MIN;
+        this.max = maxText != null ? limit(maxText, NO_LIMIT_MAX) : NO_LIMIT_MAX;
+    }
+
+    /**
+     * Compile the rule of a component.
+     *
+     * @param component the component
+     * @param type      its normalized type
+     * @return the rule, or {@code null} if the type has no date/time rule
+     */
+    static DateTimeRule compile(FormComponent component, String type) {
+        Map<String, Object> extras = component.getAdditionalProperties() != null
+                ? component.getAdditionalProperties()
+                : Map.of();
+        return switch (type) {
+            case "datetime" -> {
+                Map<?, ?> picker = extras.get("datePicker") instanceof Map<?, ?> map ? map : Map.of();
+                Kind kind = Boolean.FALSE.equals(extras.get("enableTime")) ? Kind.DATE : Kind.DATE_TIME;
+                yield new DateTimeRule(kind, pattern(extras.get("format"), ResolverStyle.SMART), false,
+                        text(picker.get("minDate")), text(picker.get("maxDate")));
+            }
+            case "day" -> new DateTimeRule(Kind.DAY, null, Boolean.TRUE.equals(extras.get("dayFirst")),
+                    text(extras.get("minDate")), text(extras.get("maxDate")));
+            case "time" -> new DateTimeRule(Kind.TIME, pattern(extras.get("dataFormat"), ResolverStyle.STRICT),
+                    false, null, null);
+            default -> null;
+        };
+    }
+
+    /**
+     * Validate a submitted value.
+     *
+     * @param value the raw, non-blank value
+     * @return the error message, or {@code null} if valid
+     */
+    String check(Object value) {
+        String text = value.toString().trim();
+        return switch (kind) {
+            case DATE, DATE_TIME -> {
+                long epoch = parseDateTime(text);
+                yield epoch == Long.MIN_VALUE ? "A valid date/time is required" : checkRange(epoch);
+            }
+            case DAY -> checkDay(text);
+            case TIME -> isTime(text) ? null : "A valid time is required";
+        };
+    }
+
+    /**
+     * Validate a date already coerced by {@link com.genericform.core.TypedSubmission}.
+     *
+     * @return the error message, or {@code null} if valid
+     */
+    String check(LocalDate date) {
+        return checkRange(kind == Kind.DATE_TIME ? date.toEpochDay() * 86_400_000L : date.toEpochDay());
+    }
+
+    /**
+     * Validate an instant already coerced by {@link com.genericform.core.TypedSubmission}.
+     *
+     * @return the error message, or {@code null} if valid
+     */
+    String check(Instant instant) {
+        return checkRange(kind == Kind.DATE_TIME
+                ? instant.toEpochMilli()
+                : Math.floorDiv(instant.getEpochSecond(), 86_400));
+    }
+
+    // ───────────────────────────── Parsing ────────────────────────────────
+
+    /** The comparable value of a date or date-time, or {@code Long.MIN_VALUE}. */
+    private long parseDateTime(String text) {
+        try {
+            return comparable(ISO.parse(text));
+        } catch (DateTimeParseException e) {
+            if (fallback == null) {
+                return Long.MIN_VALUE;
+            }
+        }
+        try {
+            return comparable(fallback.parse(text));
+        } catch (DateTimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Epoch day (date rules) or epoch milli (date-time rules) of a parsed
+     * value. Date rules use the submitted local date; date-time rules use
+     * the offset if present, else UTC.
+     */
+    private long comparable(TemporalAccessor parsed) {
+        long day = parsed.getLong(ChronoField.EPOCH_DAY);
+        if (kind == Kind.DATE) {
+            return day;
+        }
+        if (parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return parsed.getLong(ChronoField.INSTANT_SECONDS) * 1000 + parsed.get(ChronoField.MILLI_OF_SECOND);
+        }
+        long millisOfDay = parsed.isSupported(ChronoField.MILLI_OF_DAY) ? parsed.getLong(ChronoField.MILLI_OF_DAY) : 0;
+        return day * 86_400_000L + millisOfDay;
+    }
+
+    private String checkRange(long value) {
+        if (value < min) {
+            return "Date must be on or after " + minText;
+        }
+        if (value > max) {
+            return "Date must be on or before " + maxText;
+        }
+        return null;
+    }
+
+    private String checkDay(String text) {
+        int first = text.indexOf('/');
+        int second = first < 0 ? -1 : text.indexOf('/', first + 1);
+        if (second < 0 || text.indexOf('/', second + 1) >= 0) {
+            return "A valid day is required";
+        }
+        int a = parseInt(text, 0, first);
+        int b = parseInt(text, first + 1, second);
+        int year = parseInt(text, second + 1, text.length());
+        int month = dayFirst ? b : a;
+        int day = dayFirst ? a : b;
+        if (month < 0 || month > 12 || day < 0 || day > 31 || year < 0 || year > 9999) {
+            return "A valid day is required";
+        }
+        if (month == 0 || day == 0 || year == 0) {
+            return null; // partial day, some parts hidden or left empty
+        }
+        long epochDay;
+        try {
+            epochDay = LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return "A valid day is required";
+        }
+        return checkRange(epochDay);
+    }
+
+    private boolean isTime(String text) {
+        if (fallback != null) {
+            try {
+                fallback.parse(text);
+                return true;
+            } catch (DateTimeParseException e) {
+                // fall through to ISO
+            }
+        }
+        try {
+            DateTimeFormatter.ISO_LOCAL_TIME.parse(text);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /** Parse a run of 1-4 digits, or {@code -1}. */
+    private static int parseInt(String text, int from, int to) {
+        if (to <= from || to - from > 4) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // ───────────────────────────── Compilation ────────────────────────────
+
+    private long limit(String text, long none) {
+        if (kind == Kind.DAY) {
+            try {
+                return LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text).toEpochDay();
+            } catch (DateTimeParseException e) {
+                return none;
+            }
+        }
+        try {
+            return comparable(ISO.parse(text));
+        } catch (DateTimeParseException e) {
+            return none;
+        }
+    }
+
+    private static DateTimeFormatter pattern(Object format, ResolverStyle style) {
+        if (!(format instanceof String pattern) || pattern.isBlank()) {
+            return null;
+        }
+        try {
+            return DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH).withResolverStyle(style);
+        } catch (IllegalArgumentException e) {
+            return null; // not a Java pattern (e.g. moment tokens): ISO only
+        }
+    }
+
+    private static String text(Object value) {
+        return value instanceof String s && !s.isBlank() ? s.trim() : null;
+    }
+}
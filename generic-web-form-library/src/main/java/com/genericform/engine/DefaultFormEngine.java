@@ -3,23 +3,46 @@ package com.genericform.engine;
 import com.genericform.core.FormEngine;
 import com.genericform.core.FormRepository;
 import com.genericform.core.FormSchema;
+import com.genericform.core.SubmissionContext;
 import com.genericform.core.SubmissionResult;
+import com.genericform.core.SubmissionStage;
+import com.genericform.core.TypedSubmission;
+import com.genericform.core.ValidationMode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Default implementation of {@link FormEngine}.
  * <p>
  * Processing flow:
  * <ol>
- * <li>Load the schema via {@link FormRegistry}</li>
- * <li>Validate input via {@link ValidationEngine}</li>
- * <li>If valid, persist via {@link FormRepository}</li>
- * <li>Return {@link SubmissionResult}</li>
+ * <li>Load the schema (current or pinned version) via {@link FormRegistry}</li>
+ * <li>Normalise: apply the {@link SubmissionStage.Phase#NORMALIZE} stages,
+ * their per-field normalisation in one pass over the inputs</li>
+ * <li>Recompute server-side calculated fields and coerce the fields into
+ * their declared types via {@link ValidationEngine}</li>
+ * <li>Validate the typed submission</li>
+ * <li>If valid, apply the {@link SubmissionStage.Phase#ENRICH} stages</li>
+ * <li>If still valid, persist it via {@link FormRepository}, recording the
+ * schema version</li>
+ * <li>Apply the {@link SubmissionStage.Phase#COMPLETE} stages, also when
+ * an earlier step threw, and return the {@link SubmissionResult} decided
+ * before them</li>
  * </ol>
  * </p>
+ * <p>
+ * All steps share one {@link SubmissionContext}, which records the time
+ * spent in each step (logged at debug level). Without registered stages
+ * the submitted map is used as is; otherwise the context copies it once
+ * and normalisation, calculation and stages rewrite that copy in place.
+ * </p>
  */
 @Slf4j
 @Service
@@ -29,35 +52,211 @@ public class DefaultFormEngine implements FormEngine {
     private final ValidationEngine validationEngine;
     private final FormRepository formRepository;
 
+    /** Host stages per phase, in registration order. */
+    private final List<SubmissionStage> normalizeStages;
+    private final List<SubmissionStage> enrichStages;
+    private final List<SubmissionStage> completeStages;
+
     public DefaultFormEngine(FormRegistry formRegistry,
             ValidationEngine validationEngine,
             FormRepository formRepository) {
+        this(formRegistry, validationEngine, formRepository, List.of());
+    }
+
+    /**
+     * @param stages the host's pipeline stages, in execution order within
+     *               each phase
+     */
+    public DefaultFormEngine(FormRegistry formRegistry,
+            ValidationEngine validationEngine,
+            FormRepository formRepository,
+            List<SubmissionStage> stages) {
         this.formRegistry = formRegistry;
         this.validationEngine = validationEngine;
         this.formRepository = formRepository;
+        this.normalizeStages = stagesOf(stages, SubmissionStage.Phase.NORMALIZE);
+        this.enrichStages = stagesOf(stages, SubmissionStage.Phase.ENRICH);
+        this.completeStages = stagesOf(stages, SubmissionStage.Phase.COMPLETE);
     }
 
     @Override
     public SubmissionResult process(String formId, Map<String, Object> data) {
-        log.debug("Processing form submission: formId={}", formId);
+        return process(formId, null, data);
+    }
+
+    @Override
+    public SubmissionResult process(String formId, String version, Map<String, Object> data) {
+        return process(formId, version, data, ValidationMode.COLLECT_ALL);
+    }
+
+    @Override
+    public SubmissionResult process(String formId, String version, Map<String, Object> data,
+            ValidationMode mode) {
+        log.debug("Processing form submission: formId={}, version={}, mode={}", formId, version, mode);
+
+        // 1. Load schema (current, or the version the client rendered)
+        FormSchema schema = loadSchema(formId, version);
+        ValidationMode validationMode = mode != null ? mode : ValidationMode.COLLECT_ALL;
+        if (normalizeStages.isEmpty() && enrichStages.isEmpty() && completeStages.isEmpty()) {
+            return processDirect(formId, schema, data, validationMode);
+        }
+        SubmissionContext context = new SubmissionContext(formId, schema, validationMode, data);
+        try {
+            runSteps(context);
+        } catch (RuntimeException e) {
+            runComplete(context, e);
+            throw e;
+        }
+        Map<String, String> errors = runComplete(context, null);
+        log.debug("Submission pipeline timings for formId={}: {}", formId, context.getTimings());
+        return result(formId, schema, errors);
+    }
+
+    /**
+     * Run the steps from normalisation to persistence on the context's
+     * own copy of the data, which is normalised, calculated and enriched in
+     * place.
+     */
+    private void runSteps(SubmissionContext context) {
+        FormSchema schema = context.getSchema();
+
+        // 2. Normalise: per-field normalisation in one pass, then whole-submission stages
+        long start = System.nanoTime();
+        if (!normalizeStages.isEmpty()) {
+            validationEngine.normalizeInPlace(schema, context.getData(), normalizeStages);
+            runStages(normalizeStages, context);
+        }
+        start = step(context, "normalize", start);
+
+        if (context.isValid()) {
+            // 3. Recompute calculated fields and coerce once, then validate the typed values
+            TypedSubmission record = validationEngine.coerceInPlace(schema, context.getData());
+            context.setRecord(record);
+            start = step(context, "coerce", start);
+
+            context.getErrors().putAll(validationEngine.validate(schema, record, context.getMode()));
+            start = step(context, "validate", start);
+        }
+
+        if (context.isValid()) {
+            // 4. Enrich, then persist
+            runStages(enrichStages, context);
+            if (!enrichStages.isEmpty()) {
+                requireAddedKeysOnly(context.getRecord());
+            }
+            start = step(context, "enrich", start);
+        }
+        if (context.isValid()) {
+            formRepository.save(context.getFormId(), schema.getVersion(), context.getRecord());
+            step(context, "persist", start);
+        }
+    }
 
-        // 1. Load schema
-        FormSchema schema = formRegistry.get(formId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Form schema not found for formId: " + formId));
+    /**
+     * Run the {@link SubmissionStage.Phase#COMPLETE} stages (auditing), also
+     * after a failed step. They cannot change the outcome: a stage that
+     * throws is logged, and added to the step's failure if there is one, and
+     * the remaining stages still run.
+     *
+     * @param failure the exception thrown by a step, or {@code null}
+     * @return the errors as they were before the stages ran
+     */
+    private Map<String, String> runComplete(SubmissionContext context, RuntimeException failure) {
+        if (completeStages.isEmpty()) {
+            return context.getErrors();
+        }
+        Map<String, String> errors = new LinkedHashMap<>(context.getErrors());
+        long start = System.nanoTime();
+        for (SubmissionStage stage : completeStages) {
+            try {
+                stage.process(context);
+            } catch (RuntimeException e) {
+                log.error("COMPLETE stage {} failed for formId={}", stage.getClass().getName(),
+                        context.getFormId(), e);
+                if (failure != null) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        step(context, "complete", start);
+        return errors;
+    }
+
+    /**
+     * Enrichment is not validated, so it may only add keys: a field the
+     * schema declares keeps the value it was coerced and validated with.
+     */
+    private static void requireAddedKeysOnly(TypedSubmission record) {
+        String replaced = record.findReplacedKey();
+        if (replaced != null) {
+            throw new IllegalStateException("ENRICH stages may only add keys, but the coerced field '"
+                    + replaced + "' was changed");
+        }
+    }
+
+    /** The flow without host stages, avoiding the context and the copy of the data. */
+    private SubmissionResult processDirect(String formId, FormSchema schema, Map<String, Object> data,
+            ValidationMode mode) {
+        // 2. Recompute calculated fields and coerce once, then validate the typed values
+        TypedSubmission record = validationEngine.coerce(schema, data);
+        Map<String, String> errors = validationEngine.validate(schema, record, mode);
 
-        // 2. Validate
-        Map<String, String> errors = validationEngine.validate(schema, data);
+        // 3. Persist
+        if (errors.isEmpty()) {
+            formRepository.save(formId, schema.getVersion(), record);
+        }
+        return result(formId, schema, errors);
+    }
 
+    private SubmissionResult result(String formId, FormSchema schema, Map<String, String> errors) {
         if (!errors.isEmpty()) {
             log.info("Validation failed for formId={}: {} error(s)", formId, errors.size());
             return SubmissionResult.failure(errors);
         }
+        log.info("Form submission saved: formId={}, version={}", formId, schema.getVersion());
+        return SubmissionResult.success();
+    }
 
-        // 3. Persist
-        formRepository.save(formId, data);
-        log.info("Form submission saved: formId={}", formId);
+    private static void runStages(List<SubmissionStage> stages, SubmissionContext context) {
+        for (SubmissionStage stage : stages) {
+            stage.process(context);
+        }
+    }
 
-        return SubmissionResult.success();
+    /** Record the time of a step and return the start of the next one. */
+    private static long step(SubmissionContext context, String name, long start) {
+        long now = System.nanoTime();
+        context.recordTiming(name, now - start);
+        return now;
+    }
+
+    private static List<SubmissionStage> stagesOf(List<SubmissionStage> stages, SubmissionStage.Phase phase) {
+        List<SubmissionStage> selected = new ArrayList<>();
+        for (SubmissionStage stage : stages) {
+            if (stage.phase() == phase) {
+                selected.add(stage);
+            }
+        }
+        return List.copyOf(selected);
+    }
+
+    @Override
+    public SubmissionResult validateFields(String formId, String version, Map<String, Object> data,
+            Set<String> changedKeys) {
+        FormSchema schema = loadSchema(formId, version);
+        Map<String, String> errors = validationEngine.validateFields(schema, data, changedKeys);
+        return errors.isEmpty() ? SubmissionResult.success() : SubmissionResult.failure(errors);
+    }
+
+    @Override
+    public Optional<String> currentVersion(String formId) {
+        return formRegistry.get(formId).map(FormSchema::getVersion);
+    }
+
+    private FormSchema loadSchema(String formId, String version) {
+        return (version == null ? formRegistry.get(formId) : formRegistry.get(formId, version))
+                .orElseThrow(() -> new IllegalArgumentException(version == null
+                        ? "Form schema not found for formId: " + formId
+                        : "Form schema not found for formId: " + formId + ", version: " + version));
     }
 }
@@ -1,10 +1,15 @@
 package com.genericform.engine;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.genericform.core.FormComponent;
 import com.genericform.core.FormColumn;
 import com.genericform.core.FormSchema;
 import com.genericform.core.FormSchemaManager;
+import com.genericform.core.SchemaComplexityReport;
 import com.genericform.core.SchemaRepository;
+import com.genericform.core.SchemaSummary;
+import com.genericform.core.SchemaSummaryPage;
+import com.genericform.core.SerializedSchema;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -14,20 +19,39 @@ import java.util.Optional;
 /**
  * Default implementation of {@link FormSchemaManager}.
  * <p>
- * Validates schema structure before persisting and evicts the
- * {@link FormRegistry} cache on update/delete to ensure consistency.
+ * Validates schema structure before persisting. Updates publish a new
+ * snapshot to the {@link FormRegistry} (copy-on-write) and deletes evict
+ * it; the {@link SerializedSchemaCache} entry is invalidated on both.
  * </p>
  */
 @Slf4j
 @Service
 public class DefaultFormSchemaManager implements FormSchemaManager {
 
+    /** Upper bound for {@link #listSummaries} page sizes. */
+    static final int MAX_PAGE_SIZE = 500;
+
     private final SchemaRepository schemaRepository;
     private final FormRegistry formRegistry;
+    private final SerializedSchemaCache serializedCache;
+    private final SchemaComplexityAnalyzer complexityAnalyzer = new SchemaComplexityAnalyzer();
+    private final SchemaComplexityBudget complexityBudget;
 
     public DefaultFormSchemaManager(SchemaRepository schemaRepository, FormRegistry formRegistry) {
+        this(schemaRepository, formRegistry, new ObjectMapper());
+    }
+
+    public DefaultFormSchemaManager(SchemaRepository schemaRepository, FormRegistry formRegistry,
+            ObjectMapper objectMapper) {
+        this(schemaRepository, formRegistry, objectMapper, SchemaComplexityBudget.unlimited());
+    }
+
+    public DefaultFormSchemaManager(SchemaRepository schemaRepository, FormRegistry formRegistry,
+            ObjectMapper objectMapper, SchemaComplexityBudget complexityBudget) {
         this.schemaRepository = schemaRepository;
         this.formRegistry = formRegistry;
+        this.serializedCache = new SerializedSchemaCache(objectMapper);
+        this.complexityBudget = complexityBudget;
     }
 
     @Override
@@ -41,6 +65,7 @@ public class DefaultFormSchemaManager implements FormSchemaManager {
         }
 
         schemaRepository.save(schema);
+        serializedCache.invalidate(schema.getFormId());
         log.info("Created form schema: formId={}, version={}", schema.getFormId(), schema.getVersion());
         return schema;
     }
@@ -56,8 +81,9 @@ public class DefaultFormSchemaManager implements FormSchemaManager {
         }
 
         schemaRepository.save(schema);
-        formRegistry.evict(schema.getFormId());
-        log.info("Updated form schema: formId={}, version={} (cache evicted)",
+        formRegistry.refresh(schema.getFormId());
+        serializedCache.invalidate(schema.getFormId());
+        log.info("Updated form schema: formId={}, version={} (cache refreshed)",
                 schema.getFormId(), schema.getVersion());
         return schema;
     }
@@ -67,11 +93,51 @@ public class DefaultFormSchemaManager implements FormSchemaManager {
         return schemaRepository.findById(formId);
     }
 
+    @Override
+    public Optional<FormSchema> getSchema(String formId, String version) {
+        return schemaRepository.findVersion(formId, version);
+    }
+
+    @Override
+    public List<String> listVersions(String formId) {
+        return schemaRepository.findVersions(formId);
+    }
+
+    @Override
+    public Optional<SerializedSchema> getSerializedSchema(String formId) {
+        return serializedCache.get(formId, schemaRepository::findById);
+    }
+
+    @Override
+    public Optional<SerializedSchema> getSerializedSchema(String formId, String version) {
+        if (version == null) {
+            return getSerializedSchema(formId);
+        }
+        return serializedCache.get(formId, version, schemaRepository::findVersion);
+    }
+
     @Override
     public List<FormSchema> listSchemas() {
         return schemaRepository.findAll();
     }
 
+    @Override
+    public SchemaSummaryPage listSummaries(String afterFormId, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        String after = afterFormId == null || afterFormId.isBlank() ? null : afterFormId;
+
+        // Fetch one extra row to know whether another page follows
+        List<SchemaSummary> rows = schemaRepository.findSummaries(after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new SchemaSummaryPage(rows, null);
+        }
+        List<SchemaSummary> page = rows.subList(0, pageSize);
+        return new SchemaSummaryPage(List.copyOf(page), page.get(pageSize - 1).getFormId());
+    }
+
     @Override
     public void deleteSchema(String formId) {
         if (!schemaRepository.existsById(formId)) {
@@ -80,6 +146,7 @@ public class DefaultFormSchemaManager implements FormSchemaManager {
 
         schemaRepository.deleteById(formId);
         formRegistry.evict(formId);
+        serializedCache.invalidate(formId);
         log.info("Deleted form schema: formId={} (cache evicted)", formId);
     }
 
@@ -100,6 +167,20 @@ public class DefaultFormSchemaManager implements FormSchemaManager {
         }
 
         validateComponents(schema.getComponents());
+        enforceComplexityBudget(schema);
+    }
+
+    /**
+     * Reject schemas whose static complexity exceeds the configured budget.
+     */
+    private void enforceComplexityBudget(FormSchema schema) {
+        SchemaComplexityReport report = complexityAnalyzer.analyze(schema);
+        List<String> violations = complexityBudget.violations(report);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException("Schema " + schema.getFormId()
+                    + " exceeds complexity budget: " + String.join("; ", violations));
+        }
+        log.debug("Schema complexity: {}", report);
     }
 
     /**
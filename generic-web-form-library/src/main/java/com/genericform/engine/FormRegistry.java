@@ -5,24 +5,45 @@ import com.genericform.core.SchemaProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Registry that caches {@link FormSchema} instances loaded via
  * {@link SchemaProvider}.
  * <p>
- * Schemas are cached in a {@link ConcurrentHashMap} keyed by {@code formId}.
- * Supports versioned lookup — e.g. a schema file named {@code survey_v1.json}
- * would be loaded as {@code formId = "survey_v1"}.
+ * Schemas are cached as immutable {@link SchemaSnapshot}s in a
+ * {@link ConcurrentHashMap} keyed by {@code formId}. Lookups are lock-free
+ * and return the frozen schema itself, never a copy. Reloads publish a new
+ * snapshot copy-on-write (sharing unchanged subtrees with the previous one)
+ * and swap it in atomically, so in-flight validations keep the snapshot
+ * they started with.
+ * </p>
+ * <p>
+ * Besides the current snapshot per {@code formId}, the registry keeps
+ * snapshots of older versions that are still in use, keyed by
+ * {@code formId} and then version. When a new version is published the previous
+ * one stays cached, so clients that rendered it can keep submitting
+ * without a cache miss. Up to {@value #MAX_PINNED_VERSIONS} older
+ * versions are kept per form; the least recently published is dropped
+ * first.
  * </p>
  */
 @Slf4j
 @Component
 public class FormRegistry {
 
+    /** Older versions kept per form in addition to the current one. */
+    static final int MAX_PINNED_VERSIONS = 8;
+
     private final SchemaProvider schemaProvider;
-    private final ConcurrentHashMap<String, FormSchema> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SchemaSnapshot> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, SchemaSnapshot>> versions =
+            new ConcurrentHashMap<>();
 
     public FormRegistry(SchemaProvider schemaProvider) {
         this.schemaProvider = schemaProvider;
@@ -30,31 +51,199 @@ public class FormRegistry {
 
     /**
      * Retrieve a schema by its {@code formId}, loading and caching on first access.
+     * <p>
+     * The returned schema is the published, read-only snapshot and must not
+     * be modified.
+     * </p>
      *
      * @param formId the form identifier (e.g. "survey", "survey_v1")
      * @return the cached schema, or empty if the provider cannot find it
      */
     public Optional<FormSchema> get(String formId) {
-        FormSchema cached = cache.get(formId);
+        return getSnapshot(formId).map(SchemaSnapshot::getSchema);
+    }
+
+    /**
+     * Retrieve the published snapshot for a {@code formId}, loading and
+     * caching on first access.
+     *
+     * @param formId the form identifier
+     * @return the snapshot, or empty if the provider cannot find the schema
+     */
+    public Optional<SchemaSnapshot> getSnapshot(String formId) {
+        SchemaSnapshot cached = cache.get(formId);
         if (cached != null) {
             return Optional.of(cached);
         }
 
-        Optional<FormSchema> loaded = schemaProvider.load(formId);
-        loaded.ifPresent(schema -> {
-            cache.put(formId, schema);
-            log.info("Cached form schema: formId={}, version={}", formId, schema.getVersion());
+        return schemaProvider.load(formId).map(schema -> {
+            SchemaSnapshot snapshot = cache.computeIfAbsent(formId, id -> SchemaSnapshot.publish(id, schema, null));
+            log.info("Cached form schema: formId={}, version={}", formId, snapshot.getVersion());
+            return snapshot;
+        });
+    }
+
+    /**
+     * Retrieve a specific version of a schema.
+     *
+     * @param formId  the form identifier
+     * @param version the schema version
+     * @return the schema, or empty if the provider cannot find that version
+     */
+    public Optional<FormSchema> get(String formId, String version) {
+        return getSnapshot(formId, version).map(SchemaSnapshot::getSchema);
+    }
+
+    /**
+     * Retrieve the snapshot of a specific schema version.
+     * <p>
+     * The current snapshot is returned if its version matches; otherwise
+     * the version is served from (or loaded into) the pinned-version cache.
+     * A {@code null} version means the current one.
+     * </p>
+     *
+     * @param formId  the form identifier
+     * @param version the schema version, or {@code null}
+     * @return the snapshot, or empty if the provider cannot find that version
+     */
+    public Optional<SchemaSnapshot> getSnapshot(String formId, String version) {
+        if (version == null) {
+            return getSnapshot(formId);
+        }
+        SchemaSnapshot current = cache.get(formId);
+        if (current != null && version.equals(current.getVersion())) {
+            return Optional.of(current);
+        }
+        Map<String, SchemaSnapshot> forForm = versions.get(formId);
+        SchemaSnapshot pinned = forForm != null ? forForm.get(version) : null;
+        if (pinned != null) {
+            return Optional.of(pinned);
+        }
+
+        return schemaProvider.loadVersion(formId, version).map(schema -> {
+            SchemaSnapshot snapshot = pinnedVersions(formId).computeIfAbsent(version,
+                    v -> SchemaSnapshot.publish(formId, schema, current));
+            trimVersions(formId);
+            log.info("Cached form schema version: formId={}, version={}", formId, version);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Reload a schema from the provider and atomically replace the cached
+     * entry.
+     * <p>
+     * Readers that already obtained the previous instance keep validating
+     * against it; subsequent lookups see the new one. If the provider can
+     * no longer load the schema (e.g. a half-written file), the existing
+     * entry is kept.
+     * </p>
+     *
+     * @param formId the form identifier to reload
+     * @return the freshly loaded schema, or empty if loading failed
+     */
+    public Optional<FormSchema> reload(String formId) {
+        return schemaProvider.load(formId).map(schema -> publish(formId, schema).getSchema());
+    }
+
+    /**
+     * Refresh a cached schema after it has been changed in its source.
+     * <p>
+     * If the schema is cached, the new version is published copy-on-write;
+     * if it can no longer be loaded, the entry is evicted. Schemas that are
+     * not cached are left alone and loaded on their first lookup.
+     * </p>
+     *
+     * @param formId the form identifier to refresh
+     */
+    public void refresh(String formId) {
+        if (!cache.containsKey(formId)) {
+            return;
+        }
+        if (reload(formId).isEmpty()) {
+            evict(formId);
+        }
+    }
+
+    /**
+     * Freeze a schema and publish it as the current snapshot for
+     * {@code formId}, replacing the previous one atomically.
+     */
+    private SchemaSnapshot publish(String formId, FormSchema schema) {
+        SchemaSnapshot[] replaced = new SchemaSnapshot[1];
+        SchemaSnapshot snapshot = cache.compute(formId, (id, previous) -> {
+            replaced[0] = previous;
+            return SchemaSnapshot.publish(id, schema, previous);
         });
-        return loaded;
+        Map<String, SchemaSnapshot> forForm = versions.get(formId);
+        if (forForm != null && snapshot.getVersion() != null) {
+            forForm.remove(snapshot.getVersion());
+        }
+        SchemaSnapshot previous = replaced[0];
+        if (previous != null && previous.getVersion() != null
+                && !previous.getVersion().equals(snapshot.getVersion())) {
+            // Keep the outgoing version for clients still on it
+            pinnedVersions(formId).putIfAbsent(previous.getVersion(), previous);
+            trimVersions(formId);
+        }
+        log.info("Reloaded form schema: formId={}, version={}, revision={}",
+                formId, snapshot.getVersion(), snapshot.getRevision());
+        return snapshot;
+    }
+
+    /**
+     * The pinned older versions of a form, by version.
+     */
+    private ConcurrentHashMap<String, SchemaSnapshot> pinnedVersions(String formId) {
+        return versions.computeIfAbsent(formId, id -> new ConcurrentHashMap<>(4));
+    }
+
+    /**
+     * Drop the least recently published pinned versions of a form beyond
+     * {@link #MAX_PINNED_VERSIONS}. Only that form's versions are scanned.
+     */
+    private void trimVersions(String formId) {
+        ConcurrentHashMap<String, SchemaSnapshot> pinned = versions.get(formId);
+        if (pinned == null || pinned.size() <= MAX_PINNED_VERSIONS) {
+            return;
+        }
+        List<SchemaSnapshot> oldestFirst = pinned.values().stream()
+                .sorted(Comparator.comparing(SchemaSnapshot::getPublishedAt)
+                        .thenComparingLong(SchemaSnapshot::getRevision))
+                .toList();
+        for (int i = 0; i < oldestFirst.size() - MAX_PINNED_VERSIONS; i++) {
+            pinned.remove(oldestFirst.get(i).getVersion(), oldestFirst.get(i));
+        }
+    }
+
+    /**
+     * Check whether a schema is currently cached.
+     *
+     * @param formId the form identifier
+     * @return {@code true} if the schema is in the cache
+     */
+    public boolean isCached(String formId) {
+        return cache.containsKey(formId);
+    }
+
+    /**
+     * Snapshot of the identifiers of all currently cached schemas.
+     *
+     * @return the cached form identifiers
+     */
+    public Set<String> cachedFormIds() {
+        return Set.copyOf(cache.keySet());
     }
 
     /**
-     * Evict a specific schema from the cache (useful for hot-reload scenarios).
+     * Evict a specific schema, including its pinned older versions, from the
+     * cache (useful for hot-reload scenarios).
      *
      * @param formId the form identifier to evict
      */
     public void evict(String formId) {
         cache.remove(formId);
+        versions.remove(formId);
         log.info("Evicted form schema from cache: formId={}", formId);
     }
 
@@ -63,6 +252,7 @@ public class FormRegistry {
      */
     public void clearCache() {
         cache.clear();
+        versions.clear();
         log.info("Cleared all cached form schemas");
     }
 }
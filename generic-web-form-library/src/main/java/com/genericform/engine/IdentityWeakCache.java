@@ -0,0 +1,92 @@
+package com.genericform.engine;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache keyed by object <em>identity</em> that does not keep
+ * its keys alive.
+ * <p>
+ * Used to attach derived, compiled data to published (immutable) schema
+ * instances: equality of {@code @Data} model objects is a deep comparison,
+ * so a regular map would be both slow and wrong for this purpose, and a
+ * strong map would leak every schema version ever validated. Entries are
+ * dropped once their key has been garbage collected. Values must not
+ * reference their key.
+ * </p>
+ */
+final class IdentityWeakCache<K, V> {
+
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+    private final ConcurrentHashMap<IdentityRef<K>, V> map = new ConcurrentHashMap<>();
+
+    /** Return the cached value for {@code key}, computing it on first access. */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> compute) {
+        expunge();
+        V value = map.get(new IdentityRef<>(key, null));
+        if (value != null) {
+            return value;
+        }
+        return map.computeIfAbsent(new IdentityRef<>(key, queue), ref -> compute.apply(key));
+    }
+
+    /** Return the cached value for {@code key}, or {@code null}. */
+    V get(K key) {
+        expunge();
+        return map.get(new IdentityRef<>(key, null));
+    }
+
+    /** Cache {@code value} for {@code key}, replacing any previous value. */
+    void put(K key, V value) {
+        expunge();
+        map.put(new IdentityRef<>(key, queue), value);
+    }
+
+    /** Check whether a value is cached for {@code key}. */
+    boolean containsKey(K key) {
+        return map.containsKey(new IdentityRef<>(key, null));
+    }
+
+    /** Number of live entries (for tests and diagnostics). */
+    int size() {
+        expunge();
+        return map.size();
+    }
+
+    private void expunge() {
+        Reference<? extends K> ref;
+        while ((ref = queue.poll()) != null) {
+            map.remove(ref);
+        }
+    }
+
+    private static final class IdentityRef<K> extends WeakReference<K> {
+
+        private final int hash;
+
+        IdentityRef(K referent, ReferenceQueue<K> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof IdentityRef<?> ref)) {
+                return false;
+            }
+            Object referent = get();
+            return referent != null && referent == ref.get();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.genericform.engine;
+
+/**
+ * Compiled Form.io {@code inputMask}, e.g. {@code "(999) 999-9999"}.
+ * <p>
+ * Mask characters follow Form.io: {@code 9} a digit, {@code A} a letter,
+ * {@code a} a lower-case letter, {@code *} a letter or digit; any other
+ * character must appear literally. The mask is compiled once per
+ * {@link ValidationPlan} into one character class per position, so a
+ * value is checked in a single pass, without regex backtracking or
+ * allocation, and a mismatch is reported with its exact position.
+ * </p>
+ */
+final class InputMask {
+
+    private static final byte LITERAL = 0;
+    private static final byte DIGIT = 1;
+    private static final byte LETTER = 2;
+    private static final byte LOWER = 3;
+    private static final byte ALPHANUMERIC = 4;
+
+    private final String mask;
+    private final byte[] classes;
+
+    private InputMask(String mask) {
+        this.mask = mask;
+        this.classes = new byte[mask.length()];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = switch (mask.charAt(i)) {
+                case '9' -> DIGIT;
+                case 'A' -> LETTER;
+                case 'a' -> LOWER;
+                case '*' -> ALPHANUMERIC;
+                default -> LITERAL;
+            };
+        }
+    }
+
+    /**
+     * Compile a mask.
+     *
+     * @param mask the {@code inputMask} setting (may be {@code null})
+     * @return the compiled mask, or {@code null} if none is set
+     */
+    static InputMask compile(String mask) {
+        return mask != null && !mask.isEmpty() ? new InputMask(mask) : null;
+    }
+
+    /**
+     * Find the first position where a value deviates from the mask.
+     *
+     * @param value the submitted value
+     * @return the 0-based index of the first mismatch (the value's length
+     *         if it is too short, the mask's length if too long), or
+     *         {@code -1} if the value matches
+     */
+    int mismatch(CharSequence value) {
+        int length = Math.min(value.length(), classes.length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            boolean ok = switch (classes[i]) {
+                case DIGIT -> c >= '0' && c <= '9';
+                case LETTER -> c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+                case LOWER -> c >= 'a' && c <= 'z';
+                case ALPHANUMERIC -> c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+                default -> c == mask.charAt(i);
+            };
+            if (!ok) {
+                return i;
+            }
+        }
+        return value.length() == classes.length ? -1 : length;
+    }
+
+    @Override
+    public String toString() {
+        return mask;
+    }
+}
@@ -8,10 +8,14 @@ import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.io.IOAccess;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,7 +37,8 @@ import java.util.Map;
  * <ul>
  * <li>{@code input} — the value of the current field</li>
  * <li>{@code data} — the full flat submission data (all fields)</li>
- * <li>{@code row} — same as {@code data} for flat forms</li>
+ * <li>{@code row} — same as {@code data} for flat forms; the row's data
+ * for editgrid / datagrid children (see {@link #evaluateRows})</li>
  * <li>{@code component} — component metadata (key, type, label)</li>
  * </ul>
  *
@@ -182,6 +187,246 @@ public class JavaScriptValidationEngine {
         }
     }
 
+    /**
+     * Evaluate a batch of Form.io {@code customConditional} scripts against
+     * the same submission data.
+     * <p>
+     * All scripts run in one context with the data parsed once, instead of
+     * one context per component. Each script runs in its own function scope
+     * with {@code data} and {@code row} bound to a deep-frozen copy, and
+     * globals it creates are deleted afterwards, so one script cannot
+     * change what the next one sees. A script must set {@code show}; one
+     * that fails leaves its component visible so it is still validated.
+     * </p>
+     *
+     * @param scripts the conditional scripts
+     * @param data    the full flat submission data
+     * @return visibility per script, in the same order
+     */
+    public boolean[] evaluateConditionals(List<String> scripts, Map<String, Object> data) {
+        boolean[] visible = new boolean[scripts.size()];
+        Arrays.fill(visible, true);
+        if (scripts.isEmpty()) {
+            return visible;
+        }
+
+        try (Context context = createSandboxedContext()) {
+            String dataJson = objectMapper.writeValueAsString(data != null ? data : Map.of());
+            // Non-writable globals: a deep-frozen copy of the data, the
+            // names of the built-in globals, and a reset that deletes any
+            // global a script created (e.g. by assigning an undeclared name)
+            context.eval(JS_LANGUAGE,
+                    "Object.defineProperty(globalThis, '__data', { value: (function freeze(o) {" +
+                            "  if (o !== null && typeof o === 'object') {" +
+                            "    Object.values(o).forEach(freeze); Object.freeze(o); }" +
+                            "  return o; })(JSON.parse('" + escapeForJsString(dataJson) + "')) });" +
+                            "Object.defineProperty(globalThis, '__globals', {" +
+                            "  value: new Set(Object.getOwnPropertyNames(globalThis)" +
+                            "    .concat(['__globals', '__reset'])) });" +
+                            "Object.defineProperty(globalThis, '__reset', { value: function() {" +
+                            "  Object.getOwnPropertyNames(globalThis).forEach(function(name) {" +
+                            "    if (!__globals.has(name)) { delete globalThis[name]; } }); } });");
+
+            for (int i = 0; i < scripts.size(); i++) {
+                try {
+                    Value show = context.eval(JS_LANGUAGE,
+                            "(function() { try { return (function(data, row) { var show = true;\n" + scripts.get(i)
+                                    + "\n; return show; })(__data, __data); } finally { __reset(); } })()");
+                    visible[i] = show == null || show.isNull()
+                            || (show.isBoolean() ? show.asBoolean() : !"false".equals(show.toString()));
+                } catch (PolyglotException e) {
+                    log.warn("Custom conditional script error: {}", e.getMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize data for JS conditionals", e);
+        }
+        return visible;
+    }
+
+    /**
+     * Evaluate Form.io {@code calculateValue} scripts in order against the
+     * same submission data.
+     * <p>
+     * All scripts run in one context with {@code data} and {@code row}
+     * bound once. Each script runs in its own function scope with
+     * {@code value} initialised to the field's current value, and the value
+     * it leaves is written back into {@code data} before the next script
+     * runs, so later calculations see earlier results. A script that fails
+     * clears the field's value to {@code null}, so the submitted value is
+     * never trusted.
+     * </p>
+     *
+     * @param scripts the calculation scripts, in evaluation order
+     * @param paths   per script, the dotted data path of its field (read
+     *                flat when the enclosing container objects are absent)
+     * @param data    the full submission data
+     * @return per script, the field's resulting value as parsed from JSON
+     *         (empty if the data could not be serialised)
+     */
+    public List<Object> evaluateCalculations(List<String> scripts, List<String> paths, Map<String, Object> data) {
+        if (scripts.isEmpty()) {
+            return List.of();
+        }
+
+        try (Context context = createSandboxedContext()) {
+            String dataJson = objectMapper.writeValueAsString(data != null ? data : Map.of());
+            context.eval(JS_LANGUAGE,
+                    "var data = JSON.parse('" + escapeForJsString(dataJson) + "');" +
+                            "var row = data;" +
+                            "function __scope(path) { var o = data;" +
+                            "  for (var i = 0; i < path.length - 1; i++) { var n = o[path[i]];" +
+                            "    if (n === null || typeof n !== 'object' || Array.isArray(n)) return data; o = n; }" +
+                            "  return o; }" +
+                            "function __get(path) { var v = __scope(path)[path[path.length - 1]];" +
+                            "  return JSON.stringify(v === undefined ? null : v); }" +
+                            "function __calc(path, calculate) {" +
+                            "  var scope = __scope(path), key = path[path.length - 1];" +
+                            "  scope[key] = calculate(scope[key]); return __get(path); }" +
+                            "function __clear(path) { __scope(path)[path[path.length - 1]] = null; return 'null'; }");
+
+            List<Object> values = new ArrayList<>(scripts.size());
+            for (int i = 0; i < scripts.size(); i++) {
+                String path = objectMapper.writeValueAsString(paths.get(i).split("\\."));
+                Value json;
+                try {
+                    json = context.eval(JS_LANGUAGE, "__calc(" + path + ", function(value) {\n"
+                            + scripts.get(i) + "\n; return value; })");
+                } catch (PolyglotException e) {
+                    log.warn("Calculated value script error: {}", e.getMessage());
+                    json = context.eval(JS_LANGUAGE, "__clear(" + path + ")");
+                }
+                values.add(objectMapper.readValue(json.asString(), Object.class));
+            }
+            return values;
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize data for JS calculations", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Evaluate the custom validation scripts of grid child components over
+     * many rows at once.
+     * <p>
+     * All rows are handled in one context: {@code data} and the rows are
+     * bound once, and each script is wrapped into a function that is
+     * invoked per row with {@code input}, {@code row} (that row's data) and
+     * {@code rowIndex}. This replaces one context and one full payload
+     * serialisation per row and cell. The validation engine passes the
+     * wrapped {@link Source}s held by its compiled plan, so they live
+     * exactly as long as the schema; this overload wraps them per call.
+     * </p>
+     *
+     * @param components child components with a {@code validate.custom} script
+     * @param rows       the row data
+     * @param inputs     per component and row, the component's value
+     * @param mask       per component and row, whether the script should run
+     * @param data       the full flat submission data
+     * @return per component and row, the error message or {@code null}
+     */
+    public String[][] evaluateRows(List<FormComponent> components, List<Map<String, Object>> rows,
+            Object[][] inputs, boolean[][] mask, Map<String, Object> data) {
+        List<Source> sources = components.stream()
+                .map(component -> rowScript(component.getValidate().getCustom()))
+                .toList();
+        return evaluateRows(components, sources, rows, inputs, mask, data);
+    }
+
+    /**
+     * {@link #evaluateRows(List, List, Object[][], boolean[][], Map)} with
+     * the scripts already wrapped by {@link #rowScript}.
+     */
+    String[][] evaluateRows(List<FormComponent> components, List<Source> sources, List<Map<String, Object>> rows,
+            Object[][] inputs, boolean[][] mask, Map<String, Object> data) {
+        String[][] results = new String[components.size()][];
+        for (int c = 0; c < components.size(); c++) {
+            results[c] = new String[rows.size()];
+        }
+        if (components.isEmpty() || rows.isEmpty()) {
+            return results;
+        }
+
+        try (Context context = createSandboxedContext()) {
+            context.eval(JS_LANGUAGE,
+                    "var data = JSON.parse('" + escapeForJsString(
+                            objectMapper.writeValueAsString(data != null ? data : Map.of())) + "');");
+            Value rowValues = context.eval(JS_LANGUAGE,
+                    "JSON.parse('" + escapeForJsString(objectMapper.writeValueAsString(rows)) + "')");
+
+            for (int c = 0; c < components.size(); c++) {
+                FormComponent component = components.get(c);
+                try {
+                    Value meta = context.eval(JS_LANGUAGE, "JSON.parse('" + escapeForJsString(
+                            objectMapper.writeValueAsString(componentMetadata(component))) + "')");
+                    Value inputValues = context.eval(JS_LANGUAGE,
+                            "JSON.parse('" + escapeForJsString(objectMapper.writeValueAsString(inputs[c])) + "')");
+                    Value maskValue = context.eval(JS_LANGUAGE,
+                            "JSON.parse('" + objectMapper.writeValueAsString(mask[c]) + "')");
+                    Value rowFunction = context.eval(sources.get(c));
+                    Value out = rowFunction.execute(rowValues, inputValues, maskValue, meta);
+                    for (int r = 0; r < rows.size(); r++) {
+                        Value error = out.getArrayElement(r);
+                        results[c][r] = error.isNull() ? null : error.asString();
+                    }
+                } catch (PolyglotException e) {
+                    log.warn("Custom validation script error: {}", e.getMessage());
+                    String message = e.isCancelled() || e.isResourceExhausted()
+                            ? "Custom validation script execution timed out"
+                            : "Custom validation script error: " + e.getMessage();
+                    for (int r = 0; r < rows.size(); r++) {
+                        results[c][r] = mask[c][r] ? message : null;
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize data for JS validation", e);
+            for (int c = 0; c < components.size(); c++) {
+                for (int r = 0; r < rows.size(); r++) {
+                    results[c][r] = mask[c][r] ? "Custom validation error: failed to serialize data" : null;
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Wrap a custom validation script into a function over all rows that
+     * applies the same {@code valid} contract as {@link #evaluate}.
+     */
+    static Source rowScript(String script) {
+        String code = "(function(rows, inputs, mask, component) {\n"
+                + "  var check = function(input, row, rowIndex) { var valid = true;\n"
+                + script + "\n"
+                + "  ; return valid; };\n"
+                + "  var out = new Array(rows.length);\n"
+                + "  for (var i = 0; i < rows.length; i++) {\n"
+                + "    if (!mask[i]) { out[i] = null; continue; }\n"
+                + "    var row = rows[i];\n"
+                + "    try {\n"
+                + "      var valid = check(inputs[i], row, i);\n"
+                + "      if (valid === null || valid === undefined) out[i] = \"Custom validation script did not set 'valid'\";\n"
+                + "      else if (valid === true) out[i] = null;\n"
+                + "      else if (valid === false) out[i] = 'Custom validation failed';\n"
+                + "      else if (typeof valid === 'string') out[i] = valid.toLowerCase() === 'true' ? null : valid;\n"
+                + "      else if (typeof valid === 'number') out[i] = valid !== 0 ? null : 'Custom validation failed';\n"
+                + "      else out[i] = null;\n"
+                + "    } catch (e) {\n"
+                + "      out[i] = 'Custom validation script error: ' + e;\n"
+                + "    }\n"
+                + "  }\n"
+                + "  return out;\n"
+                + "})";
+        return Source.create(JS_LANGUAGE, code);
+    }
+
+    private static Map<String, String> componentMetadata(FormComponent component) {
+        return Map.of(
+                "key", component.getKey() != null ? component.getKey() : "",
+                "type", component.getType() != null ? component.getType() : "",
+                "label", component.getLabel() != null ? component.getLabel() : "");
+    }
+
     /**
      * Create a sandboxed GraalVM JS context with no host access.
      */
@@ -0,0 +1,107 @@
+package com.genericform.engine;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.genericform.core.FormSchema;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads and writes schema documents in text JSON or binary
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>.
+ * <p>
+ * Smile is Jackson's binary JSON encoding: it maps 1:1 onto the JSON data
+ * model, so {@code additionalProperties} round-trip losslessly, while
+ * back-referenced field names and typed numbers make it smaller and
+ * faster to parse than text. Reads detect the format from the Smile
+ * header ({@code ":)\n"}), so stores may hold a mix of both encodings.
+ * </p>
+ */
+public class SchemaCodec {
+
+    /** First three bytes of every Smile document written with a header. */
+    private static final byte[] SMILE_HEADER = { ':', ')', '\n' };
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+
+    /**
+     * @param jsonMapper the text JSON mapper; its configuration and modules
+     *                   are copied to the Smile mapper
+     */
+    public SchemaCodec(ObjectMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = jsonMapper.copyWith(new SmileFactory());
+    }
+
+    /**
+     * Check whether the content starts with a Smile header.
+     *
+     * @param content the encoded document
+     * @return {@code true} for Smile, {@code false} for text JSON
+     */
+    public static boolean isSmile(byte[] content) {
+        if (content == null || content.length < SMILE_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (content[i] != SMILE_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode a {@link FormSchema} from JSON or Smile content.
+     */
+    public FormSchema readSchema(byte[] content) throws IOException {
+        return read(content, FormSchema.class);
+    }
+
+    /**
+     * Decode a value from JSON or Smile content.
+     */
+    public <T> T read(byte[] content, Class<T> type) throws IOException {
+        return mapperFor(content).readValue(content, type);
+    }
+
+    /**
+     * Decode a generic value from JSON or Smile content.
+     */
+    public <T> T read(byte[] content, TypeReference<T> type) throws IOException {
+        return mapperFor(content).readValue(content, type);
+    }
+
+    /**
+     * Decode a value from a stream, detecting the format from its first bytes.
+     */
+    public <T> T read(InputStream in, TypeReference<T> type) throws IOException {
+        InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in);
+        buffered.mark(SMILE_HEADER.length);
+        byte[] head = buffered.readNBytes(SMILE_HEADER.length);
+        buffered.reset();
+        return mapperFor(head).readValue(buffered, type);
+    }
+
+    /**
+     * Encode a value as Smile (with header).
+     */
+    public byte[] writeSmile(Object value) throws IOException {
+        return smileMapper.writeValueAsBytes(value);
+    }
+
+    /**
+     * Encode a value as text JSON.
+     */
+    public byte[] writeJson(Object value) throws IOException {
+        return jsonMapper.writeValueAsBytes(value);
+    }
+
+    private ObjectMapper mapperFor(byte[] content) {
+        return isSmile(content) ? smileMapper : jsonMapper;
+    }
+}
@@ -0,0 +1,206 @@
+package com.genericform.engine;
+
+import com.genericform.core.ComponentValidation;
+import com.genericform.core.FormColumn;
+import com.genericform.core.FormComponent;
+import com.genericform.core.FormSchema;
+import com.genericform.core.SchemaComplexityReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Static analyzer that computes a {@link SchemaComplexityReport} for a
+ * schema without validating any data.
+ * <p>
+ * The estimated cost follows what {@link ValidationEngine} does per
+ * submission: a fixed cost per input, regex matching weighted by its
+ * backtracking risk, a linear scan of select options, and a large fixed
+ * cost per JavaScript evaluation (context creation dominates). Components
+ * inside an {@code editgrid} / {@code datagrid} are multiplied by an
+ * assumed row count.
+ * </p>
+ * <p>
+ * Regex risk is a heuristic that flags the constructs behind catastrophic
+ * backtracking: nested quantifiers such as {@code (a+)+}, quantified
+ * alternations such as {@code (a|ab)*}, backreferences, and repeated
+ * unbounded wildcards. Patterns that do not compile get the maximum score.
+ * </p>
+ */
+public class SchemaComplexityAnalyzer {
+
+    /** Risk score assigned to patterns that do not compile. */
+    static final int INVALID_PATTERN_RISK = 100;
+
+    private static final int FIELD_COST = 1;
+    private static final int PATTERN_COST = 2;
+    private static final int REGEX_RISK_COST = 5;
+    private static final int EMAIL_COST = 3;
+    private static final int SCRIPT_COST = 100;
+    private static final int SCRIPT_SIZE_DIVISOR = 50;
+    private static final int OPTION_SCAN_DIVISOR = 8;
+    private static final int GRID_ROWS_ESTIMATE = 10;
+
+    /** Form.io properties that hold JavaScript besides {@code validate.custom}. */
+    private static final Set<String> SCRIPT_PROPERTIES = Set.of(
+            "customConditional", "calculateValue", "customDefaultValue");
+
+    private static final String GROUP_BODY = "(?:[^()\\\\]|\\\\.)*";
+    private static final String REPEAT = "(?:[+*]|\\{\\d+,\\d*\\})";
+    private static final Pattern NESTED_QUANTIFIER = Pattern.compile(
+            "\\(" + GROUP_BODY + REPEAT + GROUP_BODY + "\\)" + REPEAT);
+    private static final Pattern QUANTIFIED_ALTERNATION = Pattern.compile(
+            "\\(" + GROUP_BODY + "\\|" + GROUP_BODY + "\\)" + REPEAT);
+    private static final Pattern BACKREFERENCE = Pattern.compile("\\\\[1-9]");
+    private static final Pattern UNBOUNDED_WILDCARD = Pattern.compile("\\.[+*]");
+
+    /**
+     * Analyze a schema.
+     *
+     * @param schema the schema to analyze
+     * @return the complexity report
+     */
+    public SchemaComplexityReport analyze(FormSchema schema) {
+        Accumulator acc = new Accumulator();
+        walk(schema.getComponents(), 1, 1, acc);
+        return new SchemaComplexityReport(schema.getFormId(), acc.maxDepth, acc.components, acc.inputs,
+                acc.scripts, acc.scriptSize, acc.patterns, acc.maxRegexRisk, List.copyOf(acc.riskyPatterns),
+                acc.maxOptions, acc.totalOptions, acc.cost);
+    }
+
+    /**
+     * Score a regex for backtracking risk (0 = nothing suspicious).
+     *
+     * @param regex the pattern source
+     * @return the risk score
+     */
+    public static int regexRisk(String regex) {
+        try {
+            Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            return INVALID_PATTERN_RISK;
+        }
+        int risk = 0;
+        if (NESTED_QUANTIFIER.matcher(regex).find()) {
+            risk += 10;
+        }
+        if (QUANTIFIED_ALTERNATION.matcher(regex).find()) {
+            risk += 5;
+        }
+        if (BACKREFERENCE.matcher(regex).find()) {
+            risk += 5;
+        }
+        int wildcards = 0;
+        Matcher matcher = UNBOUNDED_WILDCARD.matcher(regex);
+        while (matcher.find()) {
+            wildcards++;
+        }
+        if (wildcards > 1) {
+            risk += 2 * (wildcards - 1);
+        }
+        return risk;
+    }
+
+    // ───────────────────────────── Traversal ──────────────────────────────
+
+    private void walk(List<FormComponent> components, int depth, long multiplier, Accumulator acc) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            acc.components++;
+            acc.maxDepth = Math.max(acc.maxDepth, depth);
+            String type = component.getType() != null ? component.getType().toLowerCase() : "textfield";
+
+            if (component.isInput()) {
+                acc.inputs++;
+                acc.cost += FIELD_COST * multiplier;
+                if ("email".equals(type)) {
+                    acc.cost += EMAIL_COST * multiplier;
+                }
+            }
+            analyzeValidation(component.getValidate(), multiplier, acc);
+            analyzeScripts(component, multiplier, acc);
+            analyzeOptions(component, multiplier, acc);
+
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    if (column != null) {
+                        walk(column.getComponents(), depth + 1, multiplier, acc);
+                    }
+                }
+            }
+            boolean grid = "editgrid".equals(type) || "datagrid".equals(type);
+            walk(component.getComponents(), depth + 1,
+                    grid ? multiplier * GRID_ROWS_ESTIMATE : multiplier, acc);
+        }
+    }
+
+    private void analyzeValidation(ComponentValidation validate, long multiplier, Accumulator acc) {
+        if (validate == null) {
+            return;
+        }
+        if (validate.getPattern() != null && !validate.getPattern().isEmpty()) {
+            int risk = regexRisk(validate.getPattern());
+            acc.patterns++;
+            acc.maxRegexRisk = Math.max(acc.maxRegexRisk, risk);
+            if (risk > 0) {
+                acc.riskyPatterns.add(validate.getPattern());
+            }
+            acc.cost += (PATTERN_COST + (long) risk * REGEX_RISK_COST) * multiplier;
+        }
+        addScript(validate.getCustom(), multiplier, acc);
+    }
+
+    private void analyzeScripts(FormComponent component, long multiplier, Accumulator acc) {
+        if (component.getAdditionalProperties() == null) {
+            return;
+        }
+        for (String property : SCRIPT_PROPERTIES) {
+            if (component.getAdditionalProperties().get(property) instanceof String script) {
+                addScript(script, multiplier, acc);
+            }
+        }
+    }
+
+    private void addScript(String script, long multiplier, Accumulator acc) {
+        if (script == null || script.isBlank()) {
+            return;
+        }
+        acc.scripts++;
+        acc.scriptSize += script.length();
+        acc.cost += (SCRIPT_COST + (long) script.length() / SCRIPT_SIZE_DIVISOR) * multiplier;
+    }
+
+    private void analyzeOptions(FormComponent component, long multiplier, Accumulator acc) {
+        if (component.getData() == null || component.getData().getValues() == null) {
+            return;
+        }
+        int options = component.getData().getValues().size();
+        acc.maxOptions = Math.max(acc.maxOptions, options);
+        acc.totalOptions += options;
+        acc.cost += ((long) options / OPTION_SCAN_DIVISOR) * multiplier;
+    }
+
+    /** Mutable totals collected during a single traversal. */
+    private static final class Accumulator {
+        int maxDepth;
+        int components;
+        int inputs;
+        int scripts;
+        int scriptSize;
+        int patterns;
+        int maxRegexRisk;
+        final List<String> riskyPatterns = new ArrayList<>();
+        int maxOptions;
+        int totalOptions;
+        long cost;
+    }
+}
@@ -0,0 +1,74 @@
+package com.genericform.engine;
+
+import com.genericform.core.SchemaComplexityReport;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Upper limits for a {@link SchemaComplexityReport}, enforced when a schema
+ * is created or updated.
+ * <p>
+ * A limit of {@code 0} (the default) disables that check.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaComplexityBudget {
+
+    /** Maximum component nesting depth. */
+    private int maxDepth;
+
+    /** Maximum number of input components. */
+    private int maxInputs;
+
+    /** Maximum number of JavaScript snippets. */
+    private int maxScripts;
+
+    /** Maximum total JavaScript size in characters. */
+    private int maxScriptSize;
+
+    /** Maximum regex risk score of any single pattern. */
+    private int maxRegexRisk;
+
+    /** Maximum option count of a single select / radio component. */
+    private int maxOptions;
+
+    /** Maximum estimated validation cost per submission. */
+    private long maxCost;
+
+    /** A budget without any limits. */
+    public static SchemaComplexityBudget unlimited() {
+        return new SchemaComplexityBudget();
+    }
+
+    /**
+     * Check a report against this budget.
+     *
+     * @param report the complexity report
+     * @return human-readable descriptions of every exceeded limit (empty if within budget)
+     */
+    public List<String> violations(SchemaComplexityReport report) {
+        List<String> violations = new ArrayList<>();
+        check(violations, "nesting depth", report.getMaxDepth(), maxDepth);
+        check(violations, "input count", report.getInputCount(), maxInputs);
+        check(violations, "script count", report.getScriptCount(), maxScripts);
+        check(violations, "script size", report.getScriptSize(), maxScriptSize);
+        check(violations, "regex risk", report.getMaxRegexRisk(), maxRegexRisk);
+        check(violations, "options per component", report.getMaxOptions(), maxOptions);
+        check(violations, "estimated cost", report.getEstimatedCost(), maxCost);
+        return violations;
+    }
+
+    private static void check(List<String> violations, String name, long actual, long limit) {
+        if (limit > 0 && actual > limit) {
+            violations.add(name + " " + actual + " exceeds limit " + limit);
+        }
+    }
+}
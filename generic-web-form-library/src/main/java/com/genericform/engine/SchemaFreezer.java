@@ -0,0 +1,249 @@
+package com.genericform.engine;
+
+import com.genericform.core.ComponentData;
+import com.genericform.core.ComponentValidation;
+import com.genericform.core.CopyOnWriteMap;
+import com.genericform.core.FormColumn;
+import com.genericform.core.FormComponent;
+import com.genericform.core.FormSchema;
+import com.genericform.core.SelectValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Produces the frozen copy of a {@link FormSchema} held by a
+ * {@link SchemaSnapshot}.
+ * <p>
+ * The copy is deep: no object reachable from it is shared with the
+ * caller's (mutable) instance, and every list and map is unmodifiable.
+ * When a previous snapshot of the same form exists, unchanged component
+ * subtrees are reused from it instead of being copied (structural
+ * sharing), so publishing a small edit to a large form allocates only
+ * the changed branches.
+ * </p>
+ */
+final class SchemaFreezer {
+
+    /** Schemas produced by {@link #freeze}, so derived data can safely be cached for them. */
+    private static final IdentityWeakCache<FormSchema, Boolean> FROZEN = new IdentityWeakCache<>();
+
+    private SchemaFreezer() {
+    }
+
+    /**
+     * Freeze a schema.
+     *
+     * @param schema   the schema to freeze (not modified)
+     * @param previous the previous frozen version to share subtrees with, or {@code null}
+     * @return a deep, unmodifiable copy
+     */
+    static FormSchema freeze(FormSchema schema, FormSchema previous) {
+        FormSchema frozen = FormSchema.builder()
+                .formId(schema.getFormId())
+                .formName(schema.getFormName())
+                .version(schema.getVersion())
+                .components(freezeComponents(schema.getComponents(),
+                        previous != null ? previous.getComponents() : null))
+                .additionalProperties(freezeMap(schema.getAdditionalProperties()))
+                .build();
+        FROZEN.computeIfAbsent(frozen, s -> Boolean.TRUE);
+        return frozen;
+    }
+
+    /**
+     * Check whether a schema instance was produced by {@link #freeze} and
+     * therefore never changes.
+     */
+    static boolean isFrozen(FormSchema schema) {
+        return FROZEN.containsKey(schema);
+    }
+
+    // ───────────────────────────── Components ─────────────────────────────
+
+    private static List<FormComponent> freezeComponents(List<FormComponent> source, List<FormComponent> previous) {
+        if (source == null) {
+            return null;
+        }
+        if (source.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, FormComponent> previousByKey = indexByKey(previous);
+        List<FormComponent> frozen = new ArrayList<>(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            FormComponent component = source.get(i);
+            FormComponent candidate = counterpart(component, i, previous, previousByKey);
+            if (candidate != null && candidate.equals(component)) {
+                frozen.add(candidate);
+            } else {
+                frozen.add(freezeComponent(component, candidate));
+            }
+        }
+        return Collections.unmodifiableList(frozen);
+    }
+
+    /**
+     * Find the previous version of a component: the one with the same key,
+     * or for unkeyed components the one at the same position with the same type.
+     */
+    private static FormComponent counterpart(FormComponent component, int index,
+            List<FormComponent> previous, Map<String, FormComponent> previousByKey) {
+        if (component == null || previous == null) {
+            return null;
+        }
+        if (component.getKey() != null) {
+            return previousByKey.get(component.getKey());
+        }
+        if (index < previous.size()) {
+            FormComponent positional = previous.get(index);
+            if (positional != null && positional.getKey() == null
+                    && Objects.equals(positional.getType(), component.getType())) {
+                return positional;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, FormComponent> indexByKey(List<FormComponent> components) {
+        if (components == null || components.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, FormComponent> index = new HashMap<>();
+        for (FormComponent component : components) {
+            if (component != null && component.getKey() != null) {
+                index.putIfAbsent(component.getKey(), component);
+            }
+        }
+        return index;
+    }
+
+    private static FormComponent freezeComponent(FormComponent component, FormComponent previous) {
+        if (component == null) {
+            return null;
+        }
+        return FormComponent.builder()
+                .key(component.getKey())
+                .type(component.getType())
+                .label(component.getLabel())
+                .input(component.isInput())
+                .hidden(component.isHidden())
+                .disabled(component.isDisabled())
+                .persistent(component.isPersistent())
+                .multiple(component.isMultiple())
+                .validate(freezeValidation(component.getValidate()))
+                .inputMask(component.getInputMask())
+                .components(freezeComponents(component.getComponents(),
+                        previous != null ? previous.getComponents() : null))
+                .columns(freezeColumns(component.getColumns(),
+                        previous != null ? previous.getColumns() : null))
+                .data(freezeData(component.getData()))
+                .dataSrc(component.getDataSrc())
+                .additionalProperties(freezeMap(component.getAdditionalProperties()))
+                .build();
+    }
+
+    private static List<FormColumn> freezeColumns(List<FormColumn> source, List<FormColumn> previous) {
+        if (source == null) {
+            return null;
+        }
+        List<FormColumn> frozen = new ArrayList<>(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            FormColumn column = source.get(i);
+            FormColumn candidate = previous != null && i < previous.size() ? previous.get(i) : null;
+            if (column == null) {
+                frozen.add(null);
+            } else if (candidate != null && candidate.equals(column)) {
+                frozen.add(candidate);
+            } else {
+                frozen.add(FormColumn.builder()
+                        .components(freezeComponents(column.getComponents(),
+                                candidate != null ? candidate.getComponents() : null))
+                        .width(column.getWidth())
+                        .offset(column.getOffset())
+                        .additionalProperties(freezeMap(column.getAdditionalProperties()))
+                        .build());
+            }
+        }
+        return Collections.unmodifiableList(frozen);
+    }
+
+    // ───────────────────────────── Leaf Objects ───────────────────────────
+
+    private static ComponentValidation freezeValidation(ComponentValidation validation) {
+        if (validation == null) {
+            return null;
+        }
+        return ComponentValidation.builder()
+                .required(validation.isRequired())
+                .pattern(validation.getPattern())
+                .minLength(validation.getMinLength())
+                .maxLength(validation.getMaxLength())
+                .customMessage(validation.getCustomMessage())
+                .custom(validation.getCustom())
+                .onlyAvailableItems(validation.isOnlyAvailableItems())
+                .additionalProperties(freezeMap(validation.getAdditionalProperties()))
+                .build();
+    }
+
+    private static ComponentData freezeData(ComponentData data) {
+        if (data == null) {
+            return null;
+        }
+        List<SelectValue> values = null;
+        if (data.getValues() != null) {
+            List<SelectValue> copy = new ArrayList<>(data.getValues().size());
+            for (SelectValue value : data.getValues()) {
+                copy.add(value == null ? null : SelectValue.builder()
+                        .label(value.getLabel())
+                        .value(value.getValue())
+                        .additionalProperties(freezeMap(value.getAdditionalProperties()))
+                        .build());
+            }
+            values = Collections.unmodifiableList(copy);
+        }
+        return ComponentData.builder()
+                .values(values)
+                .additionalProperties(freezeMap(data.getAdditionalProperties()))
+                .build();
+    }
+
+    // ───────────────────────────── Catch-All Values ───────────────────────
+
+    private static Map<String, Object> freezeMap(Map<String, Object> map) {
+        if (map == null || map.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> copy = new LinkedHashMap<>(map.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            copy.put(entry.getKey(), freezeValue(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object freezeValue(Object value) {
+        if (value instanceof Map<?, ?> m) {
+            // Maps deduplicated at deserialization are already shared, unmodifiable scalars
+            if (m instanceof CopyOnWriteMap view && view.getShared() != null) {
+                return view.getShared();
+            }
+            return freezeMap((Map<String, Object>) m);
+        }
+        if (value instanceof List<?> l) {
+            if (l.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Object> copy = new ArrayList<>(l.size());
+            for (Object item : l) {
+                copy.add(freezeValue(item));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+}
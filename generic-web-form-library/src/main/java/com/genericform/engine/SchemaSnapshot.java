@@ -0,0 +1,60 @@
+package com.genericform.engine;
+
+import com.genericform.core.FormSchema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * An immutable, published version of a {@link FormSchema}.
+ * <p>
+ * Snapshots are created by {@link FormRegistry} when a schema is
+ * published. The contained schema is a deep copy whose lists and maps are
+ * unmodifiable, so it can be read concurrently by any number of
+ * validations without locks or defensive copies. Later edits never touch
+ * a published snapshot: they publish a new one, sharing unchanged
+ * component subtrees with this one, and swap it in atomically.
+ * </p>
+ * <p>
+ * The model classes still expose Lombok setters for scalar fields;
+ * published schemas must be treated as read-only.
+ * </p>
+ */
+@Getter
+@ToString(exclude = "schema")
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class SchemaSnapshot {
+
+    /** The form identifier. */
+    private final String formId;
+
+    /** The schema version string at publication. */
+    private final String version;
+
+    /** Monotonic publication counter, incremented on every swap for the form. */
+    private final long revision;
+
+    /** Publication time. */
+    private final Instant publishedAt;
+
+    /** The frozen schema. */
+    private final FormSchema schema;
+
+    /**
+     * Freeze a schema into a new snapshot, sharing unchanged subtrees with
+     * the previous snapshot of the same form.
+     *
+     * @param formId   the form identifier the schema is published under
+     * @param schema   the schema to publish (not modified or retained)
+     * @param previous the currently published snapshot, or {@code null}
+     * @return the new snapshot
+     */
+    static SchemaSnapshot publish(String formId, FormSchema schema, SchemaSnapshot previous) {
+        FormSchema frozen = SchemaFreezer.freeze(schema, previous != null ? previous.getSchema() : null);
+        return new SchemaSnapshot(formId, frozen.getVersion(),
+                previous != null ? previous.getRevision() + 1 : 1, Instant.now(), frozen);
+    }
+}
@@ -0,0 +1,225 @@
+package com.genericform.engine;
+
+import com.genericform.core.FormColumn;
+import com.genericform.core.FormComponent;
+import com.genericform.core.FormSchema;
+import com.genericform.core.SchemaProvider;
+import com.genericform.core.SelectValue;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Startup warm-up that preloads every known schema into the
+ * {@link FormRegistry} and exercises the validation paths before the
+ * application reports itself as ready.
+ * <p>
+ * After a deploy, the first submission for each form would otherwise pay
+ * for schema loading, JSON parsing, regex compilation, GraalJS parsing and
+ * cold JIT. The warm-up moves that cost to startup:
+ * <ol>
+ * <li>Enumerate form ids via {@link SchemaProvider#listFormIds()}</li>
+ * <li>Load them in parallel into the {@link FormRegistry}</li>
+ * <li>Run synthetic submissions (empty and populated) through the
+ * {@link ValidationEngine} for each schema</li>
+ * </ol>
+ * Progress is exposed via {@link #getState()} so a health indicator can
+ * hold back readiness until warm-up has completed.
+ * </p>
+ */
+@Slf4j
+public class SchemaWarmup {
+
+    /** Lifecycle of the warm-up phase. */
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final FormRegistry formRegistry;
+    private final SchemaProvider schemaProvider;
+    private final ValidationEngine validationEngine;
+    private final int parallelism;
+    private final int iterations;
+
+    private volatile State state = State.PENDING;
+    private final AtomicInteger warmedForms = new AtomicInteger();
+    private volatile int totalForms;
+
+    /**
+     * @param formRegistry     registry to preload schemas into
+     * @param schemaProvider   provider used to enumerate form ids
+     * @param validationEngine engine exercised with synthetic submissions
+     * @param parallelism      number of worker threads used for loading
+     * @param iterations       synthetic submissions per schema (JIT warm-up)
+     */
+    public SchemaWarmup(FormRegistry formRegistry,
+            SchemaProvider schemaProvider,
+            ValidationEngine validationEngine,
+            int parallelism,
+            int iterations) {
+        this.formRegistry = formRegistry;
+        this.schemaProvider = schemaProvider;
+        this.validationEngine = validationEngine;
+        this.parallelism = Math.max(1, parallelism);
+        this.iterations = Math.max(0, iterations);
+    }
+
+    /**
+     * Run the warm-up on a background thread.
+     *
+     * @return a future completed when the warm-up has finished
+     */
+    public CompletableFuture<Void> runAsync() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                run();
+                future.complete(null);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, "genericform-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Run the warm-up on the calling thread, blocking until all schemas
+     * have been loaded and exercised.
+     */
+    public void run() {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "genericform-warmup-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<String> formIds = schemaProvider.listFormIds();
+            totalForms = formIds.size();
+
+            CompletableFuture<?>[] tasks = formIds.stream()
+                    .map(formId -> CompletableFuture.runAsync(() -> warm(formId), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(tasks).join();
+
+            state = State.COMPLETED;
+            log.info("Schema warm-up completed: {}/{} form(s) in {} ms",
+                    warmedForms.get(), totalForms, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            state = State.FAILED;
+            log.error("Schema warm-up failed", e);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Current warm-up state. */
+    public State getState() {
+        return state;
+    }
+
+    /** Number of schemas successfully loaded and exercised so far. */
+    public int getWarmedForms() {
+        return warmedForms.get();
+    }
+
+    /** Number of schemas discovered for warm-up. */
+    public int getTotalForms() {
+        return totalForms;
+    }
+
+    // ───────────────────────────── Per-form Warm-up ───────────────────────
+
+    /**
+     * Load a single schema into the registry and run synthetic submissions.
+     * Failures are logged and do not abort the warm-up of other forms.
+     */
+    private void warm(String formId) {
+        try {
+            FormSchema schema = formRegistry.get(formId).orElse(null);
+            if (schema == null) {
+                log.warn("Schema warm-up skipped: formId={} could not be loaded", formId);
+                return;
+            }
+
+            Map<String, Object> populated = new LinkedHashMap<>();
+            fillSyntheticData(schema.getComponents(), populated);
+            for (int i = 0; i < iterations; i++) {
+                validationEngine.validate(schema, Map.of());
+                validationEngine.validate(schema, populated);
+            }
+            warmedForms.incrementAndGet();
+            log.debug("Warmed form schema: formId={}", formId);
+        } catch (RuntimeException e) {
+            log.warn("Schema warm-up failed for formId={}: {}", formId, e.getMessage());
+        }
+    }
+
+    /**
+     * Build a plausible submission for the component tree so that every
+     * type-specific validator (pattern, email, number, select, custom JS)
+     * is exercised at least once.
+     */
+    private void fillSyntheticData(List<FormComponent> components, Map<String, Object> data) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            String type = component.getType() != null ? component.getType().toLowerCase() : "textfield";
+
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    fillSyntheticData(column.getComponents(), data);
+                }
+            }
+
+            if ("editgrid".equals(type) || "datagrid".equals(type)) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                fillSyntheticData(component.getComponents(), row);
+                List<Object> rows = new ArrayList<>();
+                rows.add(row);
+                data.put(component.getKey(), rows);
+                continue;
+            }
+
+            if (component.isInput() && component.getKey() != null) {
+                data.put(component.getKey(), sampleValue(component, type));
+            }
+            fillSyntheticData(component.getComponents(), data);
+        }
+    }
+
+    /** Return a representative value for a component type. */
+    private Object sampleValue(FormComponent component, String type) {
+        return switch (type) {
+            case "email" -> "warmup@example.com";
+            case "url" -> "https://example.com";
+            case "number", "currency" -> 1;
+            case "checkbox" -> true;
+            case "datetime" -> "2024-01-01T00:00:00Z";
+            case "select", "radio" -> {
+                if (component.getData() != null && component.getData().getValues() != null
+                        && !component.getData().getValues().isEmpty()) {
+                    SelectValue first = component.getData().getValues().get(0);
+                    yield first.getValue();
+                }
+                yield "warmup";
+            }
+            default -> "warmup";
+        };
+    }
+}
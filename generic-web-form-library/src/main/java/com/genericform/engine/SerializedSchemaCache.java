@@ -0,0 +1,154 @@
+package com.genericform.engine;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genericform.core.FormSchema;
+import com.genericform.core.SerializedSchema;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Cache of pre-serialized schema JSON, keyed by {@code formId} for the
+ * current version and by {@code (formId, version)} for pinned ones.
+ * <p>
+ * The render path ({@code GET /forms/{formId}}) would otherwise read the
+ * schema from the store, parse it into a {@link FormSchema} and serialize
+ * it again for every request. Entries are built once per schema version
+ * and must be invalidated whenever the schema is updated or deleted.
+ * </p>
+ * <p>
+ * Pinned versions are only ever served under their own version, never
+ * from the current entry of a newer one. Up to
+ * {@link FormRegistry#MAX_PINNED_VERSIONS} of them are cached per form;
+ * further ones are serialized per request.
+ * </p>
+ * <p>
+ * Loads are not done under a lock. A load that overlaps an
+ * {@link #invalidate} may have read the outgoing version, so each load
+ * captures the invalidation generation first and only caches its result
+ * if no invalidation happened in the meantime.
+ * </p>
+ */
+@Slf4j
+public class SerializedSchemaCache {
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, SerializedSchema> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, SerializedSchema>> versions =
+            new ConcurrentHashMap<>();
+
+    /** Bumped by every invalidation, before the entries are removed. */
+    private final AtomicLong generation = new AtomicLong();
+
+    public SerializedSchemaCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Return the cached bytes for the current version of a form, loading
+     * and serializing the schema on first access.
+     *
+     * @param formId the form identifier
+     * @param loader loads the schema when it is not cached
+     * @return the serialized schema, or empty if the loader finds nothing
+     */
+    public Optional<SerializedSchema> get(String formId, Function<String, Optional<FormSchema>> loader) {
+        SerializedSchema cached = cache.get(formId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadedAt = generation.get();
+        return loader.apply(formId).map(schema -> {
+            SerializedSchema serialized = serialize(schema);
+            SerializedSchema stored = cache.compute(formId,
+                    (id, existing) -> generation.get() == loadedAt ? serialized : existing);
+            if (stored == serialized) {
+                log.debug("Cached serialized schema: formId={}, version={}, bytes={}",
+                        formId, serialized.getVersion(), serialized.getJson().length);
+            }
+            return serialized;
+        });
+    }
+
+    /**
+     * Return the cached bytes for a specific version of a form, loading
+     * and serializing that version on first access.
+     *
+     * @param formId  the form identifier
+     * @param version the schema version, or {@code null} for the current
+     *                one (cached as by {@link #get(String, Function)}, with
+     *                the loader called with a {@code null} version)
+     * @param loader  loads that version when it is not cached
+     * @return the serialized schema, or empty if the loader finds nothing
+     */
+    public Optional<SerializedSchema> get(String formId, String version,
+            BiFunction<String, String, Optional<FormSchema>> loader) {
+        if (version == null) {
+            return get(formId, id -> loader.apply(id, null));
+        }
+        SerializedSchema current = cache.get(formId);
+        if (current != null && version.equals(current.getVersion())) {
+            return Optional.of(current);
+        }
+        ConcurrentHashMap<String, SerializedSchema> pinned = versions.get(formId);
+        SerializedSchema cached = pinned != null ? pinned.get(version) : null;
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadedAt = generation.get();
+        return loader.apply(formId, version).map(schema -> {
+            SerializedSchema serialized = serialize(schema);
+            if (version.equals(serialized.getVersion())) {
+                versions.compute(formId, (id, existing) -> {
+                    if (generation.get() != loadedAt) {
+                        return existing;
+                    }
+                    ConcurrentHashMap<String, SerializedSchema> map =
+                            existing != null ? existing : new ConcurrentHashMap<>(4);
+                    if (map.size() < FormRegistry.MAX_PINNED_VERSIONS) {
+                        map.putIfAbsent(version, serialized);
+                    }
+                    return map;
+                });
+            }
+            return serialized;
+        });
+    }
+
+    /**
+     * Serialize a schema without caching it.
+     */
+    public SerializedSchema serialize(FormSchema schema) {
+        try {
+            return SerializedSchema.of(schema.getFormId(), schema.getVersion(),
+                    objectMapper.writeValueAsBytes(schema));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize schema: " + schema.getFormId(), e);
+        }
+    }
+
+    /**
+     * Drop the cached bytes for a form, including its pinned versions.
+     *
+     * @param formId the form identifier
+     */
+    public void invalidate(String formId) {
+        generation.incrementAndGet();
+        cache.remove(formId);
+        versions.remove(formId);
+    }
+
+    /**
+     * Drop all cached bytes.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        cache.clear();
+        versions.clear();
+    }
+}
@@ -2,15 +2,21 @@ package com.genericform.engine;
 
 import com.genericform.core.*;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.validator.internal.constraintvalidators.bv.EmailValidator;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 /**
  * Recursive validation engine that validates flat submission data against
@@ -23,20 +29,36 @@ import java.util.regex.Pattern;
  * input components, then looks up their values from the flat data map.
  * </p>
  * <p>
+ * The exceptions are data components: a {@code container} nests its
+ * children's data under its key (falling back to flat lookup when the
+ * submission is flat), and each {@code editgrid} / {@code datagrid} row
+ * is a scope of its own, traversed recursively so layouts, containers
+ * and nested grids inside rows are validated. Values are read through
+ * {@link DataPath} accessors precompiled in the {@link ValidationPlan},
+ * and errors are keyed by path, e.g. {@code address.city} or
+ * {@code items[3].parts[0].name}.
+ * </p>
+ * <p>
  * Supports:
  * <ul>
  * <li>Required field checks</li>
  * <li>Regex pattern matching (textfield, email, url, phoneNumber)</li>
  * <li>Email format validation</li>
  * <li>Select value validation (submitted value must be in allowed options)</li>
+ * <li>Per-type validators, built-in or registered by the host, resolved
+ * through a {@link ComponentValidatorRegistry}</li>
  * <li>Layout traversal (well, fieldset, columns, flexbox, panel)</li>
  * <li>Static component skipping (content, htmlelement, button)</li>
+ * <li>Conditional visibility: hidden components and their subtrees are
+ * skipped</li>
+ * <li>Server-side calculated fields ({@code calculateServer}), recomputed
+ * before validation, see {@link #calculate}</li>
  * </ul>
  * </p>
  */
 @Slf4j
 @Component
-public class ValidationEngine {
+public class ValidationEngine implements AutoCloseable {
 
     /**
      * Optional JavaScript engine for evaluating Form.io {@code validate.custom}
@@ -45,6 +67,54 @@ public class ValidationEngine {
     @Nullable
     private final JavaScriptValidationEngine jsEngine;
 
+    /** Compiled plans of published (frozen) schemas. */
+    private final IdentityWeakCache<FormSchema, ValidationPlan> planCache = new IdentityWeakCache<>();
+
+    /**
+     * Plans that submissions of schemas that are not frozen were coerced
+     * with, so validating the submission does not compile the schema again.
+     */
+    private final IdentityWeakCache<TypedSubmission, Coerced> coercedPlans = new IdentityWeakCache<>();
+
+    /** Default estimated work above which validation runs in parallel. */
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 5_000;
+
+    /** Default size of the parallel validation pool: one thread per processor. */
+    public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /** Parallel branches per pool thread, to even out skewed chunks. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Rows per batched script call when validating with an error budget,
+     * so scripts of rows past the point where validation stops never run.
+     */
+    private static final int BUDGETED_ROW_BLOCK = 64;
+
+    /**
+     * Estimated work (see {@link ValidationPlan}) above which large grids
+     * and the top-level components are validated in parallel on
+     * {@link #pool}; {@code 0} keeps validation single-threaded.
+     */
+    private final long parallelThreshold;
+
+    /**
+     * Dedicated pool for parallel validation, so large submissions neither
+     * compete with nor starve other users of the common fork-join pool;
+     * {@code null} when validation is single-threaded.
+     */
+    @Nullable
+    private final ForkJoinPool pool;
+
+    /**
+     * Whether top-level checks record runtime statistics and budgeted
+     * validations run them in learned cost order (see {@link AdaptiveOrdering}).
+     */
+    private final boolean adaptiveOrdering;
+
+    /** Validators per component type, resolved into each compiled plan. */
+    private final ComponentValidatorRegistry validators;
+
     /**
      * Create a ValidationEngine without custom JS validation support.
      */
@@ -58,18 +128,101 @@ public class ValidationEngine {
      * @param jsEngine the JavaScript engine (may be {@code null} to disable)
      */
     public ValidationEngine(@Nullable JavaScriptValidationEngine jsEngine) {
+        this(jsEngine, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Create a ValidationEngine with optional custom JS validation and a
+     * parallel validation threshold.
+     *
+     * @param jsEngine          the JavaScript engine (may be {@code null} to disable)
+     * @param parallelThreshold estimated work above which validation runs in
+     *                          parallel; {@code 0} to disable
+     */
+    public ValidationEngine(@Nullable JavaScriptValidationEngine jsEngine, long parallelThreshold) {
+        this(jsEngine, parallelThreshold, false);
+    }
+
+    /**
+     * Create a ValidationEngine with optional custom JS validation, a
+     * parallel validation threshold and adaptive check ordering.
+     *
+     * @param jsEngine          the JavaScript engine (may be {@code null} to disable)
+     * @param parallelThreshold estimated work above which validation runs in
+     *                          parallel; {@code 0} to disable
+     * @param adaptiveOrdering  whether budgeted validations run top-level
+     *                          checks in learned cost order
+     */
+    public ValidationEngine(@Nullable JavaScriptValidationEngine jsEngine, long parallelThreshold,
+            boolean adaptiveOrdering) {
+        this(jsEngine, parallelThreshold, adaptiveOrdering, ComponentValidatorRegistry.defaults());
+    }
+
+    /**
+     * Create a ValidationEngine with optional custom JS validation, a
+     * parallel validation threshold, adaptive check ordering and the
+     * validators to use per component type.
+     *
+     * @param jsEngine          the JavaScript engine (may be {@code null} to disable)
+     * @param parallelThreshold estimated work above which validation runs in
+     *                          parallel; {@code 0} to disable
+     * @param adaptiveOrdering  whether budgeted validations run top-level
+     *                          checks in learned cost order
+     * @param validators        the component validators
+     */
+    public ValidationEngine(@Nullable JavaScriptValidationEngine jsEngine, long parallelThreshold,
+            boolean adaptiveOrdering, ComponentValidatorRegistry validators) {
+        this(jsEngine, parallelThreshold, adaptiveOrdering, validators, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Create a ValidationEngine with optional custom JS validation, a
+     * parallel validation threshold and pool size, adaptive check ordering
+     * and the validators to use per component type.
+     *
+     * @param jsEngine          the JavaScript engine (may be {@code null} to disable)
+     * @param parallelThreshold estimated work above which validation runs in
+     *                          parallel; {@code 0} to disable
+     * @param adaptiveOrdering  whether budgeted validations run top-level
+     *                          checks in learned cost order
+     * @param validators        the component validators
+     * @param parallelism       threads of the parallel validation pool;
+     *                          {@code 1} or less disables parallel validation
+     */
+    public ValidationEngine(@Nullable JavaScriptValidationEngine jsEngine, long parallelThreshold,
+            boolean adaptiveOrdering, ComponentValidatorRegistry validators, int parallelism) {
         this.jsEngine = jsEngine;
-        log.info("ValidationEngine initialized (customJs={})",
-                jsEngine != null ? "enabled" : "disabled");
+        this.parallelThreshold = parallelism > 1 ? parallelThreshold : 0;
+        this.pool = this.parallelThreshold > 0 ? new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("genericform-validation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false) : null;
+        this.adaptiveOrdering = adaptiveOrdering;
+        this.validators = validators;
+        log.info("ValidationEngine initialized (customJs={}, parallelThreshold={}, parallelism={},"
+                + " adaptiveOrdering={}, validatorTypes={})", jsEngine != null ? "enabled" : "disabled",
+                this.parallelThreshold, pool != null ? parallelism : 1, adaptiveOrdering, validators.types().size());
+    }
+
+    /**
+     * Shut down the parallel validation pool. Called by the container when
+     * the engine is a bean; in-flight validations complete.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
     }
 
     // ── Layout types: traverse children, never validate ──────────────────
-    private static final Set<String> LAYOUT_TYPES = Set.of(
+    static final Set<String> LAYOUT_TYPES = Set.of(
             "well", "fieldset", "columns", "flexbox", "panel", "tabs",
             "table", "container");
 
     // ── Static types: skip entirely (no data, no children) ──────────────
-    private static final Set<String> STATIC_TYPES = Set.of(
+    static final Set<String> STATIC_TYPES = Set.of(
             "content", "htmlelement", "button");
 
     /**
@@ -80,28 +233,488 @@ public class ValidationEngine {
      * @return a map of field-key → error message (empty if valid)
      */
     public Map<String, String> validate(FormSchema schema, Map<String, Object> data) {
-        Map<String, String> errors = new LinkedHashMap<>();
+        return validate(schema, data, ValidationMode.COLLECT_ALL);
+    }
+
+    /**
+     * Validate submission data with an error budget.
+     * <p>
+     * With {@link ValidationMode#FAIL_FAST} or
+     * {@link ValidationMode#maxErrors(int)} the traversal stops as soon as
+     * the budget is reached, skipping all remaining validators including
+     * custom JS. The errors returned are the first ones in schema order.
+     * Limited modes always validate sequentially: stopping early is
+     * cheaper than fanning out, and keeps the result deterministic.
+     * </p>
+     * <p>
+     * With adaptive ordering enabled, limited modes instead run the
+     * top-level checks cheapest-expected-rejection first, learned from
+     * runtime statistics, and report the first errors in that order.
+     * </p>
+     *
+     * @param schema the form schema definition (component tree)
+     * @param data   the submitted key-value pairs
+     * @param mode   how many errors to collect
+     * @return a map of field-key → error message (empty if valid)
+     */
+    public Map<String, String> validate(FormSchema schema, Map<String, Object> data, ValidationMode mode) {
         if (schema.getComponents() == null) {
-            return errors;
+            return new LinkedHashMap<>();
         }
-        traverseComponents(schema.getComponents(), data, errors);
-        return errors;
+        ValidationPlan plan = plan(schema);
+        Run run = new Run(plan, plan.calculations().apply(data, jsEngine), null, mode);
+        traverseRoot(schema.getComponents(), run);
+        return run.errors;
+    }
+
+    /**
+     * Validate a submission that was already coerced with
+     * {@link #coerce(FormSchema, Map)}, reusing its converted values.
+     * <p>
+     * Reuses the plan the submission was coerced with, so a schema that is
+     * not frozen is compiled once per submission, not twice; such a schema
+     * must not change in between.
+     * </p>
+     *
+     * @param schema the form schema the submission was coerced with
+     * @param record the coerced submission
+     * @param mode   how many errors to collect
+     * @return a map of field-key → error message (empty if valid)
+     * @throws IllegalArgumentException if the record was coerced with a different schema
+     */
+    public Map<String, String> validate(FormSchema schema, TypedSubmission record, ValidationMode mode) {
+        if (schema.getComponents() == null) {
+            return new LinkedHashMap<>();
+        }
+        Coerced coerced = coercedPlans.get(record);
+        ValidationPlan plan = coerced != null && coerced.schema() == schema ? coerced.plan() : plan(schema);
+        if (!record.getLayout().equals(plan.layout())) {
+            throw new IllegalArgumentException("Submission was coerced with a different schema");
+        }
+        Run run = new Run(plan, record.getSource(), null, mode);
+        run.record = record;
+        traverseRoot(schema.getComponents(), run);
+        return run.errors;
+    }
+
+    /**
+     * Convert the top-level fields of a submission once into their
+     * schema-declared types (see {@link FieldType}), after recomputing its
+     * calculated fields (see {@link #calculate}).
+     * <p>
+     * Values that cannot be converted are marked invalid rather than
+     * rejected; validation reports them. Pass the result to
+     * {@link #validate(FormSchema, TypedSubmission, ValidationMode)} and on
+     * to the repository to avoid parsing the fields again.
+     * </p>
+     *
+     * @param schema the form schema definition (component tree)
+     * @param data   the submitted key-value pairs
+     * @return the typed submission
+     */
+    public TypedSubmission coerce(FormSchema schema, Map<String, Object> data) {
+        ValidationPlan plan = plan(schema);
+        return coerce(schema, plan, plan.calculations().apply(data, jsEngine));
+    }
+
+    /**
+     * Like {@link #coerce(FormSchema, Map)}, but recomputes the calculated
+     * fields in {@code data} itself instead of a copy.
+     *
+     * @param data the submitted data, a mutable map the caller owns
+     */
+    TypedSubmission coerceInPlace(FormSchema schema, Map<String, Object> data) {
+        ValidationPlan plan = plan(schema);
+        plan.calculations().applyInPlace(data, jsEngine);
+        return coerce(schema, plan, data);
+    }
+
+    private TypedSubmission coerce(FormSchema schema, ValidationPlan plan, Map<String, Object> data) {
+        TypedSubmission record = plan.coerce(data);
+        if (!SchemaFreezer.isFrozen(schema)) {
+            coercedPlans.put(record, new Coerced(schema, plan));
+        }
+        return record;
+    }
+
+    /**
+     * Normalise the top-level inputs of a submission with the
+     * {@link SubmissionStage#normalize} of pipeline stages, walking the
+     * fields once and applying all stages to each value in order.
+     * <p>
+     * Absent values are not passed to the stages. Fields inside grid rows
+     * are not normalised.
+     * </p>
+     *
+     * @param schema the form schema definition (component tree)
+     * @param data   the submitted key-value pairs (not modified)
+     * @param stages the normalising stages, in order
+     * @return {@code data} itself if no value changed, else a copy with
+     *         the normalised values
+     */
+    public Map<String, Object> normalize(FormSchema schema, Map<String, Object> data, List<SubmissionStage> stages) {
+        if (stages.isEmpty() || data == null || schema.getComponents() == null) {
+            return data;
+        }
+        return plan(schema).normalize(data, stages, false);
+    }
+
+    /**
+     * Like {@link #normalize}, but writes the normalised values into
+     * {@code data} itself instead of a copy.
+     *
+     * @param data the submitted data, a mutable map the caller owns
+     */
+    void normalizeInPlace(FormSchema schema, Map<String, Object> data, List<SubmissionStage> stages) {
+        if (!stages.isEmpty() && schema.getComponents() != null) {
+            plan(schema).normalize(data, stages, true);
+        }
+    }
+
+    /**
+     * Recompute the fields the schema calculates on the server: inputs
+     * with a {@code calculateValue} script and {@code calculateServer},
+     * whose submitted values are not trusted.
+     * <p>
+     * Fields are computed in dependency order. Plain arithmetic over
+     * {@code data} fields is compiled to Java; other scripts need the
+     * JavaScript engine and are otherwise cleared, like scripts that fail.
+     * The validation and coercion methods apply this stage themselves.
+     * </p>
+     *
+     * @param schema the form schema definition (component tree)
+     * @param data   the submitted key-value pairs (not modified)
+     * @return the data with the calculated values; {@code data} itself if
+     *         the schema has no server-side calculations
+     */
+    public Map<String, Object> calculate(FormSchema schema, Map<String, Object> data) {
+        return plan(schema).calculations().apply(data, jsEngine);
+    }
+
+    /**
+     * Validate only the fields affected by an edit, for on-change / on-blur
+     * checks.
+     * <p>
+     * Validates the changed keys plus every field that depends on them
+     * through custom JS, JSONLogic or conditionals, using the schema's
+     * precomputed dependency graph. The cost therefore scales with the
+     * edit rather than the form size. Grids are validated as a whole when
+     * their key is affected, and container children when the container's
+     * key (or their own key or dotted path) is. Calculated fields are only
+     * recomputed when a changed key is one of them or is read by one of
+     * their scripts; otherwise the submitted values are used as they are.
+     * </p>
+     *
+     * @param schema      the form schema definition (component tree)
+     * @param data        the full current submission data
+     * @param changedKeys the top-level data keys that changed
+     * @return a map of field-key → error message for the affected fields (empty if valid)
+     */
+    public Map<String, String> validateFields(FormSchema schema, Map<String, Object> data,
+            Set<String> changedKeys) {
+        if (schema.getComponents() == null || changedKeys == null || changedKeys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        ValidationPlan plan = plan(schema);
+        Calculations calculations = plan.calculations();
+        Map<String, Object> values = calculations.isAffectedBy(changedKeys)
+                ? calculations.apply(data, jsEngine)
+                : data;
+        Run run = new Run(plan, values, plan.affectedKeys(changedKeys), ValidationMode.COLLECT_ALL);
+        traverseRoot(schema.getComponents(), run);
+        return run.errors;
+    }
+
+    /**
+     * Return the compiled plan for a schema: cached for published schemas,
+     * compiled per call for instances that may still change.
+     */
+    ValidationPlan plan(FormSchema schema) {
+        return SchemaFreezer.isFrozen(schema)
+                ? planCache.computeIfAbsent(schema, this::compile)
+                : ValidationPlan.compile(schema, validators);
+    }
+
+    /** Compile the plan of a published schema, warning once about calculations that cannot run. */
+    private ValidationPlan compile(FormSchema schema) {
+        ValidationPlan plan = ValidationPlan.compile(schema, validators);
+        if (jsEngine == null && plan.calculations().needsScripts()) {
+            log.warn("Form '{}' v{} has server-side calculations that need JavaScript, which is disabled;"
+                    + " their fields are cleared on submission", schema.getFormId(), schema.getVersion());
+        }
+        return plan;
+    }
+
+    /** The schema a submission was coerced with, and its plan. */
+    private record Coerced(FormSchema schema, ValidationPlan plan) {
     }
 
     // ───────────────────────────── Tree Traversal ─────────────────────────
 
+    /**
+     * State of one {@code validate} / {@code validateFields} call.
+     */
+    private final class Run {
+        final ValidationPlan plan;
+        final Map<String, Object> data;
+        final Map<String, String> errors = new LinkedHashMap<>();
+
+        /** Keys to validate, or {@code null} for all. */
+        @Nullable
+        final Set<String> only;
+
+        /** Error budget of this call. */
+        final ValidationMode mode;
+
+        /** Batched custom JS conditional results, evaluated on first use. */
+        private boolean[] customConditionals;
+
+        /** Typed top-level values, coerced on first use. */
+        private TypedSubmission record;
+
+        Run(ValidationPlan plan, Map<String, Object> data, @Nullable Set<String> only, ValidationMode mode) {
+            this.plan = plan;
+            this.data = data;
+            this.only = only;
+            this.mode = mode;
+        }
+
+        /** Whether the error budget is used up and validation should stop. */
+        boolean isExhausted() {
+            return mode.isExhausted(errors.size());
+        }
+
+        /**
+         * Create a run for a parallel branch: same inputs and visibility,
+         * its own error map. Custom conditionals are evaluated up front so
+         * the branches do not race to initialise them.
+         */
+        Run fork() {
+            if (customConditionals == null && jsEngine != null && !plan.customConditionals().isEmpty()) {
+                customConditionals = jsEngine.evaluateConditionals(plan.customConditionals(), data);
+            }
+            Run fork = new Run(plan, data, only, mode);
+            fork.customConditionals = customConditionals;
+            fork.record = record();
+            return fork;
+        }
+
+        /**
+         * Create a run over the same inputs and visibility without an
+         * error budget, with its own error map.
+         */
+        Run unbudgeted() {
+            Run full = new Run(plan, data, only, ValidationMode.COLLECT_ALL);
+            full.customConditionals = customConditionals;
+            full.record = record;
+            return full;
+        }
+
+        /** The submission's typed top-level values. */
+        TypedSubmission record() {
+            if (record == null) {
+                record = plan.coerce(data);
+            }
+            return record;
+        }
+
+        /**
+         * Decide whether a component is visible. Keys of simple
+         * conditionals are looked up in the scope's values first (a grid
+         * row), then in the submission data. A custom JS conditional
+         * (outside grids only) takes precedence over a simple one.
+         */
+        boolean isVisible(FormComponent component, Map<String, Object> values) {
+            int index = plan.customConditionalIndex(component);
+            if (index >= 0) {
+                if (jsEngine == null) {
+                    return true;
+                }
+                if (customConditionals == null) {
+                    customConditionals = jsEngine.evaluateConditionals(plan.customConditionals(), data);
+                }
+                return customConditionals[index];
+            }
+            ValidationPlan.Condition condition = plan.condition(component);
+            return condition == null || condition.isVisible(key -> values != null && values.containsKey(key)
+                    ? values.get(key)
+                    : data != null ? data.get(key) : null);
+        }
+    }
+
+    /**
+     * Where a subtree's values live: the submission root, or a grid row
+     * with the error-key prefix of that row (e.g. {@code "items[3]."}) and
+     * the batched custom script results of its grid.
+     */
+    private record Scope(Map<String, Object> values, String prefix, @Nullable RowBatch batch, int row) {
+
+        boolean isRoot() {
+            return prefix.isEmpty();
+        }
+    }
+
+    /**
+     * Custom script results for rows {@code [from, ...)} of one grid, per
+     * script index (see {@link ValidationPlan#rowScripts}) and row offset.
+     */
+    private record RowBatch(String[][] errors, int from) {
+    }
+
+    /**
+     * Traverse the top-level components. Above the parallel threshold,
+     * contiguous groups of components (typically panels) are validated as
+     * independent branches and their errors merged in schema order, so the
+     * result is the same as a sequential traversal.
+     */
+    private void traverseRoot(List<FormComponent> components, Run run) {
+        Scope root = new Scope(run.data, "", null, 0);
+        if (adaptiveOrdering && !run.mode.isCollectAll()) {
+            traverseAdaptive(run, root);
+            return;
+        }
+        if (pool == null || !run.mode.isCollectAll() || components.size() < 2) {
+            traverseComponents(components, run, root);
+            return;
+        }
+
+        // ── Estimate the work of this submission (grids: submitted rows) ──
+        long[] costs = new long[components.size()];
+        long work = 0;
+        for (int i = 0; i < components.size(); i++) {
+            FormComponent component = components.get(i);
+            costs[i] = component != null ? run.plan.cost(component, run.data) : 0;
+            work += costs[i];
+        }
+        if (!isParallel(run, work)) {
+            traverseComponents(components, run, root);
+            return;
+        }
+
+        // ── Split into contiguous groups of roughly equal estimated work ──
+        long target = Math.max(1, work / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<List<FormComponent>> groups = new ArrayList<>();
+        int start = 0;
+        long groupCost = 0;
+        for (int i = 0; i < components.size(); i++) {
+            groupCost += costs[i];
+            if (groupCost >= target || i == components.size() - 1) {
+                groups.add(components.subList(start, i + 1));
+                start = i + 1;
+                groupCost = 0;
+            }
+        }
+
+        List<Run> branches = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            branches.add(run.fork());
+        }
+        inParallel(groups.size(), i -> {
+            traverseComponents(groups.get(i), branches.get(i), root);
+            return branches.get(i).errors;
+        }).forEach(run.errors::putAll);
+    }
+
+    /**
+     * Validate the top-level units in the plan's learned order until the
+     * error budget is used up. A unit is skipped if it or any layout above
+     * it is hidden, as in the tree traversal. A sampling run (see
+     * {@link AdaptiveOrdering}) validates every unit for the statistics
+     * and then keeps the first errors the budget allows, which are the
+     * same errors the budgeted run would have reported.
+     */
+    private void traverseAdaptive(Run run, Scope root) {
+        AdaptiveOrdering ordering = run.plan.ordering();
+        AdaptiveOrdering.Unit[] order = ordering.order();
+        Run target = ordering.sample() ? run.unbudgeted() : run;
+        for (AdaptiveOrdering.Unit unit : order) {
+            if (target.isExhausted()) {
+                return;
+            }
+            if (!isUnitVisible(unit, target)) {
+                continue;
+            }
+            validateUnit(unit.component, unit, target, root);
+        }
+        if (target != run) {
+            for (Map.Entry<String, String> error : target.errors.entrySet()) {
+                if (run.isExhausted()) {
+                    break;
+                }
+                run.errors.put(error.getKey(), error.getValue());
+            }
+        }
+    }
+
+    private boolean isUnitVisible(AdaptiveOrdering.Unit unit, Run run) {
+        for (FormComponent ancestor : unit.ancestors) {
+            if (!run.isVisible(ancestor, run.data)) {
+                return false;
+            }
+        }
+        return run.isVisible(unit.component, run.data);
+    }
+
+    /**
+     * Validate an input and / or grid component, recording its cost and
+     * outcome when it is a top-level unit of an adaptive engine.
+     */
+    private void validateUnit(FormComponent component, @Nullable AdaptiveOrdering.Unit unit, Run run,
+            Scope scope) {
+        long started = unit != null ? System.nanoTime() : 0;
+        int errorsBefore = run.errors.size();
+
+        String type = normalizeType(component.getType());
+        if (component.isInput()) {
+            validateInputComponent(component, run, scope);
+        }
+        if ("editgrid".equals(type) || "datagrid".equals(type)) {
+            validateGridComponent(component, run, scope);
+        }
+
+        if (unit != null) {
+            unit.record(System.nanoTime() - started, run.errors.size() > errorsBefore);
+        }
+    }
+
+    /**
+     * Whether estimated work is large enough to validate in parallel.
+     * Runs with an error budget stay sequential.
+     */
+    private boolean isParallel(Run run, long work) {
+        return pool != null && work >= parallelThreshold && run.mode.isCollectAll();
+    }
+
+    /**
+     * Run tasks on the validation pool and return their results in task
+     * order. Nested calls from a pool thread (a large grid inside a
+     * parallel branch) fork within the pool instead of blocking a worker.
+     */
+    private <T> List<T> inParallel(int tasks, IntFunction<T> task) {
+        if (ForkJoinTask.getPool() == pool) {
+            return IntStream.range(0, tasks).parallel().mapToObj(task).toList();
+        }
+        return pool.submit(() -> IntStream.range(0, tasks).parallel().mapToObj(task).toList()).join();
+    }
+
     /**
      * Recursively traverse a list of Form.io components.
      * Layout components are traversed for their children; input components
-     * are validated; static components are skipped.
+     * are validated; static and hidden components are skipped together
+     * with their children. Grid rows are traversed the same way, in the
+     * row's scope, so layouts, containers and nested grids inside rows
+     * are validated too.
      */
-    private void traverseComponents(List<FormComponent> components,
-            Map<String, Object> data,
-            Map<String, String> errors) {
+    private void traverseComponents(List<FormComponent> components, Run run, Scope scope) {
         if (components == null) {
             return;
         }
         for (FormComponent component : components) {
+            // ── Error budget used up: stop validating ───────────────
+            if (run.isExhausted()) {
+                return;
+            }
+
             String type = normalizeType(component.getType());
 
             // ── Static: skip entirely ───────────────────────────────
@@ -109,65 +722,87 @@ public class ValidationEngine {
                 continue;
             }
 
+            // ── Hidden by a conditional: prune the whole subtree ────
+            if (!run.isVisible(component, scope.values())) {
+                continue;
+            }
+
             // ── Columns: special layout with column children ────────
             if ("columns".equals(type)) {
-                traverseColumns(component, data, errors);
+                traverseColumns(component, run, scope);
                 continue;
             }
 
             // ── Layout: recurse into children ───────────────────────
+            // (containers nest their data; the children's precompiled
+            // paths already include the container key)
             if (LAYOUT_TYPES.contains(type)) {
-                traverseComponents(component.getComponents(), data, errors);
+                traverseComponents(component.getComponents(), run, scope);
                 continue;
             }
 
-            // ── Input: validate against flat data ───────────────────
-            if (component.isInput()) {
-                validateInputComponent(component, data, errors);
-            }
+            boolean selected = run.only == null || !scope.isRoot() || isSelected(component, run);
 
-            // ── EditGrid: validate each row's children against row data ──
-            if ("editgrid".equals(type) || "datagrid".equals(type)) {
-                validateGridComponent(component, data, errors);
+            // ── Input / EditGrid: validate against the scope's data ──
+            // (grids validate each row's children against row data)
+            if (selected) {
+                AdaptiveOrdering.Unit unit = adaptiveOrdering && scope.isRoot()
+                        ? run.plan.ordering().unit(component)
+                        : null;
+                validateUnit(component, unit, run, scope);
             }
 
             // ── If it has children (non-standard layout), traverse ──
             if (component.getComponents() != null && !component.getComponents().isEmpty()
                     && !"editgrid".equals(type) && !"datagrid".equals(type)) {
-                traverseComponents(component.getComponents(), data, errors);
+                traverseComponents(component.getComponents(), run, scope);
             }
         }
     }
 
+    /**
+     * Whether a root-scope component is among the keys of a partial
+     * validation: by its own key, its dotted path, or the top-level key
+     * of its outermost container (so {@code order.qty} is validated when
+     * {@code order} changed).
+     */
+    private static boolean isSelected(FormComponent component, Run run) {
+        if (run.only.contains(component.getKey())) {
+            return true;
+        }
+        DataPath path = run.plan.path(component);
+        return path != null && path.isNested()
+                && (run.only.contains(path.root()) || run.only.contains(path.toString()));
+    }
+
     /**
      * Traverse a columns-type component: iterate each column's components.
      */
-    private void traverseColumns(FormComponent columnsComponent,
-            Map<String, Object> data,
-            Map<String, String> errors) {
+    private void traverseColumns(FormComponent columnsComponent, Run run, Scope scope) {
         List<FormColumn> columns = columnsComponent.getColumns();
         if (columns == null) {
             return;
         }
         for (FormColumn column : columns) {
-            traverseComponents(column.getComponents(), data, errors);
+            traverseComponents(column.getComponents(), run, scope);
         }
     }
 
     // ───────────────────────────── Input Validation ───────────────────────
 
     /**
-     * Validate a single input component against the flat data map.
+     * Validate a single input component against its scope's data. Errors
+     * are keyed by the component's data path within the scope's prefix.
      */
-    private void validateInputComponent(FormComponent component,
-            Map<String, Object> data,
-            Map<String, String> errors) {
-        String key = component.getKey();
-        if (key == null || key.isEmpty()) {
+    private void validateInputComponent(FormComponent component, Run run, Scope scope) {
+        DataPath path = run.plan.path(component);
+        if (path == null) {
             return;
         }
 
-        Object value = data == null ? null : data.get(key);
+        Map<String, String> errors = run.errors;
+        Object value = path.get(scope.values());
+        String key = path.errorKey(scope.values(), scope.prefix());
         ComponentValidation validate = component.getValidate();
 
         // ── Required check ──────────────────────────────────────────
@@ -182,151 +817,72 @@ public class ValidationEngine {
             return;
         }
 
-        // ── Type-specific validation ────────────────────────────────
-        String type = normalizeType(component.getType());
-        switch (type) {
-            case "textfield", "textarea", "password", "phonenumber" ->
-                validateText(component, value, key, errors);
-            case "email" ->
-                validateEmail(component, value, key, errors);
-            case "url" ->
-                validateUrl(component, value, key, errors);
-            case "number", "currency" ->
-                validateNumber(component, value, key, errors);
-            case "select", "radio" ->
-                validateSelect(component, value, key, errors);
-            case "datetime", "day", "time" ->
-                validateDateTime(component, value, key, errors);
-            case "signature" ->
-                validateSignature(value, key, errors);
-            default ->
-                validateText(component, value, key, errors);
+        // ── Input mask (compiled, single pass) ──────────────────────
+        InputMask mask = run.plan.inputMask(component);
+        if (mask != null) {
+            int position = mask.mismatch(value.toString());
+            if (position >= 0) {
+                errors.put(key, validate != null && hasCustomMessage(validate) ? validate.getCustomMessage()
+                        : "Value does not match the mask " + mask + " at character " + (position + 1));
+                return;
+            }
+        }
+
+        // ── Type-specific validation (validator resolved in the plan) ──
+        ComponentValidator validator = run.plan.validator(component);
+        String error = validator == BuiltInValidators.NUMBER ? validateNumber(component, run, scope, value)
+                : validator == BuiltInValidators.DATE_TIME ? validateDateTime(component, run, scope, value)
+                : validator.validate(component, value);
+        if (error != null) {
+            errors.put(key, error);
         }
 
         // ── Custom JavaScript validation (cross-field) ────────────────
         // Runs after built-in checks. Only executes if no error was
         // already recorded for this key by the checks above.
-        if (!errors.containsKey(key)) {
-            validateCustomJavaScript(component, value, data, key, errors);
-        }
-    }
-
-    // ───────────────────────────── Type-Specific Validators ───────────────
-
-    /** Validate text-like fields: pattern and min/max length. */
-    private void validateText(FormComponent component, Object value, String key,
-            Map<String, String> errors) {
-        String strValue = value.toString();
-        ComponentValidation v = component.getValidate();
-        if (v == null)
-            return;
-
-        // Pattern check
-        if (v.getPattern() != null && !v.getPattern().isEmpty()) {
-            if (!Pattern.matches(v.getPattern(), strValue)) {
-                String msg = hasCustomMessage(v) ? v.getCustomMessage()
-                        : "Value does not match pattern: " + v.getPattern();
-                errors.put(key, msg);
+        if (!errors.containsKey(key) && !run.isExhausted()) {
+            if (scope.isRoot()) {
+                validateCustomJavaScript(component, value, run.data, key, errors);
+            } else {
+                applyRowScriptResult(component, run, scope, key);
             }
         }
-
-        // MinLength check
-        Integer minLen = parseIntOrNull(v.getMinLength());
-        if (minLen != null && strValue.length() < minLen) {
-            errors.put(key, "Value must be at least " + minLen + " characters");
-        }
-
-        // MaxLength check
-        Integer maxLen = parseIntOrNull(v.getMaxLength());
-        if (maxLen != null && strValue.length() > maxLen) {
-            errors.put(key, "Value must be at most " + maxLen + " characters");
-        }
-    }
-
-    /** Validate email fields: email format + text validation. */
-    private void validateEmail(FormComponent component, Object value, String key,
-            Map<String, String> errors) {
-        String strValue = value.toString();
-        EmailValidator emailValidator = new EmailValidator();
-        if (!emailValidator.isValid(strValue, null)) {
-            errors.put(key, "Invalid email format");
-            return;
-        }
-        // Also run text-level checks (pattern, length)
-        validateText(component, value, key, errors);
-    }
-
-    /** Validate URL fields: basic URL format check. */
-    private void validateUrl(FormComponent component, Object value, String key,
-            Map<String, String> errors) {
-        // Run text-level checks (pattern, length)
-        validateText(component, value, key, errors);
     }
 
-    /** Validate number fields: numeric format + min/max. */
-    private void validateNumber(FormComponent component, Object value, String key,
-            Map<String, String> errors) {
-        double numValue;
-        try {
-            numValue = Double.parseDouble(value.toString());
-        } catch (NumberFormatException e) {
-            errors.put(key, "Expected a numeric value");
-            return;
-        }
-
-        ComponentValidation v = component.getValidate();
-        if (v == null)
-            return;
-
-        Double min = parseDoubleOrNull(v.getMinLength());
-        Double max = parseDoubleOrNull(v.getMaxLength());
-
-        if (min != null && numValue < min) {
-            errors.put(key, "Value must be >= " + min);
-        }
-        if (max != null && numValue > max) {
-            errors.put(key, "Value must be <= " + max);
-        }
-    }
+    // ───────────────────────────── Compiled Validators ────────────────────
 
     /**
-     * Validate select fields: submitted value must be one of the allowed options.
+     * Built-in number validation using the plan: top-level values come
+     * from the coerced submission, grid row values are parsed.
      */
-    private void validateSelect(FormComponent component, Object value, String key,
-            Map<String, String> errors) {
-        ComponentData data = component.getData();
-        if (data == null || data.getValues() == null || data.getValues().isEmpty()) {
-            return; // no predefined values to check against
+    private String validateNumber(FormComponent component, Run run, Scope scope, Object value) {
+        int slot = scope.isRoot() ? run.plan.slot(component) : -1;
+        if (slot < 0) {
+            return BuiltInValidators.NUMBER.validate(component, value);
         }
-
-        String strValue = value.toString();
-        boolean found = data.getValues().stream()
-                .anyMatch(sv -> strValue.equals(sv.getValue()));
-
-        if (!found) {
-            errors.put(key, "Value is not one of the allowed options");
-        }
-    }
-
-    /** Validate datetime fields: check that a non-empty string is provided. */
-    private void validateDateTime(FormComponent component, Object value, String key,
-            Map<String, String> errors) {
-        // Basic validation: value should be a non-blank string
-        // (Full ISO-8601 parsing could be added later)
-        if (isBlank(value)) {
-            errors.put(key, "A valid date/time is required");
+        TypedSubmission record = run.record();
+        if (record.isInvalid(slot)) {
+            return BuiltInValidators.numberError(run.plan.fieldType(component));
         }
+        return BuiltInValidators.checkRange(component, record.getDouble(slot));
     }
 
     /**
-     * Validate signature fields: check that a non-empty string (Base64) is
-     * provided.
+     * Built-in datetime / day / time validation against the component's
+     * compiled {@link DateTimeRule}: format and min / max date. Top-level
+     * datetime values already coerced to a date or instant are not parsed
+     * again.
      */
-    private void validateSignature(Object value, String key,
-            Map<String, String> errors) {
-        if (isBlank(value)) {
-            errors.put(key, "Signature is required");
+    private String validateDateTime(FormComponent component, Run run, Scope scope, Object value) {
+        DateTimeRule rule = run.plan.dateTimeRule(component);
+        if (rule == null) {
+            return null;
         }
+        int slot = scope.isRoot() ? run.plan.slot(component) : -1;
+        Object typed = slot >= 0 ? run.record().get(slot) : null;
+        return typed instanceof LocalDate date ? rule.check(date)
+                : typed instanceof Instant instant ? rule.check(instant)
+                : rule.check(value);
     }
 
     // ───────────────────────────── Helpers ────────────────────────────────
@@ -371,17 +927,16 @@ public class ValidationEngine {
 
     /**
      * Validate editgrid / datagrid components by iterating submitted rows
-     * and validating each row's child components against that row's data.
+     * and traversing the grid's children in each row's scope, with error
+     * keys such as {@code items[3].qty} (nested grids:
+     * {@code items[3].parts[0].name}).
      */
-    @SuppressWarnings("unchecked")
-    private void validateGridComponent(FormComponent gridComponent,
-            Map<String, Object> data,
-            Map<String, String> errors) {
-        String gridKey = gridComponent.getKey();
-        if (gridKey == null || data == null)
+    private void validateGridComponent(FormComponent gridComponent, Run run, Scope scope) {
+        DataPath path = run.plan.path(gridComponent);
+        if (path == null || scope.values() == null)
             return;
 
-        Object gridData = data.get(gridKey);
+        Object gridData = path.get(scope.values());
         if (!(gridData instanceof List<?> rows))
             return;
 
@@ -389,42 +944,104 @@ public class ValidationEngine {
         if (rowComponents == null || rowComponents.isEmpty())
             return;
 
-        for (int i = 0; i < rows.size(); i++) {
-            Object rowObj = rows.get(i);
-            if (!(rowObj instanceof Map<?, ?> rowMap))
+        String gridPrefix = path.errorKey(scope.values(), scope.prefix());
+        long work = rows.size() * run.plan.rowCost(gridComponent);
+        if (!run.mode.isCollectAll()) {
+            // ── Error budget: evaluate row scripts in blocks, stop early ──
+            for (int from = 0; from < rows.size() && !run.isExhausted(); from += BUDGETED_ROW_BLOCK) {
+                validateGridRows(gridComponent, rows, from, Math.min(rows.size(), from + BUDGETED_ROW_BLOCK),
+                        run, gridPrefix);
+            }
+            return;
+        }
+        if (!isParallel(run, work) || rows.size() < 2) {
+            validateGridRows(gridComponent, rows, 0, rows.size(), run, gridPrefix);
+            return;
+        }
+
+        // ── Large grid: validate row chunks in parallel, merge in order ──
+        int chunks = Math.min(rows.size(), pool.getParallelism() * CHUNKS_PER_THREAD);
+        List<Run> branches = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            branches.add(run.fork());
+        }
+        inParallel(chunks, chunk -> {
+            validateGridRows(gridComponent, rows,
+                    (int) ((long) rows.size() * chunk / chunks),
+                    (int) ((long) rows.size() * (chunk + 1) / chunks),
+                    branches.get(chunk), gridPrefix);
+            return branches.get(chunk).errors;
+        }).forEach(run.errors::putAll);
+    }
+
+    /**
+     * Validate rows {@code [from, to)} of a grid.
+     */
+    @SuppressWarnings("unchecked")
+    private void validateGridRows(FormComponent gridComponent, List<?> rows, int from, int to,
+            Run run, String gridPrefix) {
+        RowBatch batch = evaluateGridScripts(gridComponent, rows, from, to, run);
+        for (int i = from; i < to && !run.isExhausted(); i++) {
+            if (!(rows.get(i) instanceof Map<?, ?> rowMap))
                 continue;
+            Scope rowScope = new Scope((Map<String, Object>) rowMap, gridPrefix + "[" + i + "].", batch, i);
+            traverseComponents(gridComponent.getComponents(), run, rowScope);
+        }
+    }
 
-            Map<String, Object> rowData = (Map<String, Object>) rowMap;
-            for (FormComponent child : rowComponents) {
-                if (!child.isInput())
-                    continue;
-                String childKey = child.getKey();
-                if (childKey == null)
-                    continue;
-
-                // Create a scoped error key: gridKey[index].childKey
-                String errorKey = gridKey + "[" + i + "]." + childKey;
-                Object value = rowData.get(childKey);
-                ComponentValidation cv = child.getValidate();
-
-                // Required check within the row
-                if (cv != null && cv.isRequired() && isBlank(value)) {
-                    String msg = hasCustomMessage(cv) ? cv.getCustomMessage() : "Field is required";
-                    errors.put(errorKey, msg);
-                    continue;
-                }
+    /**
+     * Run the custom validation scripts of a grid's row scope over rows
+     * {@code [from, to)} in one JS call per script, with {@code row} bound
+     * to each row's data. A script runs for a row only where its component
+     * is visible and has a value; the results are applied during the
+     * traversal of each row.
+     *
+     * @return the batched results, or {@code null} if no script needs to run
+     */
+    @SuppressWarnings("unchecked")
+    private RowBatch evaluateGridScripts(FormComponent gridComponent, List<?> rows,
+            int from, int to, Run run) {
+        List<FormComponent> scripted = run.plan.rowScripts(gridComponent);
+        if (jsEngine == null || scripted.isEmpty()) {
+            return null;
+        }
 
-                // Custom JS validation within the row (row-scoped data)
-                if (cv != null && cv.getCustom() != null && !cv.getCustom().isBlank()
-                        && jsEngine != null && !isBlank(value)) {
-                    String jsError = jsEngine.evaluate(cv.getCustom(), value, data, child);
-                    if (jsError != null) {
-                        String msg = hasCustomMessage(cv) ? cv.getCustomMessage() : jsError;
-                        errors.put(errorKey, msg);
-                    }
-                }
+        List<Map<String, Object>> rowData = new ArrayList<>(to - from);
+        Object[][] inputs = new Object[scripted.size()][to - from];
+        boolean[][] mask = new boolean[scripted.size()][to - from];
+        boolean any = false;
+        for (int i = from; i < to; i++) {
+            Map<String, Object> row = rows.get(i) instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+            rowData.add(row);
+            for (int s = 0; s < scripted.size(); s++) {
+                FormComponent child = scripted.get(s);
+                Object value = run.plan.path(child).get(row);
+                boolean due = !isBlank(value) && run.isVisible(child, row);
+                inputs[s][i - from] = due ? value : null;
+                mask[s][i - from] = due;
+                any |= due;
             }
         }
+        if (!any) {
+            return null;
+        }
+        return new RowBatch(jsEngine.evaluateRows(scripted, run.plan.rowScriptSources(gridComponent), rowData,
+                inputs, mask, run.data), from);
+    }
+
+    /**
+     * Record the batched custom script result of an input inside a grid row.
+     */
+    private void applyRowScriptResult(FormComponent component, Run run, Scope scope, String key) {
+        int index = run.plan.rowScriptIndex(component);
+        if (index < 0 || scope.batch() == null) {
+            return;
+        }
+        String jsError = scope.batch().errors()[index][scope.row() - scope.batch().from()];
+        if (jsError != null) {
+            ComponentValidation v = component.getValidate();
+            run.errors.put(key, hasCustomMessage(v) ? v.getCustomMessage() : jsError);
+        }
     }
 
     // ───────────────────────────── Helpers ────────────────────────────────
@@ -449,26 +1066,4 @@ public class ValidationEngine {
     private boolean hasCustomMessage(ComponentValidation v) {
         return v != null && v.getCustomMessage() != null && !v.getCustomMessage().isEmpty();
     }
-
-    /** Parse a string as Integer, returning null if blank or non-numeric. */
-    private Integer parseIntOrNull(String s) {
-        if (s == null || s.trim().isEmpty())
-            return null;
-        try {
-            return Integer.parseInt(s.trim());
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
-
-    /** Parse a string as Double, returning null if blank or non-numeric. */
-    private Double parseDoubleOrNull(String s) {
-        if (s == null || s.trim().isEmpty())
-            return null;
-        try {
-            return Double.parseDouble(s.trim());
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
 }
@@ -0,0 +1,813 @@
+package com.genericform.engine;
+
+import com.genericform.core.ComponentValidation;
+import com.genericform.core.ComponentValidator;
+import com.genericform.core.FieldType;
+import com.genericform.core.FormColumn;
+import com.genericform.core.FormComponent;
+import com.genericform.core.FormSchema;
+import com.genericform.core.SubmissionStage;
+import com.genericform.core.TypedSubmission;
+import org.graalvm.polyglot.Source;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-schema data derived once by {@link ValidationEngine} and reused for
+ * every submission.
+ * <p>
+ * Plans are cached for published (frozen) schemas, see
+ * {@link FormRegistry}; for any other schema instance they are compiled
+ * per call, since the instance may still change.
+ * </p>
+ * <p>
+ * Holds the field <strong>dependency graph</strong>: for each data key,
+ * the input keys whose validation reads it. References are collected from
+ * </p>
+ * <ul>
+ * <li>JavaScript ({@code validate.custom}, {@code customConditional},
+ * {@code calculateValue}, {@code customDefaultValue}):
+ * {@code data.x} and {@code data['x']}</li>
+ * <li>JSONLogic ({@code validate.json}, {@code conditional.json}):
+ * {@code {"var": "data.x"}}</li>
+ * <li>Simple conditionals: {@code conditional.when} and
+ * {@code conditional.conditions[].component}</li>
+ * </ul>
+ * <p>
+ * Conditionals on a layout component apply to every input below it.
+ * Fields inside an {@code editgrid} / {@code datagrid} are validated as
+ * part of the grid, so their dependencies are attributed to the grid key.
+ * </p>
+ * <p>
+ * It also holds the compiled <strong>visibility conditions</strong>:
+ * simple {@code conditional} settings ({@code show} / {@code when} /
+ * {@code eq}, and the {@code conditions} list with operators) become Java
+ * predicates, and {@code customConditional} scripts outside grids are
+ * indexed so they can be evaluated in one batch per submission.
+ * JSONLogic conditionals are not evaluated; such components are treated
+ * as visible.
+ * </p>
+ * <p>
+ * The <strong>data paths</strong> of inputs, containers and grids are
+ * precompiled into {@link DataPath} accessors relative to the submission
+ * root or the enclosing grid row, together with the custom validation
+ * scripts of each grid's row scope, which are evaluated in one batch per
+ * grid. Their row-function {@code Source}s are built here too, so they
+ * are dropped with the plan instead of accumulating in the JS engine.
+ * </p>
+ * <p>
+ * It holds static <strong>work estimates</strong> used to decide
+ * when validation is worth parallelising: one unit per input and
+ * {@value #SCRIPT_COST} per custom validation script, the same weights as
+ * {@link SchemaComplexityAnalyzer}. Grids are estimated per row, since
+ * the row count is only known at submission time; {@link #cost(FormComponent, Map)}
+ * scales them by the submitted rows.
+ * </p>
+ * <p>
+ * The <strong>field types</strong> of inputs are derived from their
+ * schema declaration ({@link FieldType}), and the top-level inputs are
+ * laid out into the slots of a {@link TypedSubmission.Layout}, so each
+ * submission is coerced once into a {@link TypedSubmission}. Date, day
+ * and time inputs get a {@link DateTimeRule} with their formatters and
+ * limits, and inputs with an {@code inputMask} a compiled
+ * {@link InputMask}. Each input's {@link ComponentValidator} is resolved
+ * from the engine's {@link ComponentValidatorRegistry}.
+ * </p>
+ * <p>
+ * Inputs computed on the server ({@code calculateValue} with
+ * {@code calculateServer}) are compiled into {@link Calculations}, in
+ * dependency order.
+ * </p>
+ * <p>
+ * Finally it carries the {@link AdaptiveOrdering} of its top-level
+ * units, so runtime statistics live as long as the cached plan.
+ * </p>
+ */
+final class ValidationPlan {
+
+    private static final Set<String> SCRIPT_PROPERTIES = Set.of(
+            "customConditional", "calculateValue", "customDefaultValue");
+
+    static final int INPUT_COST = 1;
+    static final int SCRIPT_COST = 100;
+
+    private static final Pattern DATA_DOT = Pattern.compile("\\bdata\\.([A-Za-z_$][\\w$]*)");
+    private static final Pattern DATA_BRACKET = Pattern.compile("\\bdata\\[\\s*['\"]([^'\"]+)['\"]\\s*]");
+
+    /**
+     * Compiled visibility predicate, evaluated against a key lookup (the
+     * submission data, or a grid row falling back to the submission data).
+     */
+    @FunctionalInterface
+    interface Condition {
+        boolean isVisible(Function<String, Object> lookup);
+    }
+
+    /** data key → input keys that must be revalidated when it changes. */
+    private final Map<String, Set<String>> dependents;
+
+    /** Simple conditionals, keyed by component identity. */
+    private final Map<FormComponent, Condition> conditions;
+
+    /** Custom JS conditionals outside grids, in batch order. */
+    private final List<String> customConditionals;
+
+    /** Component → index into {@link #customConditionals}. */
+    private final Map<FormComponent, Integer> customConditionalIndex;
+
+    /** Estimated work of every component subtree (grids: one row). */
+    private final Map<FormComponent, Long> costs;
+
+    /** Estimated work of one row, per grid component. */
+    private final Map<FormComponent, Long> rowCosts;
+
+    /** Top-level component → the grids in its subtree that are not inside another grid. */
+    private final Map<FormComponent, List<FormComponent>> rootGrids;
+
+    /** Data paths of keyed components, relative to root or grid row. */
+    private final Map<FormComponent, DataPath> paths;
+
+    /** Grid → inputs with a custom script in its row scope. */
+    private final Map<FormComponent, List<FormComponent>> rowScripts;
+
+    /** Grid → wrapped row functions of its {@link #rowScripts}, in the same order. */
+    private final Map<FormComponent, List<Source>> rowScriptSources;
+
+    /** Input → index into its grid's {@link #rowScripts} list. */
+    private final Map<FormComponent, Integer> rowScriptIndex;
+
+    /** Runtime statistics and learned order of the top-level units. */
+    private final AdaptiveOrdering ordering;
+
+    /** Coerced type of every keyed input. */
+    private final Map<FormComponent, FieldType> fieldTypes;
+
+    /** Slots of the top-level inputs. */
+    private final TypedSubmission.Layout layout;
+
+    /** Top-level input of each slot. */
+    private final FormComponent[] slotInputs;
+
+    /** Data path of each slot. */
+    private final DataPath[] slotPaths;
+
+    /** Top-level input → slot. */
+    private final Map<FormComponent, Integer> slots;
+
+    /** Compiled rules of datetime / day / time inputs. */
+    private final Map<FormComponent, DateTimeRule> dateTimeRules;
+
+    /** Compiled input masks. */
+    private final Map<FormComponent, InputMask> inputMasks;
+
+    /** Resolved validator of every keyed input. */
+    private final Map<FormComponent, ComponentValidator> validators;
+
+    /** Server-side calculated fields, in evaluation order. */
+    private final Calculations calculations;
+
+    private ValidationPlan(Map<String, Set<String>> dependents, Map<FormComponent, Condition> conditions,
+            List<String> customConditionals, Map<FormComponent, Integer> customConditionalIndex,
+            Map<FormComponent, Long> costs, Map<FormComponent, Long> rowCosts,
+            Map<FormComponent, List<FormComponent>> rootGrids,
+            Map<FormComponent, DataPath> paths, Map<FormComponent, List<FormComponent>> rowScripts,
+            Map<FormComponent, Integer> rowScriptIndex, AdaptiveOrdering ordering,
+            Map<FormComponent, FieldType> fieldTypes, List<FormComponent> slotted,
+            Map<FormComponent, DateTimeRule> dateTimeRules, Map<FormComponent, InputMask> inputMasks,
+            Map<FormComponent, ComponentValidator> validators, Calculations calculations) {
+        this.dependents = dependents;
+        this.conditions = conditions;
+        this.customConditionals = customConditionals;
+        this.customConditionalIndex = customConditionalIndex;
+        this.costs = costs;
+        this.rowCosts = rowCosts;
+        this.rootGrids = rootGrids;
+        this.paths = paths;
+        this.rowScripts = rowScripts;
+        this.rowScriptSources = new IdentityHashMap<>();
+        rowScripts.forEach((grid, inputs) -> rowScriptSources.put(grid, inputs.stream()
+                .map(input -> JavaScriptValidationEngine.rowScript(input.getValidate().getCustom()))
+                .toList()));
+        this.rowScriptIndex = rowScriptIndex;
+        this.ordering = ordering;
+        this.fieldTypes = fieldTypes;
+        this.dateTimeRules = dateTimeRules;
+        this.inputMasks = inputMasks;
+        this.validators = validators;
+        this.calculations = calculations;
+        this.slots = new IdentityHashMap<>();
+        this.slotInputs = slotted.toArray(FormComponent[]::new);
+        this.slotPaths = new DataPath[slotted.size()];
+        List<String> keys = new ArrayList<>(slotted.size());
+        List<FieldType> types = new ArrayList<>(slotted.size());
+        for (FormComponent input : slotted) {
+            DataPath path = paths.get(input);
+            slotPaths[keys.size()] = path;
+            slots.put(input, keys.size());
+            keys.add(path.toString());
+            types.add(fieldTypes.get(input));
+        }
+        this.layout = new TypedSubmission.Layout(keys, types);
+    }
+
+    /**
+     * Compile the plan for a schema with the built-in validators.
+     */
+    static ValidationPlan compile(FormSchema schema) {
+        return compile(schema, ComponentValidatorRegistry.defaults());
+    }
+
+    /**
+     * Compile the plan for a schema, resolving validators from a registry.
+     */
+    static ValidationPlan compile(FormSchema schema, ComponentValidatorRegistry registry) {
+        Map<String, Set<String>> dependents = new HashMap<>();
+        collect(schema.getComponents(), Set.of(), null, dependents);
+        dependents.replaceAll((key, keys) -> Collections.unmodifiableSet(keys));
+
+        Map<FormComponent, Condition> conditions = new IdentityHashMap<>();
+        List<String> scripts = new ArrayList<>();
+        Map<FormComponent, Integer> scriptIndex = new IdentityHashMap<>();
+        collectConditions(schema.getComponents(), false, conditions, scripts, scriptIndex);
+
+        Map<FormComponent, Long> costs = new IdentityHashMap<>();
+        Map<FormComponent, Long> rowCosts = new IdentityHashMap<>();
+        estimate(schema.getComponents(), costs, rowCosts);
+        Map<FormComponent, List<FormComponent>> rootGrids = new IdentityHashMap<>();
+        if (schema.getComponents() != null) {
+            for (FormComponent component : schema.getComponents()) {
+                List<FormComponent> grids = new ArrayList<>();
+                collectGrids(List.of(component), grids);
+                if (!grids.isEmpty()) {
+                    rootGrids.put(component, grids);
+                }
+            }
+        }
+
+        Map<FormComponent, DataPath> paths = new IdentityHashMap<>();
+        Map<FormComponent, List<FormComponent>> rowScripts = new IdentityHashMap<>();
+        Map<FormComponent, Integer> rowScriptIndex = new IdentityHashMap<>();
+        collectPaths(schema.getComponents(), List.of(), null, paths, rowScripts, rowScriptIndex);
+
+        Map<FormComponent, FieldType> fieldTypes = new IdentityHashMap<>();
+        List<FormComponent> slotted = new ArrayList<>();
+        Map<FormComponent, DateTimeRule> dateTimeRules = new IdentityHashMap<>();
+        Map<FormComponent, InputMask> inputMasks = new IdentityHashMap<>();
+        Map<FormComponent, ComponentValidator> validators = new IdentityHashMap<>();
+        collectFieldTypes(schema.getComponents(), false, paths, registry, fieldTypes, slotted, dateTimeRules,
+                inputMasks, validators);
+
+        return new ValidationPlan(Collections.unmodifiableMap(dependents), conditions,
+                List.copyOf(scripts), scriptIndex, costs, rowCosts, rootGrids,
+                paths, rowScripts, rowScriptIndex, AdaptiveOrdering.compile(schema.getComponents(), costs),
+                fieldTypes, slotted, dateTimeRules, inputMasks, validators,
+                Calculations.compile(schema.getComponents(), paths));
+    }
+
+    /** Runtime statistics and learned order of the top-level units. */
+    AdaptiveOrdering ordering() {
+        return ordering;
+    }
+
+    // ───────────────────────────── Data Paths ─────────────────────────────
+
+    /** The data path of a keyed component, or {@code null}. */
+    DataPath path(FormComponent component) {
+        return paths.get(component);
+    }
+
+    /** Inputs with a custom script in a grid's row scope. */
+    List<FormComponent> rowScripts(FormComponent grid) {
+        return rowScripts.getOrDefault(grid, List.of());
+    }
+
+    /** The wrapped row functions of a grid's {@link #rowScripts}, in the same order. */
+    List<Source> rowScriptSources(FormComponent grid) {
+        return rowScriptSources.getOrDefault(grid, List.of());
+    }
+
+    /** Index of an input in its grid's {@link #rowScripts}, or {@code -1}. */
+    int rowScriptIndex(FormComponent component) {
+        Integer index = rowScriptIndex.get(component);
+        return index != null ? index : -1;
+    }
+
+    // ───────────────────────────── Field Types ────────────────────────────
+
+    /** The coerced type of a keyed input ({@link FieldType#STRING} if unknown). */
+    FieldType fieldType(FormComponent component) {
+        return fieldTypes.getOrDefault(component, FieldType.STRING);
+    }
+
+    /** The compiled rule of a datetime / day / time input, or {@code null}. */
+    DateTimeRule dateTimeRule(FormComponent component) {
+        return dateTimeRules.get(component);
+    }
+
+    /** The validator of an input (text checks if it has no key). */
+    ComponentValidator validator(FormComponent component) {
+        return validators.getOrDefault(component, BuiltInValidators.TEXT);
+    }
+
+    /** The compiled input mask of an input, or {@code null}. */
+    InputMask inputMask(FormComponent component) {
+        return inputMasks.get(component);
+    }
+
+    /** The slot of a top-level input, or {@code -1} (grid rows, layouts). */
+    int slot(FormComponent component) {
+        Integer slot = slots.get(component);
+        return slot != null ? slot : -1;
+    }
+
+    /** The slot layout of the top-level inputs. */
+    TypedSubmission.Layout layout() {
+        return layout;
+    }
+
+    /** Resolve and coerce the top-level inputs of a submission. */
+    TypedSubmission coerce(Map<String, Object> data) {
+        Object[] values = new Object[slotPaths.length];
+        for (int slot = 0; slot < values.length; slot++) {
+            values[slot] = slotPaths[slot].get(data);
+        }
+        return TypedSubmission.coerce(layout, data, values);
+    }
+
+    /**
+     * Apply the per-field normalisation of pipeline stages to the
+     * top-level inputs, in one pass.
+     *
+     * @param inPlace whether to write the values into {@code data}, which
+     *                must then be mutable, instead of a copy
+     * @return {@code data} itself if no value changed or {@code inPlace},
+     *         else a copy
+     */
+    Map<String, Object> normalize(Map<String, Object> data, List<SubmissionStage> stages, boolean inPlace) {
+        Map<String, Object> result = data;
+        for (int slot = 0; slot < slotPaths.length; slot++) {
+            Object original = slotPaths[slot].get(result);
+            if (original == null) {
+                continue;
+            }
+            Object value = original;
+            for (SubmissionStage stage : stages) {
+                value = stage.normalize(slotInputs[slot], value);
+            }
+            if (value != original) {
+                if (result == data && !inPlace) {
+                    result = new LinkedHashMap<>(data);
+                }
+                slotPaths[slot].put(result, value);
+            }
+        }
+        return result;
+    }
+
+    /** The server-side calculated fields. */
+    Calculations calculations() {
+        return calculations;
+    }
+
+    // ───────────────────────────── Work Estimates ─────────────────────────
+
+    /** Estimated work of a component subtree, counting one row per grid. */
+    long cost(FormComponent component) {
+        return costs.getOrDefault(component, 0L);
+    }
+
+    /** Estimated work of one row of a grid component. */
+    long rowCost(FormComponent grid) {
+        return rowCosts.getOrDefault(grid, 0L);
+    }
+
+    /**
+     * Estimated work of a top-level component subtree for one submission:
+     * {@link #cost(FormComponent)} with each grid outside other grids
+     * counted for its submitted rows (grids nested in rows: one row).
+     *
+     * @param component a top-level component
+     * @param data      the submission data
+     */
+    long cost(FormComponent component, Map<String, Object> data) {
+        long cost = cost(component);
+        for (FormComponent grid : rootGrids.getOrDefault(component, List.of())) {
+            DataPath path = paths.get(grid);
+            int rows = path != null && path.get(data) instanceof List<?> list ? list.size() : 0;
+            cost += (rows - 1) * rowCost(grid);
+        }
+        return cost;
+    }
+
+    // ───────────────────────────── Visibility ─────────────────────────────
+
+    /** The compiled simple conditional of a component, or {@code null}. */
+    Condition condition(FormComponent component) {
+        return conditions.get(component);
+    }
+
+    /** Custom JS conditionals to evaluate in one batch per submission. */
+    List<String> customConditionals() {
+        return customConditionals;
+    }
+
+    /** Index of a component's custom conditional in the batch, or {@code -1}. */
+    int customConditionalIndex(FormComponent component) {
+        Integer index = customConditionalIndex.get(component);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Compute the set of keys to validate after {@code changedKeys} were
+     * edited: the changed keys themselves plus everything that depends on
+     * them, transitively.
+     */
+    Set<String> affectedKeys(Collection<String> changedKeys) {
+        Set<String> affected = new LinkedHashSet<>(changedKeys);
+        Deque<String> pending = new ArrayDeque<>(changedKeys);
+        while (!pending.isEmpty()) {
+            for (String dependent : dependents.getOrDefault(pending.poll(), Set.of())) {
+                if (affected.add(dependent)) {
+                    pending.add(dependent);
+                }
+            }
+        }
+        return affected;
+    }
+
+    /** Direct dependents of a key (for tests and diagnostics). */
+    Set<String> dependentsOf(String key) {
+        return dependents.getOrDefault(key, Set.of());
+    }
+
+    // ───────────────────────────── Compilation ────────────────────────────
+
+    private static void collectPaths(List<FormComponent> components, List<String> prefix,
+            FormComponent grid, Map<FormComponent, DataPath> paths,
+            Map<FormComponent, List<FormComponent>> rowScripts, Map<FormComponent, Integer> rowScriptIndex) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            String type = component.getType() != null ? component.getType().toLowerCase() : "";
+            String key = component.getKey();
+            boolean keyed = key != null && !key.isEmpty();
+            List<String> path = keyed ? append(prefix, key) : prefix;
+            boolean isGrid = "editgrid".equals(type) || "datagrid".equals(type);
+
+            if (keyed && (component.isInput() || isGrid || "container".equals(type))) {
+                paths.put(component, new DataPath(path));
+            }
+            ComponentValidation validate = component.getValidate();
+            if (grid != null && keyed && component.isInput() && !isGrid && validate != null
+                    && validate.getCustom() != null && !validate.getCustom().isBlank()) {
+                List<FormComponent> scripts = rowScripts.computeIfAbsent(grid, g -> new ArrayList<>());
+                rowScriptIndex.put(component, scripts.size());
+                scripts.add(component);
+            }
+
+            // Grids start a new row scope; containers nest their children's data
+            List<String> childPrefix = isGrid ? List.of()
+                    : "container".equals(type) && keyed ? path : prefix;
+            FormComponent childGrid = isGrid ? component : grid;
+            collectPaths(component.getComponents(), childPrefix, childGrid, paths, rowScripts, rowScriptIndex);
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    if (column != null) {
+                        collectPaths(column.getComponents(), childPrefix, childGrid, paths, rowScripts,
+                                rowScriptIndex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Derive the field type, date/time rule, input mask and validator of
+     * every keyed input, collecting the top-level ones (outside grids) in
+     * schema order.
+     * Components with {@code allowMultipleMasks} submit an object rather
+     * than the masked text, so their masks are not compiled.
+     */
+    private static void collectFieldTypes(List<FormComponent> components, boolean inGrid,
+            Map<FormComponent, DataPath> paths, ComponentValidatorRegistry registry,
+            Map<FormComponent, FieldType> fieldTypes, List<FormComponent> slotted,
+            Map<FormComponent, DateTimeRule> dateTimeRules, Map<FormComponent, InputMask> inputMasks,
+            Map<FormComponent, ComponentValidator> validators) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            String type = component.getType() != null ? component.getType().toLowerCase() : "textfield";
+            boolean isGrid = "editgrid".equals(type) || "datagrid".equals(type);
+            if (component.isInput() && !isGrid && !"container".equals(type)
+                    && !ValidationEngine.STATIC_TYPES.contains(type) && paths.containsKey(component)) {
+                fieldTypes.put(component, fieldType(component, type));
+                validators.put(component, registry.get(type));
+                DateTimeRule rule = DateTimeRule.compile(component, type);
+                if (rule != null) {
+                    dateTimeRules.put(component, rule);
+                }
+                InputMask mask = InputMask.compile(component.getInputMask());
+                Map<String, Object> extras = component.getAdditionalProperties();
+                if (mask != null && (extras == null || !Boolean.TRUE.equals(extras.get("allowMultipleMasks")))) {
+                    inputMasks.put(component, mask);
+                }
+                if (!inGrid) {
+                    slotted.add(component);
+                }
+            }
+            boolean childInGrid = inGrid || isGrid;
+            collectFieldTypes(component.getComponents(), childInGrid, paths, registry, fieldTypes, slotted,
+                    dateTimeRules, inputMasks, validators);
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    if (column != null) {
+                        collectFieldTypes(column.getComponents(), childInGrid, paths, registry, fieldTypes,
+                                slotted, dateTimeRules, inputMasks, validators);
+                    }
+                }
+            }
+        }
+    }
+
+    /** The field type of an input of the given (lower-case) type. */
+    static FieldType fieldType(FormComponent component, String type) {
+        Map<String, Object> extras = component.getAdditionalProperties();
+        return switch (type) {
+            case "number" -> extras != null && isZero(extras.get("decimalLimit"))
+                    ? FieldType.LONG
+                    : FieldType.DOUBLE;
+            case "currency" -> FieldType.DECIMAL;
+            case "checkbox" -> FieldType.BOOLEAN;
+            case "datetime" -> extras != null && Boolean.FALSE.equals(extras.get("enableTime"))
+                    ? FieldType.DATE
+                    : FieldType.INSTANT;
+            default -> FieldType.STRING;
+        };
+    }
+
+    private static boolean isZero(Object value) {
+        return value instanceof Number n ? n.intValue() == 0 : "0".equals(value);
+    }
+
+    private static List<String> append(List<String> prefix, String key) {
+        List<String> path = new ArrayList<>(prefix.size() + 1);
+        path.addAll(prefix);
+        path.add(key);
+        return path;
+    }
+
+    private static long estimate(List<FormComponent> components, Map<FormComponent, Long> costs,
+            Map<FormComponent, Long> rowCosts) {
+        if (components == null) {
+            return 0;
+        }
+        long total = 0;
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            long cost = 0;
+            if (component.isInput()) {
+                cost += INPUT_COST;
+                ComponentValidation validate = component.getValidate();
+                if (validate != null && validate.getCustom() != null && !validate.getCustom().isBlank()) {
+                    cost += SCRIPT_COST;
+                }
+            }
+            long children = estimate(component.getComponents(), costs, rowCosts);
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    if (column != null) {
+                        children += estimate(column.getComponents(), costs, rowCosts);
+                    }
+                }
+            }
+            String type = component.getType() != null ? component.getType().toLowerCase() : "";
+            if ("editgrid".equals(type) || "datagrid".equals(type)) {
+                rowCosts.put(component, children);
+            }
+            cost += children;
+            costs.put(component, cost);
+            total += cost;
+        }
+        return total;
+    }
+
+    /** Collect the grids of a subtree, without descending into them. */
+    private static void collectGrids(List<FormComponent> components, List<FormComponent> grids) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            String type = component.getType() != null ? component.getType().toLowerCase() : "";
+            if ("editgrid".equals(type) || "datagrid".equals(type)) {
+                grids.add(component);
+                continue;
+            }
+            collectGrids(component.getComponents(), grids);
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    if (column != null) {
+                        collectGrids(column.getComponents(), grids);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void collectConditions(List<FormComponent> components, boolean inGrid,
+            Map<FormComponent, Condition> conditions, List<String> scripts,
+            Map<FormComponent, Integer> scriptIndex) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            Map<String, Object> extras = component.getAdditionalProperties();
+            if (extras != null) {
+                if (!inGrid && extras.get("customConditional") instanceof String script && !script.isBlank()) {
+                    scriptIndex.put(component, scripts.size());
+                    scripts.add(script);
+                } else if (extras.get("conditional") instanceof Map<?, ?> conditional) {
+                    Condition condition = Conditions.compile(conditional);
+                    if (condition != null) {
+                        conditions.put(component, condition);
+                    }
+                }
+            }
+
+            String type = component.getType() != null ? component.getType().toLowerCase() : "";
+            boolean grid = inGrid || "editgrid".equals(type) || "datagrid".equals(type);
+            collectConditions(component.getComponents(), grid, conditions, scripts, scriptIndex);
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    if (column != null) {
+                        collectConditions(column.getComponents(), grid, conditions, scripts, scriptIndex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param inherited keys referenced by conditionals of enclosing components
+     * @param gridKey   key of the enclosing grid, or {@code null} at top level
+     */
+    private static void collect(List<FormComponent> components, Set<String> inherited, String gridKey,
+            Map<String, Set<String>> dependents) {
+        if (components == null) {
+            return;
+        }
+        for (FormComponent component : components) {
+            if (component == null) {
+                continue;
+            }
+            Set<String> visibility = new LinkedHashSet<>(inherited);
+            conditionalReferences(component, visibility);
+
+            Set<String> references = new LinkedHashSet<>(visibility);
+            validationReferences(component, references);
+
+            String owner = gridKey != null ? gridKey : component.isInput() ? component.getKey() : null;
+            if (owner != null) {
+                for (String reference : references) {
+                    if (!reference.equals(owner)) {
+                        dependents.computeIfAbsent(reference, k -> new LinkedHashSet<>()).add(owner);
+                    }
+                }
+            }
+
+            String type = component.getType() != null ? component.getType().toLowerCase() : "";
+            boolean grid = "editgrid".equals(type) || "datagrid".equals(type);
+            String childGrid = gridKey != null ? gridKey : grid ? component.getKey() : null;
+            collect(component.getComponents(), visibility, childGrid, dependents);
+            if (component.getColumns() != null) {
+                for (FormColumn column : component.getColumns()) {
+                    if (column != null) {
+                        collect(column.getComponents(), visibility, childGrid, dependents);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void conditionalReferences(FormComponent component, Set<String> out) {
+        Map<String, Object> extras = component.getAdditionalProperties();
+        if (extras == null) {
+            return;
+        }
+        if (extras.get("conditional") instanceof Map<?, ?> conditional) {
+            if (conditional.get("when") instanceof String when && !when.isBlank()) {
+                out.add(topLevelKey(when));
+            }
+            if (conditional.get("conditions") instanceof List<?> conditions) {
+                for (Object condition : conditions) {
+                    if (condition instanceof Map<?, ?> c && c.get("component") instanceof String key
+                            && !key.isBlank()) {
+                        out.add(topLevelKey(key));
+                    }
+                }
+            }
+            jsonLogicReferences(conditional.get("json"), out);
+        }
+        if (extras.get("customConditional") instanceof String script) {
+            scriptReferences(script, out);
+        }
+    }
+
+    private static void validationReferences(FormComponent component, Set<String> out) {
+        ComponentValidation validate = component.getValidate();
+        if (validate != null) {
+            scriptReferences(validate.getCustom(), out);
+            if (validate.getAdditionalProperties() != null) {
+                jsonLogicReferences(validate.getAdditionalProperties().get("json"), out);
+            }
+        }
+        Map<String, Object> extras = component.getAdditionalProperties();
+        if (extras != null) {
+            for (String property : SCRIPT_PROPERTIES) {
+                if (extras.get(property) instanceof String script) {
+                    scriptReferences(script, out);
+                }
+            }
+        }
+    }
+
+    /** Collect {@code data.x} / {@code data['x']} references from a script. */
+    static void scriptReferences(String script, Set<String> out) {
+        if (script == null || script.isBlank()) {
+            return;
+        }
+        Matcher dot = DATA_DOT.matcher(script);
+        while (dot.find()) {
+            out.add(dot.group(1));
+        }
+        Matcher bracket = DATA_BRACKET.matcher(script);
+        while (bracket.find()) {
+            out.add(topLevelKey(bracket.group(1)));
+        }
+    }
+
+    /** Collect {@code {"var": ...}} references from a JSONLogic expression. */
+    static void jsonLogicReferences(Object logic, Set<String> out) {
+        if (logic instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if ("var".equals(entry.getKey())) {
+                    Object var = entry.getValue() instanceof List<?> list && !list.isEmpty()
+                            ? list.get(0) : entry.getValue();
+                    if (var instanceof String path && !path.isBlank()) {
+                        String stripped = path.startsWith("data.") ? path.substring(5) : path;
+                        if (!stripped.startsWith("row.") && !stripped.equals("input")) {
+                            out.add(topLevelKey(stripped));
+                        }
+                    }
+                } else {
+                    jsonLogicReferences(entry.getValue(), out);
+                }
+            }
+        } else if (logic instanceof List<?> list) {
+            for (Object item : list) {
+                jsonLogicReferences(item, out);
+            }
+        }
+    }
+
+    private static String topLevelKey(String path) {
+        int end = path.length();
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '.' || c == '[') {
+                end = i;
+                break;
+            }
+        }
+        return path.substring(0, end);
+    }
+}
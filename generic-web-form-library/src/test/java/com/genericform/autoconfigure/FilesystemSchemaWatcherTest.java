@@ -0,0 +1,77 @@
+package com.genericform.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genericform.core.FormSchema;
+import com.genericform.engine.FormRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilesystemSchemaWatcherTest {
+
+    @TempDir
+    Path dir;
+
+    private FormRegistry registry;
+    private FilesystemSchemaWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        writeSchema("survey", "1.0");
+        writeSchema("other", "1.0");
+        registry = new FormRegistry(new FilesystemSchemaProvider(new ObjectMapper(), dir.toString()));
+        watcher = new FilesystemSchemaWatcher(dir.toString(), registry, 50);
+        watcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.close();
+    }
+
+    private void writeSchema(String formId, String version) throws Exception {
+        Files.writeString(dir.resolve(formId + ".json"),
+                "{\"form_id\":\"" + formId + "\",\"form_version\":\"" + version + "\",\"components\":[]}");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(25);
+        }
+    }
+
+    @Test
+    @DisplayName("should reload only the modified cached schema")
+    void reloadsModifiedSchema() throws Exception {
+        FormSchema before = registry.get("survey").orElseThrow();
+        FormSchema other = registry.get("other").orElseThrow();
+        assertEquals("1.0", before.getVersion());
+
+        writeSchema("survey", "2.0");
+
+        await(() -> "2.0".equals(registry.get("survey").orElseThrow().getVersion()));
+        assertEquals("1.0", before.getVersion(), "previously obtained instance must not change");
+        assertSame(other, registry.get("other").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("should evict a cached schema when its file is deleted")
+    void evictsDeletedSchema() throws Exception {
+        registry.get("survey").orElseThrow();
+
+        Files.delete(dir.resolve("survey.json"));
+
+        await(() -> !registry.isCached("survey"));
+        assertTrue(registry.get("survey").isEmpty());
+    }
+}
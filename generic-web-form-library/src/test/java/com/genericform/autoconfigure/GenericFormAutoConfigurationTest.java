@@ -0,0 +1,37 @@
+package com.genericform.autoconfigure;
+
+import com.genericform.engine.SchemaWarmup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenericFormAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(GenericFormAutoConfiguration.class))
+            .withPropertyValues("genericform.schema.custom-js-enabled=false");
+
+    @Test
+    @DisplayName("should register the warm-up, its runner and readiness indicator when enabled")
+    void warmupEnabled() {
+        contextRunner.withPropertyValues("genericform.schema.warmup-enabled=true").run(context -> {
+            assertThat(context).hasSingleBean(SchemaWarmup.class);
+            assertThat(context).hasSingleBean(SchemaWarmupHealthIndicator.class);
+            assertThat(context).hasBean("schemaWarmupRunner");
+        });
+    }
+
+    @Test
+    @DisplayName("should register no warm-up beans by default")
+    void warmupDisabled() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(SchemaWarmup.class);
+            assertThat(context).doesNotHaveBean(SchemaWarmupHealthIndicator.class);
+            assertThat(context).doesNotHaveBean(ApplicationRunner.class);
+        });
+    }
+}
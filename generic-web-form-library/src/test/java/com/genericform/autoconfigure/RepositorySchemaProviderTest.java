@@ -0,0 +1,44 @@
+package com.genericform.autoconfigure;
+
+import com.genericform.core.FormSchema;
+import com.genericform.core.SchemaSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositorySchemaProviderTest {
+
+    @Test
+    @DisplayName("should list form ids page by page without loading the schemas")
+    void listsThroughSummaries() {
+        List<String> pages = new ArrayList<>();
+        InMemorySchemaRepository repository = new InMemorySchemaRepository() {
+            @Override
+            public List<FormSchema> findAll() {
+                throw new AssertionError("schemas should not be loaded to list their ids");
+            }
+
+            @Override
+            public List<SchemaSummary> findSummaries(String afterFormId, int limit) {
+                pages.add(String.valueOf(afterFormId));
+                return IntStream.range(0, RepositorySchemaProvider.LIST_PAGE_SIZE + 3)
+                        .mapToObj("form-%04d"::formatted)
+                        .filter(id -> afterFormId == null || id.compareTo(afterFormId) > 0)
+                        .limit(limit)
+                        .map(id -> new SchemaSummary(id, null, "1.0", null, null, null))
+                        .toList();
+            }
+        };
+
+        List<String> formIds = new RepositorySchemaProvider(repository).listFormIds();
+
+        assertEquals(RepositorySchemaProvider.LIST_PAGE_SIZE + 3, formIds.size());
+        assertEquals("form-0502", formIds.get(formIds.size() - 1));
+        assertEquals(List.of("null", "form-0499"), pages);
+    }
+}
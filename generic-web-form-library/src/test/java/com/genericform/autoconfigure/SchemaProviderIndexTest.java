@@ -0,0 +1,114 @@
+package com.genericform.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genericform.core.FormSchema;
+import com.genericform.engine.SchemaCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaProviderIndexTest {
+
+    private static final String SCHEMA = "{\"form_id\":\"%s\",\"form_version\":\"1.0\",\"components\":[]}";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("classpath provider should index bundled schemas at startup")
+    void classpathIndex() {
+        ClasspathSchemaProvider provider = new ClasspathSchemaProvider(new ObjectMapper(), "forms/");
+
+        assertTrue(provider.listFormIds().contains("survey"));
+        SchemaIndex.Entry entry = provider.getIndex().get("survey").orElseThrow();
+        assertTrue(entry.getSize() > 0);
+        assertEquals(64, entry.getContentHash().length());
+
+        assertTrue(provider.load("survey").isPresent());
+        assertTrue(provider.load("does-not-exist").isEmpty());
+
+        // Schemas in subdirectories are indexed by their relative path
+        assertTrue(provider.listFormIds().contains("hr/leave"));
+        assertEquals("1.0", provider.load("hr/leave").orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("classpath provider should look up schemas that are not indexed")
+    void classpathIndexMiss() {
+        ClasspathSchemaProvider provider = new ClasspathSchemaProvider(new ObjectMapper(), "forms/");
+        provider.getIndex().remove("hr/leave");
+
+        assertEquals("1.0", provider.load("hr/leave").orElseThrow().getVersion());
+        assertTrue(provider.getIndex().contains("hr/leave"));
+        assertTrue(provider.load("hr/unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("filesystem provider should keep loading schemas in subdirectories")
+    void filesystemNestedFormId() throws Exception {
+        Files.createDirectories(dir.resolve("hr"));
+        Files.writeString(dir.resolve("hr/leave.json"), SCHEMA.formatted("hr/leave"));
+        Files.writeString(dir.resolve("leave.json"), SCHEMA.formatted("leave"));
+
+        FilesystemSchemaProvider provider = new FilesystemSchemaProvider(new ObjectMapper(), dir.toString());
+
+        assertEquals("hr/leave", provider.load("hr/leave").orElseThrow().getFormId());
+        assertEquals("hr/leave", provider.load("hr/leave").orElseThrow().getFormId());
+        assertTrue(provider.getIndex().contains("hr/leave"));
+    }
+
+    @Test
+    @DisplayName("filesystem provider should index *.json files and track changes")
+    void filesystemIndex() throws Exception {
+        Files.writeString(dir.resolve("a.json"), SCHEMA.formatted("a"));
+        Files.writeString(dir.resolve("b.json"), SCHEMA.formatted("b"));
+        Files.writeString(dir.resolve("notes.txt"), "ignored");
+
+        FilesystemSchemaProvider provider = new FilesystemSchemaProvider(new ObjectMapper(), dir.toString());
+        assertEquals(List.of("a", "b"), provider.listFormIds());
+        SchemaIndex.Entry indexed = provider.getIndex().get("a").orElseThrow();
+        String hashBefore = indexed.getContentHash();
+
+        // Loading an unchanged file reuses its entry instead of re-hashing
+        assertTrue(provider.load("a").isPresent());
+        assertSame(indexed, provider.getIndex().get("a").orElseThrow());
+
+        // A file added after startup is found on first lookup and indexed
+        Files.writeString(dir.resolve("c.json"), SCHEMA.formatted("c"));
+        assertTrue(provider.load("c").isPresent());
+        assertEquals(List.of("a", "b", "c"), provider.listFormIds());
+
+        // A modified file refreshes its entry on load
+        Files.writeString(dir.resolve("a.json"), SCHEMA.formatted("a").replace("1.0", "2.0"));
+        Files.setLastModifiedTime(dir.resolve("a.json"),
+                FileTime.fromMillis(indexed.getLastModified() + 2000));
+        assertEquals("2.0", provider.load("a").orElseThrow().getVersion());
+        assertNotEquals(hashBefore, provider.getIndex().get("a").orElseThrow().getContentHash());
+
+        // A deleted file is dropped from the index
+        Files.delete(dir.resolve("b.json"));
+        assertTrue(provider.load("b").isEmpty());
+        assertEquals(List.of("a", "c"), provider.listFormIds());
+    }
+
+    @Test
+    @DisplayName("filesystem provider should prefer .json over .smile for the same formId")
+    void jsonShadowsSmile() throws Exception {
+        Files.write(dir.resolve("a.smile"), new SchemaCodec(new ObjectMapper())
+                .writeSmile(new ObjectMapper().readValue(SCHEMA.formatted("a").replace("1.0", "smile"),
+                        FormSchema.class)));
+        Files.writeString(dir.resolve("a.json"), SCHEMA.formatted("a"));
+
+        FilesystemSchemaProvider provider = new FilesystemSchemaProvider(new ObjectMapper(), dir.toString());
+
+        assertEquals("a.json", provider.getIndex().get("a").orElseThrow().getResource().getFilename());
+        assertEquals("1.0", provider.load("a").orElseThrow().getVersion());
+    }
+}
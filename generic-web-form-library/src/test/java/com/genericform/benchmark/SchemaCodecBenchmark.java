@@ -0,0 +1,74 @@
+package com.genericform.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genericform.core.FormSchema;
+import com.genericform.engine.SchemaCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a Form.io schema from text JSON vs. binary Smile.
+ * <p>
+ * Uses {@code form-sample/form_schema_sample.json} (override with
+ * {@code -Dschema.sample=<path>}). Run from {@code generic-web-form-library}:
+ * </p>
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.genericform.benchmark.SchemaCodecBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaCodecBenchmark {
+
+    private SchemaCodec codec;
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        codec = new SchemaCodec(mapper);
+        FormSchema schema = mapper.readValue(Files.readAllBytes(samplePath()), FormSchema.class);
+        json = codec.writeJson(schema);
+        smile = codec.writeSmile(schema);
+    }
+
+    @Benchmark
+    public FormSchema parseJson() throws Exception {
+        return codec.readSchema(json);
+    }
+
+    @Benchmark
+    public FormSchema parseSmile() throws Exception {
+        return codec.readSchema(smile);
+    }
+
+    private static Path samplePath() {
+        return Path.of(System.getProperty("schema.sample", "../form-sample/form_schema_sample.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        SchemaCodecBenchmark sizes = new SchemaCodecBenchmark();
+        sizes.setUp();
+        System.out.printf("Encoded size: json=%d bytes, smile=%d bytes (%.1f%%)%n",
+                sizes.json.length, sizes.smile.length, 100.0 * sizes.smile.length / sizes.json.length);
+
+        Options options = new OptionsBuilder()
+                .include(SchemaCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.genericform.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormEngineTest {
+
+    /** An engine implementing only the abstract methods, at version 2. */
+    private final FormEngine engine = new FormEngine() {
+        @Override
+        public SubmissionResult process(String formId, Map<String, Object> data) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            errors.put("a", "A is required");
+            errors.put("b", "B is required");
+            errors.put("c", "C is required");
+            return data.isEmpty() ? SubmissionResult.failure(errors) : SubmissionResult.success();
+        }
+
+        @Override
+        public SubmissionResult validateFields(String formId, String version, Map<String, Object> data,
+                Set<String> changedKeys) {
+            return SubmissionResult.success();
+        }
+
+        @Override
+        public Optional<String> currentVersion(String formId) {
+            return Optional.of("2");
+        }
+    };
+
+    @Test
+    @DisplayName("should report only the errors within the budget of a limited mode")
+    void truncatesToBudget() {
+        SubmissionResult result = engine.process("f", null, Map.of(), ValidationMode.maxErrors(2));
+
+        assertEquals(List.of("a", "b"), List.copyOf(result.getErrors().keySet()));
+        assertEquals(3, engine.process("f", null, Map.of(), ValidationMode.COLLECT_ALL).getErrors().size());
+        assertTrue(engine.process("f", null, Map.of("a", 1), ValidationMode.FAIL_FAST).isValid());
+    }
+
+    @Test
+    @DisplayName("should accept the current version and reject others without versioned lookup")
+    void currentVersionOnly() {
+        assertTrue(engine.process("f", "2", Map.of("a", 1)).isValid());
+        assertThrows(UnsupportedOperationException.class, () -> engine.process("f", "1", Map.of("a", 1)));
+    }
+}
@@ -5,12 +5,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -46,6 +50,12 @@ class DefaultFormEngineTest {
                 .build();
     }
 
+    private TypedSubmission stubCoerce(FormSchema schema, Map<String, Object> data) {
+        TypedSubmission record = new ValidationEngine().coerce(schema, data);
+        when(validationEngine.coerce(schema, data)).thenReturn(record);
+        return record;
+    }
+
     @Test
     @DisplayName("should validate and save when data is valid")
     void validSubmission() {
@@ -53,13 +63,31 @@ class DefaultFormEngineTest {
         Map<String, Object> data = Map.of("fullName", "John Doe");
 
         when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
-        when(validationEngine.validate(schema, data)).thenReturn(Map.of());
+        TypedSubmission record = stubCoerce(schema, data);
+        when(validationEngine.validate(schema, record, ValidationMode.COLLECT_ALL)).thenReturn(Map.of());
 
         SubmissionResult result = formEngine.process("survey", data);
 
         assertTrue(result.isValid());
         assertTrue(result.getErrors().isEmpty());
-        verify(formRepository, times(1)).save("survey", data);
+        verify(formRepository, times(1)).save("survey", "1.0", record);
+    }
+
+    @Test
+    @DisplayName("should validate against the pinned version and record it")
+    void pinnedVersionSubmission() {
+        FormSchema schema = sampleSchema();
+        Map<String, Object> data = Map.of("fullName", "John Doe");
+
+        when(formRegistry.get("survey", "1.0")).thenReturn(Optional.of(schema));
+        TypedSubmission record = stubCoerce(schema, data);
+        when(validationEngine.validate(schema, record, ValidationMode.COLLECT_ALL)).thenReturn(Map.of());
+
+        SubmissionResult result = formEngine.process("survey", "1.0", data);
+
+        assertTrue(result.isValid());
+        verify(formRegistry, never()).get("survey");
+        verify(formRepository).save("survey", "1.0", record);
     }
 
     @Test
@@ -69,14 +97,212 @@ class DefaultFormEngineTest {
         Map<String, Object> data = Map.of();
 
         when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
-        when(validationEngine.validate(schema, data))
+        TypedSubmission record = stubCoerce(schema, data);
+        when(validationEngine.validate(schema, record, ValidationMode.COLLECT_ALL))
                 .thenReturn(Map.of("fullName", "Field is required"));
 
         SubmissionResult result = formEngine.process("survey", data);
 
         assertFalse(result.isValid());
         assertEquals(1, result.getErrors().size());
-        verify(formRepository, never()).save(anyString(), anyMap());
+        verify(formRepository, never()).save(anyString(), any(), any(TypedSubmission.class));
+    }
+
+    @Test
+    @DisplayName("should pass the validation mode to the validation engine")
+    void failFastSubmission() {
+        FormSchema schema = sampleSchema();
+        Map<String, Object> data = Map.of();
+
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+        TypedSubmission record = stubCoerce(schema, data);
+        when(validationEngine.validate(schema, record, ValidationMode.FAIL_FAST))
+                .thenReturn(Map.of("fullName", "Field is required"));
+
+        SubmissionResult result = formEngine.process("survey", null, data, ValidationMode.FAIL_FAST);
+
+        assertFalse(result.isValid());
+        verify(formRepository, never()).save(anyString(), any(), any(TypedSubmission.class));
+    }
+
+    private SubmissionStage stage(SubmissionStage.Phase phase, Consumer<SubmissionContext> body) {
+        return new SubmissionStage() {
+            @Override
+            public Phase phase() {
+                return phase;
+            }
+
+            @Override
+            public Object normalize(FormComponent component, Object value) {
+                return value instanceof String text ? text.trim() : value;
+            }
+
+            @Override
+            public void process(SubmissionContext context) {
+                body.accept(context);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("should run stages by phase and persist normalised and enriched data")
+    void pipelineStages() {
+        FormSchema schema = sampleSchema();
+        List<String> calls = new ArrayList<>();
+        List<SubmissionContext> completed = new ArrayList<>();
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.COMPLETE, completed::add),
+                        stage(SubmissionStage.Phase.ENRICH, c -> {
+                            calls.add("enrich " + c.getRecord().getString(0));
+                            c.getData().put("submittedBy", "alice");
+                        }),
+                        stage(SubmissionStage.Phase.NORMALIZE, c -> calls.add("normalize " + c.getData()))));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+
+        SubmissionResult result = engine.process("survey", Map.of("fullName", "  John Doe "));
+
+        assertTrue(result.isValid());
+        assertEquals(List.of("normalize {fullName=John Doe}", "enrich John Doe"), calls);
+        ArgumentCaptor<TypedSubmission> saved = ArgumentCaptor.forClass(TypedSubmission.class);
+        verify(formRepository).save(eq("survey"), eq("1.0"), saved.capture());
+        assertEquals(Map.of("fullName", "John Doe", "submittedBy", "alice"), saved.getValue().getSource());
+        assertEquals(List.of("normalize", "coerce", "validate", "enrich", "persist", "complete"),
+                List.copyOf(completed.get(0).getTimings().keySet()));
+    }
+
+    @Test
+    @DisplayName("should not persist when a stage rejects the submission")
+    void stageRejects() {
+        FormSchema schema = sampleSchema();
+        List<SubmissionContext> completed = new ArrayList<>();
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.ENRICH, c -> c.reject("fullName", "Name is blocked")),
+                        stage(SubmissionStage.Phase.COMPLETE, completed::add)));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+
+        SubmissionResult result = engine.process("survey", Map.of("fullName", "John Doe"));
+
+        assertEquals(Map.of("fullName", "Name is blocked"), result.getErrors());
+        assertFalse(completed.get(0).isValid());
+        verify(formRepository, never()).save(anyString(), any(), any(TypedSubmission.class));
+    }
+
+    @Test
+    @DisplayName("should not let a complete stage change the outcome")
+    void completeKeepsOutcome() {
+        FormSchema schema = sampleSchema();
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.COMPLETE, c -> c.reject("fullName", "Audit failed"))));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+
+        SubmissionResult result = engine.process("survey", Map.of("fullName", "John Doe"));
+
+        assertTrue(result.isValid());
+        verify(formRepository).save(eq("survey"), eq("1.0"), any(TypedSubmission.class));
+    }
+
+    @Test
+    @DisplayName("should run complete stages when an enrich stage throws")
+    void completeAfterEnrichFailure() {
+        FormSchema schema = sampleSchema();
+        List<SubmissionContext> completed = new ArrayList<>();
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.ENRICH, c -> {
+                            throw new IllegalStateException("lookup failed");
+                        }),
+                        stage(SubmissionStage.Phase.COMPLETE, completed::add)));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+
+        assertThrows(IllegalStateException.class, () -> engine.process("survey", Map.of("fullName", "John Doe")));
+
+        assertEquals(1, completed.size());
+        assertTrue(completed.get(0).getTimings().containsKey("complete"));
+        verify(formRepository, never()).save(anyString(), any(), any(TypedSubmission.class));
+    }
+
+    @Test
+    @DisplayName("should run complete stages when persisting throws")
+    void completeAfterSaveFailure() {
+        FormSchema schema = sampleSchema();
+        List<SubmissionContext> completed = new ArrayList<>();
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.COMPLETE, completed::add)));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+        doThrow(new IllegalStateException("database down"))
+                .when(formRepository).save(eq("survey"), eq("1.0"), any(TypedSubmission.class));
+
+        assertThrows(IllegalStateException.class, () -> engine.process("survey", Map.of("fullName", "John Doe")));
+
+        assertEquals(1, completed.size());
+        assertNotNull(completed.get(0).getRecord());
+    }
+
+    @Test
+    @DisplayName("should keep a saved submission valid when a complete stage throws")
+    void completeStageThrows() {
+        FormSchema schema = sampleSchema();
+        List<SubmissionContext> completed = new ArrayList<>();
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.COMPLETE, c -> {
+                            throw new IllegalStateException("audit log down");
+                        }),
+                        stage(SubmissionStage.Phase.COMPLETE, completed::add)));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+
+        SubmissionResult result = engine.process("survey", Map.of("fullName", "John Doe"));
+
+        assertTrue(result.isValid());
+        assertEquals(1, completed.size());
+        verify(formRepository).save(eq("survey"), eq("1.0"), any(TypedSubmission.class));
+    }
+
+    @Test
+    @DisplayName("should keep the step failure when a complete stage throws too")
+    void completeStageThrowsAfterFailure() {
+        FormSchema schema = sampleSchema();
+        IllegalStateException audit = new IllegalStateException("audit log down");
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.COMPLETE, c -> {
+                    throw audit;
+                })));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+        doThrow(new IllegalStateException("database down"))
+                .when(formRepository).save(eq("survey"), eq("1.0"), any(TypedSubmission.class));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> engine.process("survey", Map.of("fullName", "John Doe")));
+
+        assertEquals("database down", e.getMessage());
+        assertArrayEquals(new Throwable[] {audit}, e.getSuppressed());
+    }
+
+    @Test
+    @DisplayName("should not let an enrich stage replace the coerced data")
+    void enrichReplacesData() {
+        FormSchema schema = sampleSchema();
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.ENRICH,
+                        c -> c.setData(new HashMap<>(Map.of("fullName", "Mallory"))))));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+
+        assertThrows(IllegalStateException.class, () -> engine.process("survey", Map.of("fullName", "John Doe")));
+
+        verify(formRepository, never()).save(anyString(), any(), any(TypedSubmission.class));
+    }
+
+    @Test
+    @DisplayName("should fail when an enrich stage changes a declared field")
+    void enrichChangesDeclaredField() {
+        FormSchema schema = sampleSchema();
+        DefaultFormEngine engine = new DefaultFormEngine(formRegistry, new ValidationEngine(), formRepository,
+                List.of(stage(SubmissionStage.Phase.ENRICH, c -> c.getData().put("fullName", "Mallory"))));
+        when(formRegistry.get("survey")).thenReturn(Optional.of(schema));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> engine.process("survey", Map.of("fullName", "John Doe")));
+
+        assertTrue(e.getMessage().contains("'fullName'"));
+        verify(formRepository, never()).save(anyString(), any(), any(TypedSubmission.class));
     }
 
     @Test
@@ -87,6 +313,6 @@ class DefaultFormEngineTest {
         assertThrows(IllegalArgumentException.class,
                 () -> formEngine.process("unknown", Map.of()));
 
-        verify(formRepository, never()).save(anyString(), anyMap());
+        verify(formRepository, never()).save(anyString(), any(), any(TypedSubmission.class));
     }
 }
@@ -1,9 +1,13 @@
 package com.genericform.engine;
 
+import com.genericform.autoconfigure.InMemorySchemaRepository;
 import com.genericform.core.ComponentValidation;
 import com.genericform.core.FormComponent;
 import com.genericform.core.FormSchema;
 import com.genericform.core.SchemaRepository;
+import com.genericform.core.SchemaSummary;
+import com.genericform.core.SchemaSummaryPage;
+import com.genericform.core.SerializedSchema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -134,7 +138,7 @@ class DefaultFormSchemaManagerTest {
     class UpdateTests {
 
         @Test
-        @DisplayName("should update and evict cache")
+        @DisplayName("should update and refresh cache")
         void updateValid() {
             FormSchema schema = validSchema();
             when(schemaRepository.existsById("survey")).thenReturn(true);
@@ -142,7 +146,7 @@ class DefaultFormSchemaManagerTest {
             manager.updateSchema(schema);
 
             verify(schemaRepository).save(schema);
-            verify(formRegistry).evict("survey");
+            verify(formRegistry).refresh("survey");
         }
 
         @Test
@@ -211,4 +215,128 @@ class DefaultFormSchemaManagerTest {
             assertEquals(1, result.size());
         }
     }
+
+    // ───────────────────────────── Summaries ───────────────────────────
+
+    @Nested
+    @DisplayName("listSummaries")
+    class SummaryTests {
+
+        private SchemaSummary summary(String formId) {
+            return new SchemaSummary(formId, formId, "1.0", 1, null, null);
+        }
+
+        @Test
+        @DisplayName("should return a cursor when more rows follow")
+        void nextCursor() {
+            when(schemaRepository.findSummaries(null, 3))
+                    .thenReturn(List.of(summary("a"), summary("b"), summary("c")));
+
+            SchemaSummaryPage page = manager.listSummaries(null, 2);
+
+            assertEquals(2, page.getItems().size());
+            assertEquals("b", page.getNextCursor());
+            verify(schemaRepository, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("should return no cursor on the last page")
+        void lastPage() {
+            when(schemaRepository.findSummaries("b", 3)).thenReturn(List.of(summary("c")));
+
+            SchemaSummaryPage page = manager.listSummaries("b", 2);
+
+            assertEquals(1, page.getItems().size());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("should reject non-positive page size")
+        void invalidSize() {
+            assertThrows(IllegalArgumentException.class, () -> manager.listSummaries(null, 0));
+        }
+
+        @Test
+        @DisplayName("default repository implementation pages by formId")
+        void defaultImplementation() {
+            SchemaRepository repository = new InMemorySchemaRepository();
+            for (String id : List.of("c", "a", "b")) {
+                FormSchema schema = validSchema();
+                schema.setFormId(id);
+                repository.save(schema);
+            }
+            DefaultFormSchemaManager inMemory = new DefaultFormSchemaManager(repository, formRegistry);
+
+            SchemaSummaryPage first = inMemory.listSummaries(null, 2);
+            SchemaSummaryPage second = inMemory.listSummaries(first.getNextCursor(), 2);
+
+            assertEquals(List.of("a", "b"), first.getItems().stream().map(SchemaSummary::getFormId).toList());
+            assertEquals(List.of("c"), second.getItems().stream().map(SchemaSummary::getFormId).toList());
+            assertNull(second.getNextCursor());
+        }
+    }
+
+    // ───────────────────────────── Serialized ──────────────────────────
+
+    @Nested
+    @DisplayName("getSerializedSchema")
+    class SerializedTests {
+
+        @Test
+        @DisplayName("should serialize once and serve cached bytes")
+        void cachesBytes() {
+            when(schemaRepository.findById("survey")).thenReturn(Optional.of(validSchema()));
+
+            SerializedSchema first = manager.getSerializedSchema("survey").orElseThrow();
+            SerializedSchema second = manager.getSerializedSchema("survey").orElseThrow();
+
+            assertSame(first, second);
+            assertEquals("1.0", first.getVersion());
+            assertTrue(new String(first.getJson()).contains("\"form_id\":\"survey\""));
+            verify(schemaRepository, times(1)).findById("survey");
+        }
+
+        @Test
+        @DisplayName("should invalidate cached bytes on update")
+        void invalidatesOnUpdate() {
+            FormSchema v2 = validSchema();
+            v2.setVersion("2.0");
+            when(schemaRepository.findById("survey"))
+                    .thenReturn(Optional.of(validSchema()), Optional.of(v2));
+            when(schemaRepository.existsById("survey")).thenReturn(true);
+
+            SerializedSchema before = manager.getSerializedSchema("survey").orElseThrow();
+            manager.updateSchema(v2);
+            SerializedSchema after = manager.getSerializedSchema("survey").orElseThrow();
+
+            assertEquals("2.0", after.getVersion());
+            assertNotEquals(before.getContentHash(), after.getContentHash());
+        }
+
+        @Test
+        @DisplayName("should serve a pinned version from its own bytes, not the current one")
+        void pinnedVersion() {
+            FormSchema v2 = validSchema();
+            v2.setVersion("2.0");
+            when(schemaRepository.findById("survey")).thenReturn(Optional.of(v2));
+            when(schemaRepository.findVersion("survey", "1.0")).thenReturn(Optional.of(validSchema()));
+
+            SerializedSchema current = manager.getSerializedSchema("survey").orElseThrow();
+            SerializedSchema pinned = manager.getSerializedSchema("survey", "1.0").orElseThrow();
+
+            assertEquals("2.0", current.getVersion());
+            assertEquals("1.0", pinned.getVersion());
+            assertSame(pinned, manager.getSerializedSchema("survey", "1.0").orElseThrow());
+            assertSame(current, manager.getSerializedSchema("survey", "2.0").orElseThrow());
+            verify(schemaRepository, times(1)).findVersion("survey", "1.0");
+        }
+
+        @Test
+        @DisplayName("should return empty for unknown schema")
+        void unknown() {
+            when(schemaRepository.findById("unknown")).thenReturn(Optional.empty());
+
+            assertTrue(manager.getSerializedSchema("unknown").isEmpty());
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package com.genericform.engine;
+
+import com.genericform.core.ComponentValidation;
+import com.genericform.core.FormComponent;
+import com.genericform.core.FormSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormRegistryTest {
+
+    private final Map<String, FormSchema> source = new HashMap<>();
+    private final FormRegistry registry = new FormRegistry(formId -> Optional.ofNullable(source.get(formId)));
+
+    private FormComponent field(String key, boolean required) {
+        return FormComponent.builder()
+                .key(key)
+                .type("textfield")
+                .input(true)
+                .validate(ComponentValidation.builder().required(required).build())
+                .build();
+    }
+
+    private FormSchema schema(String version, FormComponent... components) {
+        return FormSchema.builder()
+                .formId("survey")
+                .version(version)
+                .components(new ArrayList<>(List.of(components)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("published schema is a frozen copy, isolated from the source instance")
+    void frozenCopy() {
+        FormSchema original = schema("1.0", field("name", true));
+        source.put("survey", original);
+
+        FormSchema published = registry.get("survey").orElseThrow();
+        original.getComponents().add(field("email", false));
+        original.getComponents().get(0).getValidate().setRequired(false);
+
+        assertNotSame(original, published);
+        assertEquals(1, published.getComponents().size());
+        assertTrue(published.getComponents().get(0).getValidate().isRequired());
+        assertThrows(UnsupportedOperationException.class,
+                () -> published.getComponents().add(field("x", false)));
+        assertThrows(UnsupportedOperationException.class,
+                () -> published.getAdditionalProperties().put("x", 1));
+    }
+
+    @Test
+    @DisplayName("reload publishes a new revision sharing unchanged subtrees")
+    void structuralSharing() {
+        source.put("survey", schema("1.0", field("name", true), field("email", false)));
+        SchemaSnapshot first = registry.getSnapshot("survey").orElseThrow();
+
+        source.put("survey", schema("2.0", field("name", true), field("email", true)));
+        registry.reload("survey");
+        SchemaSnapshot second = registry.getSnapshot("survey").orElseThrow();
+
+        assertEquals(1, first.getRevision());
+        assertEquals(2, second.getRevision());
+        assertEquals("2.0", second.getVersion());
+        assertSame(first.getSchema().getComponents().get(0), second.getSchema().getComponents().get(0));
+        assertNotSame(first.getSchema().getComponents().get(1), second.getSchema().getComponents().get(1));
+        assertFalse(first.getSchema().getComponents().get(1).getValidate().isRequired());
+    }
+
+    @Test
+    @DisplayName("previous version stays cached for pinned lookups after a new version is published")
+    void pinnedVersions() {
+        source.put("survey", schema("1.0", field("name", true)));
+        FormSchema v1 = registry.get("survey").orElseThrow();
+
+        source.put("survey", schema("2.0", field("name", false)));
+        registry.reload("survey");
+
+        assertEquals("2.0", registry.get("survey").orElseThrow().getVersion());
+        assertSame(v1, registry.get("survey", "1.0").orElseThrow());
+        assertEquals("2.0", registry.get("survey", "2.0").orElseThrow().getVersion());
+        assertTrue(registry.get("survey", "3.0").isEmpty());
+
+        registry.evict("survey");
+        assertTrue(registry.get("survey", "1.0").isEmpty());
+    }
+
+    @Test
+    @DisplayName("pinned versions are trimmed per form, oldest first")
+    void trimPinnedVersions() {
+        source.put("other", FormSchema.builder().formId("other").version("1.0")
+                .components(new ArrayList<>(List.of(field("x", false)))).build());
+        registry.get("other");
+        source.put("other", FormSchema.builder().formId("other").version("2.0")
+                .components(new ArrayList<>(List.of(field("x", true)))).build());
+        registry.reload("other");
+
+        for (int i = 0; i <= FormRegistry.MAX_PINNED_VERSIONS + 1; i++) {
+            source.put("survey", schema(i + ".0", field("name", i % 2 == 0)));
+            registry.reload("survey");
+        }
+        source.remove("survey");
+
+        assertTrue(registry.get("survey", "0.0").isEmpty(), "oldest pinned version should be dropped");
+        for (int i = 1; i <= FormRegistry.MAX_PINNED_VERSIONS; i++) {
+            assertTrue(registry.get("survey", i + ".0").isPresent(), "version " + i + ".0 should stay pinned");
+        }
+        assertTrue(registry.get("other", "1.0").isPresent(), "other forms keep their pinned versions");
+    }
+
+    @Test
+    @DisplayName("refresh evicts a cached schema that no longer loads and ignores uncached ones")
+    void refresh() {
+        source.put("survey", schema("1.0", field("name", true)));
+        registry.refresh("survey");
+        assertFalse(registry.isCached("survey"));
+
+        registry.get("survey");
+        source.remove("survey");
+        registry.refresh("survey");
+        assertFalse(registry.isCached("survey"));
+    }
+}
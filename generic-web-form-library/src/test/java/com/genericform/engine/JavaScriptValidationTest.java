@@ -6,6 +6,7 @@ import org.junit.jupiter.api.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -304,8 +305,146 @@ class JavaScriptValidationTest {
         }
     }
 
+    // ───────────────────────── Grid Row Scripts ────────────────────────────
+
+    @Nested
+    @DisplayName("Grid row custom validation")
+    class GridRowTests {
+
+        private FormSchema gridSchema(String script) {
+            FormComponent qty = FormComponent.builder()
+                    .key("qty").type("number").input(true)
+                    .validate(ComponentValidation.builder().custom(script).build())
+                    .build();
+            FormComponent grid = FormComponent.builder()
+                    .key("items").type("datagrid").input(true)
+                    .components(List.of(qty))
+                    .build();
+            return FormSchema.builder()
+                    .formId("test").version("1.0")
+                    .components(List.of(grid))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("should bind row to each row's data and data to the submission")
+        void bindsRowScope() {
+            FormSchema schema = gridSchema(
+                    "valid = input <= row.stock && input <= data.limit ? true : 'Too many at ' + rowIndex;");
+            Map<String, Object> data = Map.of("limit", 5, "items", List.of(
+                    Map.of("qty", 2, "stock", 3),
+                    Map.of("qty", 4, "stock", 3),
+                    Map.of("qty", 6, "stock", 10)));
+
+            Map<String, String> errors = validationEngine.validate(schema, data);
+
+            assertEquals(List.of("items[1].qty", "items[2].qty"), List.copyOf(errors.keySet()));
+            assertEquals("Too many at 1", errors.get("items[1].qty"));
+        }
+
+        @Test
+        @DisplayName("should skip rows without a value and report script errors per row")
+        void skipsBlankRowsAndReportsErrors() {
+            FormSchema schema = gridSchema("valid = undefinedFunction();");
+            Map<String, Object> data = Map.of("items", List.of(
+                    Map.of("qty", 1),
+                    Map.of("other", "x")));
+
+            Map<String, String> errors = validationEngine.validate(schema, data);
+
+            assertEquals(Set.of("items[0].qty"), errors.keySet());
+            assertTrue(errors.get("items[0].qty").startsWith("Custom validation script error"));
+        }
+    }
+
+    // ───────────────────────── Custom Conditionals ─────────────────────────
+
+    @Nested
+    @DisplayName("Custom JS conditionals")
+    class CustomConditionalTests {
+
+        @Test
+        @DisplayName("should skip fields hidden by customConditional")
+        void skipsHiddenField() {
+            FormSchema schema = buildSchemaWithCustomValidation("details", null);
+            schema.getComponents().get(0).setAdditionalProperty("customConditional",
+                    "show = data.hasDetails === 'yes';");
+
+            assertTrue(validationEngine.validate(schema, Map.of("hasDetails", "no")).isEmpty());
+            assertEquals(1, validationEngine.validate(schema, Map.of("hasDetails", "yes")).size());
+        }
+
+        @Test
+        @DisplayName("should evaluate a batch in one context and treat failing scripts as visible")
+        void evaluatesBatch() {
+            boolean[] visible = jsEngine.evaluateConditionals(List.of(
+                    "show = data.a > 1;",
+                    "show = data.a > 5;",
+                    "show = undefinedFunction();"), Map.of("a", 3));
+
+            assertArrayEquals(new boolean[] { true, false, true }, visible);
+        }
+
+        @Test
+        @DisplayName("should not leak data mutations or globals between scripts")
+        void isolatesScripts() {
+            boolean[] visible = jsEngine.evaluateConditionals(List.of(
+                    "data.a = 10; data.extra = true; leaked = 1; show = true;",
+                    "show = data.a === 3 && data.extra === undefined && typeof leaked === 'undefined';",
+                    "show = row === data;"), Map.of("a", 3));
+
+            assertArrayEquals(new boolean[] { true, true, true }, visible);
+        }
+    }
+
     // ───────────────────────── Without JS Engine (disabled) ────────────────
 
+    @Nested
+    @DisplayName("Server-side calculated values")
+    class CalculationTests {
+
+        private FormComponent calculated(String key, String script) {
+            FormComponent component = FormComponent.builder().key(key).type("textfield").input(true).build();
+            component.setAdditionalProperty("calculateValue", script);
+            component.setAdditionalProperty("calculateServer", true);
+            return component;
+        }
+
+        @Test
+        @DisplayName("should evaluate scripts in JS, with earlier results visible to later ones")
+        void scriptsInOrder() {
+            FormSchema schema = FormSchema.builder().formId("calc").version("1.0")
+                    .components(List.of(
+                            calculated("greeting", "value = 'Hello ' + data.name.toUpperCase();"),
+                            calculated("length", "value = data.greeting.length"),
+                            calculated("sum", "value = data.a + data.b")))
+                    .build();
+            Map<String, Object> data = Map.of("name", "joe", "a", "1", "b", 2, "greeting", "spoofed");
+
+            Map<String, Object> result = validationEngine.calculate(schema, data);
+
+            assertEquals("Hello JOE", result.get("greeting"));
+            assertEquals(9, result.get("length"));
+            assertEquals("12", result.get("sum"), "string operand concatenates as in Form.io");
+        }
+
+        @Test
+        @DisplayName("should clear the submitted value when a script fails")
+        void failingScript() {
+            FormSchema schema = FormSchema.builder().formId("calc").version("1.0")
+                    .components(List.of(calculated("broken", "value = data.missing.field;"),
+                            calculated("ok", "if (data.flag) { value = 'yes'; }")))
+                    .build();
+
+            Map<String, Object> result = validationEngine.calculate(schema,
+                    Map.of("broken", "spoofed", "flag", true));
+
+            assertTrue(result.containsKey("broken"));
+            assertNull(result.get("broken"));
+            assertEquals("yes", result.get("ok"));
+        }
+    }
+
     @Nested
     @DisplayName("Validation without JS engine (disabled)")
     class DisabledJsTests {
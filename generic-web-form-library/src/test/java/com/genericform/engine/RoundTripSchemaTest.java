@@ -249,6 +249,55 @@ class RoundTripSchemaTest {
                                 "All extra property keys should survive round-trip");
         }
 
+        @Test
+        @DisplayName("Compact model re-serializes to identical JSON")
+        void compactModelSerializesIdentically() throws Exception {
+                FormSchema original = loadSampleSchema();
+
+                String first = mapper.writeValueAsString(original);
+                String second = mapper.writeValueAsString(mapper.readValue(first, FormSchema.class));
+
+                assertEquals(first, second);
+        }
+
+        @Test
+        @DisplayName("Repeated UI-only values are shared between components")
+        void repeatedExtrasAreShared() throws Exception {
+                FormSchema first = loadSampleSchema();
+                FormSchema second = loadSampleSchema();
+
+                FormComponent a = first.getComponents().get(0);
+                FormComponent b = second.getComponents().get(0);
+                CopyOnWriteMap overlayA = (CopyOnWriteMap) a.getAdditionalProperties().get("overlay");
+                CopyOnWriteMap overlayB = (CopyOnWriteMap) b.getAdditionalProperties().get("overlay");
+                assertSame(overlayA.getShared(), overlayB.getShared(),
+                                "identical nested objects should be deduplicated");
+                assertSame(((CopyOnWriteMap) FormSchema.builder().build().getAdditionalProperties()).getShared(),
+                                ((CopyOnWriteMap) new FormColumn().getAdditionalProperties()).getShared(),
+                                "empty catch-all maps should share one empty map");
+        }
+
+        @Test
+        @DisplayName("Shared extras stay mutable and detach on write")
+        @SuppressWarnings("unchecked")
+        void sharedExtrasDetachOnWrite() throws Exception {
+                FormSchema first = loadSampleSchema();
+                FormSchema second = loadSampleSchema();
+                FormComponent a = first.getComponents().get(0);
+                FormComponent b = second.getComponents().get(0);
+
+                ((Map<String, Object>) a.getAdditionalProperties().get("overlay")).put("style", "changed");
+                a.getAdditionalProperties().put("tooltip", "changed");
+                new FormColumn().getAdditionalProperties().put("added", true);
+
+                assertEquals("changed", ((Map<String, Object>) a.getAdditionalProperties().get("overlay")).get("style"));
+                assertNotEquals("changed", ((Map<String, Object>) b.getAdditionalProperties().get("overlay")).get("style"));
+                assertEquals("changed", a.getAdditionalProperties().get("tooltip"));
+                assertNotEquals("changed", b.getAdditionalProperties().get("tooltip"));
+                assertTrue(new FormColumn().getAdditionalProperties().isEmpty(),
+                                "writing to one empty catch-all map must not leak into others");
+        }
+
         @Test
         @DisplayName("Validation still works on deserialized full schema")
         void validationWorksOnFullSchema() throws Exception {
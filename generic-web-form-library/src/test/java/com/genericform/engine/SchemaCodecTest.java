@@ -0,0 +1,60 @@
+package com.genericform.engine;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genericform.core.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SchemaCodec codec = new SchemaCodec(mapper);
+
+    private FormSchema schemaWithExtras() throws Exception {
+        return mapper.readValue("""
+                {"form_id":"f","form_name":"F","form_version":"1","display":"form",
+                 "components":[{"key":"name","type":"textfield","input":true,
+                   "tooltip":"t","overlay":{"style":"","top":1},
+                   "validate":{"required":true,"json":""}}]}
+                """, FormSchema.class);
+    }
+
+    @Test
+    @DisplayName("Smile round-trip preserves additionalProperties")
+    void smileRoundTrip() throws Exception {
+        FormSchema original = schemaWithExtras();
+
+        byte[] smile = codec.writeSmile(original);
+        assertTrue(SchemaCodec.isSmile(smile));
+        FormSchema decoded = codec.readSchema(smile);
+
+        assertEquals(original, decoded);
+        assertEquals("form", decoded.getAdditionalProperties().get("display"));
+        assertEquals(Map.of("style", "", "top", 1),
+                decoded.getComponents().get(0).getAdditionalProperties().get("overlay"));
+        assertEquals(mapper.writeValueAsString(original), mapper.writeValueAsString(decoded));
+    }
+
+    @Test
+    @DisplayName("reads detect JSON vs. Smile transparently")
+    void detectsFormat() throws Exception {
+        FormSchema original = schemaWithExtras();
+        byte[] json = codec.writeJson(original);
+
+        assertFalse(SchemaCodec.isSmile(json));
+        assertEquals(original, codec.readSchema(json));
+
+        byte[] smileComponents = codec.writeSmile(original.getComponents());
+        List<FormComponent> components = codec.read(new ByteArrayInputStream(smileComponents),
+                new TypeReference<List<FormComponent>>() {
+                });
+        assertEquals(original.getComponents(), components);
+    }
+}
@@ -0,0 +1,110 @@
+package com.genericform.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genericform.autoconfigure.InMemorySchemaRepository;
+import com.genericform.core.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaComplexityAnalyzerTest {
+
+    private final SchemaComplexityAnalyzer analyzer = new SchemaComplexityAnalyzer();
+
+    private FormSchema schema() {
+        FormComponent name = FormComponent.builder()
+                .key("name").type("textfield").input(true)
+                .validate(ComponentValidation.builder().pattern("^[A-Za-z ]+$").build())
+                .build();
+        FormComponent country = FormComponent.builder()
+                .key("country").type("select").input(true)
+                .data(ComponentData.builder()
+                        .values(IntStream.range(0, 40)
+                                .mapToObj(i -> SelectValue.builder().label("c" + i).value("c" + i).build())
+                                .toList())
+                        .build())
+                .build();
+        FormComponent amount = FormComponent.builder()
+                .key("amount").type("number").input(true)
+                .validate(ComponentValidation.builder().custom("valid = input > 0;").build())
+                .build();
+        amount.setAdditionalProperty("calculateValue", "value = row.qty * 2;");
+        FormComponent grid = FormComponent.builder()
+                .key("items").type("datagrid").input(true)
+                .components(List.of(amount))
+                .build();
+        FormComponent panel = FormComponent.builder()
+                .type("panel")
+                .components(List.of(grid))
+                .build();
+        return FormSchema.builder()
+                .formId("order")
+                .components(List.of(name, country, panel))
+                .build();
+    }
+
+    @Test
+    @DisplayName("report counts depth, inputs, scripts, patterns and options")
+    void report() {
+        SchemaComplexityReport report = analyzer.analyze(schema());
+
+        assertEquals("order", report.getFormId());
+        assertEquals(3, report.getMaxDepth());
+        assertEquals(5, report.getComponentCount());
+        assertEquals(4, report.getInputCount());
+        assertEquals(2, report.getScriptCount());
+        assertEquals("valid = input > 0;".length() + "value = row.qty * 2;".length(), report.getScriptSize());
+        assertEquals(1, report.getPatternCount());
+        assertEquals(0, report.getMaxRegexRisk());
+        assertEquals(40, report.getMaxOptions());
+        assertTrue(report.getEstimatedCost() > 2_000, "grid scripts are weighted by the assumed row count");
+    }
+
+    @Test
+    @DisplayName("regex risk flags backtracking constructs and invalid patterns")
+    void regexRisk() {
+        assertEquals(0, SchemaComplexityAnalyzer.regexRisk("^[0-9]{5}$"));
+        assertEquals(0, SchemaComplexityAnalyzer.regexRisk("^([a-z]+)?$"));
+        assertTrue(SchemaComplexityAnalyzer.regexRisk("^(a+)+$") >= 10);
+        assertTrue(SchemaComplexityAnalyzer.regexRisk("^(\\w+\\s?)*$") >= 10);
+        assertTrue(SchemaComplexityAnalyzer.regexRisk("^(a|ab)*c$") >= 5);
+        assertTrue(SchemaComplexityAnalyzer.regexRisk("(x)\\1") >= 5);
+        assertEquals(SchemaComplexityAnalyzer.INVALID_PATTERN_RISK, SchemaComplexityAnalyzer.regexRisk("(unclosed"));
+    }
+
+    @Test
+    @DisplayName("budget reports every exceeded limit and ignores disabled ones")
+    void budget() {
+        SchemaComplexityReport report = analyzer.analyze(schema());
+
+        assertTrue(SchemaComplexityBudget.unlimited().violations(report).isEmpty());
+
+        List<String> violations = SchemaComplexityBudget.builder()
+                .maxDepth(2)
+                .maxScripts(1)
+                .maxOptions(100)
+                .build()
+                .violations(report);
+        assertEquals(2, violations.size());
+        assertTrue(violations.get(0).startsWith("nesting depth 3"));
+    }
+
+    @Test
+    @DisplayName("manager rejects schemas over budget")
+    void managerEnforcesBudget() {
+        DefaultFormSchemaManager manager = new DefaultFormSchemaManager(
+                new InMemorySchemaRepository(),
+                new FormRegistry(formId -> Optional.empty()),
+                new ObjectMapper(),
+                SchemaComplexityBudget.builder().maxScripts(1).build());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> manager.createSchema(schema()));
+        assertTrue(error.getMessage().contains("script count 2 exceeds limit 1"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.genericform.engine;
+
+import com.genericform.core.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaWarmupTest {
+
+    private static FormSchema schema(String formId) {
+        return FormSchema.builder()
+                .formId(formId)
+                .version("1.0")
+                .components(List.of(
+                        FormComponent.builder()
+                                .key("code").type("textfield").input(true)
+                                .validate(ComponentValidation.builder().required(true).pattern("^[a-z]+$").build())
+                                .build()))
+                .build();
+    }
+
+    /** Provider serving a fixed set of schemas and recording every load. */
+    private static class StubProvider implements SchemaProvider {
+        private final Map<String, FormSchema> schemas;
+        private final Set<String> loaded = ConcurrentHashMap.newKeySet();
+
+        StubProvider(Map<String, FormSchema> schemas) {
+            this.schemas = schemas;
+        }
+
+        @Override
+        public Optional<FormSchema> load(String formId) {
+            loaded.add(formId);
+            return Optional.ofNullable(schemas.get(formId));
+        }
+
+        @Override
+        public List<String> listFormIds() {
+            return List.copyOf(schemas.keySet());
+        }
+    }
+
+    @Test
+    @DisplayName("should preload every listed schema into the registry")
+    void preloadsAllSchemas() {
+        StubProvider provider = new StubProvider(Map.of("a", schema("a"), "b", schema("b"), "c", schema("c")));
+        FormRegistry registry = new FormRegistry(provider);
+        SchemaWarmup warmup = new SchemaWarmup(registry, provider, new ValidationEngine(), 2, 3);
+
+        assertEquals(SchemaWarmup.State.PENDING, warmup.getState());
+        warmup.run();
+
+        assertEquals(SchemaWarmup.State.COMPLETED, warmup.getState());
+        assertEquals(3, warmup.getTotalForms());
+        assertEquals(3, warmup.getWarmedForms());
+        assertEquals(Set.of("a", "b", "c"), provider.loaded);
+
+        // Subsequent lookups are served from the cache
+        provider.loaded.clear();
+        assertTrue(registry.get("a").isPresent());
+        assertTrue(provider.loaded.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should complete even when a listed schema cannot be loaded")
+    void toleratesMissingSchemas() {
+        StubProvider provider = new StubProvider(Map.of("a", schema("a"))) {
+            @Override
+            public List<String> listFormIds() {
+                return List.of("a", "missing");
+            }
+        };
+        SchemaWarmup warmup = new SchemaWarmup(new FormRegistry(provider), provider,
+                new ValidationEngine(), 1, 1);
+
+        warmup.runAsync().join();
+
+        assertEquals(SchemaWarmup.State.COMPLETED, warmup.getState());
+        assertEquals(2, warmup.getTotalForms());
+        assertEquals(1, warmup.getWarmedForms());
+    }
+}
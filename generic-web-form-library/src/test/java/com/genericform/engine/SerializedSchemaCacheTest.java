@@ -0,0 +1,60 @@
+package com.genericform.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genericform.core.FormSchema;
+import com.genericform.core.SerializedSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializedSchemaCacheTest {
+
+    private final SerializedSchemaCache cache = new SerializedSchemaCache(new ObjectMapper());
+
+    private static FormSchema schema(String version) {
+        return FormSchema.builder().formId("f").version(version).components(List.of()).build();
+    }
+
+    @Test
+    @DisplayName("Caches the serialized bytes after the first load")
+    void cachesAfterFirstLoad() {
+        AtomicInteger loads = new AtomicInteger();
+
+        SerializedSchema first = cache.get("f", id -> {
+            loads.incrementAndGet();
+            return Optional.of(schema("1"));
+        }).orElseThrow();
+        SerializedSchema second = cache.get("f", id -> fail("should be served from the cache")).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("A load that overlaps an invalidation does not cache the outgoing version")
+    void staleLoadIsNotCached() {
+        // The update is saved and invalidated while the loader still holds version 1
+        SerializedSchema stale = cache.get("f", id -> {
+            cache.invalidate("f");
+            return Optional.of(schema("1"));
+        }).orElseThrow();
+        SerializedSchema fresh = cache.get("f", id -> Optional.of(schema("2"))).orElseThrow();
+
+        assertEquals("1", stale.getVersion());
+        assertEquals("2", fresh.getVersion());
+    }
+
+    @Test
+    @DisplayName("A null version is served as the current version")
+    void nullVersionIsCurrent() {
+        SerializedSchema current = cache.get("f", id -> Optional.of(schema("2"))).orElseThrow();
+
+        assertSame(current, cache.get("f", null, (id, version) -> fail("should be served from the cache"))
+                .orElseThrow());
+    }
+}
@@ -0,0 +1,65 @@
+package com.genericform.engine;
+
+import com.genericform.core.SerializedSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializedSchemaTest {
+
+    private final SerializedSchema schema = SerializedSchema.of("f", "1",
+            "{\"form_id\":\"f\",\"components\":[]}".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    @DisplayName("ETag is the quoted content hash and matches If-None-Match")
+    void etag() {
+        String etag = schema.getETag();
+
+        assertEquals("\"" + schema.getContentHash() + "\"", etag);
+        assertTrue(schema.isNotModified(etag));
+        assertTrue(schema.isNotModified("\"other\", W/" + etag));
+        assertTrue(schema.isNotModified("*"));
+        assertFalse(schema.isNotModified("\"other\""));
+        assertFalse(schema.isNotModified(null));
+    }
+
+    @Test
+    @DisplayName("gzip variant has its own ETag")
+    void gzipEtag() {
+        String identity = schema.getETag(false);
+        String gzip = schema.getETag(true);
+
+        assertEquals("\"" + schema.getContentHash() + "-gzip\"", gzip);
+        assertNotEquals(identity, gzip);
+        assertTrue(schema.isNotModified(gzip, true));
+        assertFalse(schema.isNotModified(gzip, false));
+        assertFalse(schema.isNotModified(identity, true));
+    }
+
+    @Test
+    @DisplayName("gzip variant decompresses to the JSON bytes")
+    void gzipVariant() throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(schema.getGzip()))) {
+            assertArrayEquals(schema.getJson(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding negotiation honours q=0")
+    void acceptsGzip() {
+        assertTrue(SerializedSchema.acceptsGzip("gzip, deflate, br"));
+        assertTrue(SerializedSchema.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(SerializedSchema.acceptsGzip("*"));
+        assertFalse(SerializedSchema.acceptsGzip("gzip;q=0"));
+        assertFalse(SerializedSchema.acceptsGzip("gzip;q=0, *"));
+        assertFalse(SerializedSchema.acceptsGzip("*, gzip;q=0"));
+        assertTrue(SerializedSchema.acceptsGzip("identity;q=0.5, *;q=0.1"));
+        assertFalse(SerializedSchema.acceptsGzip("identity"));
+        assertFalse(SerializedSchema.acceptsGzip(null));
+    }
+}
@@ -6,9 +6,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -283,6 +290,994 @@ class ValidationEngineTest {
                 }
         }
 
+        // ───────────────────────────── Partial Validation ─────────────────────
+
+        @Nested
+        @DisplayName("Partial validation (validateFields)")
+        class PartialValidationTests {
+
+                private FormSchema dependentSchema() {
+                        FormComponent a = FormComponent.builder()
+                                        .key("a").type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                        FormComponent b = FormComponent.builder()
+                                        .key("b").type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                        FormComponent c = FormComponent.builder()
+                                        .key("c").type("textfield").input(true)
+                                        .validate(ComponentValidation.builder().required(true)
+                                                        .custom("valid = input !== data.a;").build())
+                                        .build();
+                        FormComponent d = FormComponent.builder()
+                                        .key("d").type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                        FormComponent panel = FormComponent.builder()
+                                        .key("panel").type("panel").input(false)
+                                        .components(List.of(d)).build();
+                        panel.setAdditionalProperty("conditional",
+                                        Map.of("show", false, "when", "c", "eq", "no"));
+                        return FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(List.of(a, b, c, panel))
+                                        .build();
+                }
+
+                @Test
+                @DisplayName("should validate changed fields and their transitive dependents only")
+                void validatesAffectedFields() {
+                        Map<String, String> errors = validationEngine.validateFields(
+                                        dependentSchema(), Map.of(), Set.of("a"));
+
+                        assertEquals(Set.of("a", "c", "d"), errors.keySet());
+                }
+
+                @Test
+                @DisplayName("should not validate unrelated fields")
+                void skipsUnrelatedFields() {
+                        Map<String, String> errors = validationEngine.validateFields(
+                                        dependentSchema(), Map.of(), Set.of("b"));
+
+                        assertEquals(Set.of("b"), errors.keySet());
+                }
+
+                @Test
+                @DisplayName("should validate container children when the container key changed")
+                void validatesContainerChildren() {
+                        FormComponent qty = FormComponent.builder()
+                                        .key("qty").type("number").input(true)
+                                        .validate(requiredValidation()).build();
+                        FormComponent order = FormComponent.builder()
+                                        .key("order").type("container").input(true)
+                                        .components(List.of(qty)).build();
+                        FormComponent note = FormComponent.builder()
+                                        .key("note").type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                        FormSchema schema = FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(List.of(order, note))
+                                        .build();
+                        Map<String, Object> data = Map.of("order", Map.of("sku", "A-1"));
+
+                        assertEquals(Set.of("order.qty"),
+                                        validationEngine.validateFields(schema, data, Set.of("order")).keySet());
+                        assertEquals(Set.of("order.qty"),
+                                        validationEngine.validateFields(schema, data, Set.of("order.qty")).keySet());
+                        assertEquals(Set.of("note"),
+                                        validationEngine.validateFields(schema, data, Set.of("note")).keySet());
+                }
+
+                @Test
+                @DisplayName("should cache the plan for published schemas only")
+                void cachesPlanForFrozenSchemas() {
+                        FormSchema mutable = dependentSchema();
+                        FormSchema frozen = SchemaSnapshot.publish("test", mutable, null).getSchema();
+
+                        assertSame(validationEngine.plan(frozen), validationEngine.plan(frozen));
+                        assertNotSame(validationEngine.plan(mutable), validationEngine.plan(mutable));
+                        assertEquals(Set.of("c"), validationEngine.plan(frozen).dependentsOf("a"));
+                }
+        }
+
+        // ───────────────────────────── Conditional Visibility ─────────────────
+
+        @Nested
+        @DisplayName("Conditional visibility")
+        class ConditionalTests {
+
+                private FormComponent required(String key) {
+                        return FormComponent.builder()
+                                        .key(key).type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                }
+
+                private FormSchema schema(FormComponent... components) {
+                        return FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(List.of(components))
+                                        .build();
+                }
+
+                @Test
+                @DisplayName("should skip a required field hidden by a simple conditional")
+                void skipsHiddenField() {
+                        FormComponent details = required("details");
+                        details.setAdditionalProperty("conditional",
+                                        Map.of("show", true, "when", "hasDetails", "eq", "yes"));
+                        FormSchema schema = schema(details);
+
+                        assertTrue(validationEngine.validate(schema, Map.of("hasDetails", "no")).isEmpty());
+                        assertEquals(Set.of("details"),
+                                        validationEngine.validate(schema, Map.of("hasDetails", "yes")).keySet());
+                }
+
+                @Test
+                @DisplayName("should prune the whole subtree of a hidden panel")
+                void prunesHiddenPanel() {
+                        FormComponent panel = FormComponent.builder()
+                                        .key("panel").type("panel").input(false)
+                                        .components(List.of(required("a"), required("b"))).build();
+                        panel.setAdditionalProperty("conditional",
+                                        Map.of("show", false, "when", "skip", "eq", "true"));
+                        FormSchema schema = schema(panel);
+
+                        assertTrue(validationEngine.validate(schema, Map.of("skip", true)).isEmpty());
+                        assertEquals(Set.of("a", "b"), validationEngine.validate(schema, Map.of()).keySet());
+                }
+
+                @Test
+                @DisplayName("should evaluate the conditions list with operators and conjunction")
+                void evaluatesConditionsList() {
+                        FormComponent discount = required("discount");
+                        discount.setAdditionalProperty("conditional", Map.of(
+                                        "show", true,
+                                        "conjunction", "any",
+                                        "conditions", List.of(
+                                                        Map.of("component", "total", "operator", "greaterThan", "value", 100),
+                                                        Map.of("component", "tags", "operator", "isEqual", "value", "vip"))));
+                        FormSchema schema = schema(discount);
+
+                        assertTrue(validationEngine.validate(schema, Map.of("total", 50)).isEmpty());
+                        assertFalse(validationEngine.validate(schema, Map.of("total", 150)).isEmpty());
+                        assertFalse(validationEngine.validate(schema, Map.of("tags", List.of("vip"))).isEmpty());
+                }
+
+                @Test
+                @DisplayName("should evaluate conditionals of grid children against the row")
+                void evaluatesRowConditionals() {
+                        FormComponent reason = required("reason");
+                        reason.setAdditionalProperty("conditional",
+                                        Map.of("show", true, "when", "status", "eq", "rejected"));
+                        FormComponent grid = FormComponent.builder()
+                                        .key("items").type("datagrid").input(true)
+                                        .components(List.of(reason)).build();
+
+                        Map<String, String> errors = validationEngine.validate(schema(grid), Map.of("items", List.of(
+                                        Map.of("status", "approved"),
+                                        Map.of("status", "rejected"))));
+
+                        assertEquals(Set.of("items[1].reason"), errors.keySet());
+                }
+        }
+
+        // ───────────────────────────── Nested Data ────────────────────────────
+
+        @Nested
+        @DisplayName("Nested data (containers and grids)")
+        class NestedDataTests {
+
+                private FormComponent required(String key) {
+                        return FormComponent.builder()
+                                        .key(key).type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                }
+
+                private FormComponent of(String type, String key, FormComponent... children) {
+                        return FormComponent.builder()
+                                        .key(key).type(type).input(!"container".equals(type) && !"panel".equals(type))
+                                        .components(List.of(children)).build();
+                }
+
+                private FormSchema schema(FormComponent... components) {
+                        return FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(List.of(components))
+                                        .build();
+                }
+
+                @Test
+                @DisplayName("should read container children from nested data and key errors by path")
+                void validatesContainerData() {
+                        FormSchema schema = schema(of("container", "address", required("city"), required("zip")));
+
+                        Map<String, String> errors = validationEngine.validate(schema,
+                                        Map.of("address", Map.of("city", "Berlin")));
+
+                        assertEquals(Set.of("address.zip"), errors.keySet());
+                }
+
+                @Test
+                @DisplayName("should fall back to flat data when the container object is absent")
+                void acceptsFlatContainerData() {
+                        FormSchema schema = schema(of("container", "address", required("city"), required("zip")));
+
+                        Map<String, String> errors = validationEngine.validate(schema, Map.of("city", "Berlin"));
+
+                        assertEquals(Set.of("zip"), errors.keySet());
+                }
+
+                @Test
+                @DisplayName("should validate layouts, containers and nested grids inside grid rows")
+                void validatesNestedRows() {
+                        FormComponent parts = of("datagrid", "parts", required("name"));
+                        FormComponent row = of("panel", "rowPanel",
+                                        required("sku"),
+                                        of("container", "meta", required("origin")),
+                                        parts);
+                        FormSchema schema = schema(of("datagrid", "items", row));
+
+                        Map<String, Object> data = Map.of("items", List.of(
+                                        Map.of("sku", "A", "meta", Map.of("origin", "DE"),
+                                                        "parts", List.of(Map.of("name", "x"))),
+                                        Map.of("meta", Map.of(),
+                                                        "parts", List.of(Map.of("name", "y"), Map.of()))));
+
+                        Map<String, String> errors = validationEngine.validate(schema, data);
+
+                        assertEquals(List.of("items[1].sku", "items[1].meta.origin", "items[1].parts[1].name"),
+                                        List.copyOf(errors.keySet()));
+                }
+
+                @Test
+                @DisplayName("should apply type validation to grid row inputs")
+                void validatesRowTypes() {
+                        FormComponent email = FormComponent.builder()
+                                        .key("email").type("email").input(true).build();
+                        FormSchema schema = schema(of("editgrid", "contacts", email));
+
+                        Map<String, String> errors = validationEngine.validate(schema,
+                                        Map.of("contacts", List.of(Map.of("email", "not-an-email"))));
+
+                        assertEquals(Set.of("contacts[0].email"), errors.keySet());
+                }
+        }
+
+        // ───────────────────────────── Validation Modes ───────────────────────
+
+        @Nested
+        @DisplayName("Validation modes")
+        class ValidationModeTests {
+
+                private FormSchema manyRequired() {
+                        FormComponent[] fields = new FormComponent[5];
+                        for (int i = 0; i < fields.length; i++) {
+                                fields[i] = FormComponent.builder()
+                                                .key("f" + i).type("textfield").input(true)
+                                                .validate(requiredValidation()).build();
+                        }
+                        FormComponent grid = FormComponent.builder()
+                                        .key("rows").type("datagrid").input(true)
+                                        .components(List.of(fields[4])).build();
+                        return wrapInLayout(fields[0], fields[1], fields[2], fields[3], grid);
+                }
+
+                @Test
+                @DisplayName("should stop at the first error with FAIL_FAST")
+                void failFast() {
+                        Map<String, String> errors = validationEngine.validate(manyRequired(), Map.of(),
+                                        ValidationMode.FAIL_FAST);
+
+                        assertEquals(List.of("f0"), List.copyOf(errors.keySet()));
+                }
+
+                @Test
+                @DisplayName("should return the first n errors in schema order with maxErrors(n)")
+                void maxErrors() {
+                        Map<String, Object> data = Map.of("rows", List.of(Map.of(), Map.of(), Map.of()));
+                        List<String> all = List.copyOf(validationEngine.validate(manyRequired(), data).keySet());
+
+                        Map<String, String> limited = validationEngine.validate(manyRequired(), data,
+                                        ValidationMode.maxErrors(5));
+
+                        assertEquals(7, all.size());
+                        assertEquals(all.subList(0, 5), List.copyOf(limited.keySet()));
+                }
+
+                @Test
+                @DisplayName("should reject an error budget below one")
+                void rejectsInvalidBudget() {
+                        assertThrows(IllegalArgumentException.class, () -> ValidationMode.maxErrors(0));
+                        assertSame(ValidationMode.FAIL_FAST, ValidationMode.maxErrors(1));
+                }
+        }
+
+        // ───────────────────────────── Parallel Validation ────────────────────
+
+        @Nested
+        @DisplayName("Parallel validation")
+        class ParallelTests {
+
+                private FormComponent required(String key) {
+                        return FormComponent.builder()
+                                        .key(key).type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                }
+
+                @Test
+                @DisplayName("should produce the same ordered errors for a large grid as sequential validation")
+                void largeGridMatchesSequential() {
+                        FormComponent grid = FormComponent.builder()
+                                        .key("rows").type("datagrid").input(true)
+                                        .components(List.of(required("a"), required("b"))).build();
+                        FormSchema schema = FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(List.of(required("title"), grid))
+                                        .build();
+                        List<Map<String, Object>> rows = new ArrayList<>();
+                        for (int i = 0; i < 2_000; i++) {
+                                rows.add(i % 3 == 0 ? Map.of("a", "x") : Map.of("a", "x", "b", "y"));
+                        }
+                        Map<String, Object> data = Map.of("rows", rows);
+
+                        Map<String, String> sequential = new ValidationEngine(null, 0).validate(schema, data);
+                        Map<String, String> parallel = new ValidationEngine(null, 1).validate(schema, data);
+
+                        assertEquals(668, sequential.size());
+                        assertEquals(List.copyOf(sequential.keySet()), List.copyOf(parallel.keySet()));
+                        assertEquals(sequential, parallel);
+                }
+
+                @Test
+                @DisplayName("should merge top-level panel errors in schema order")
+                void panelsMatchSequential() {
+                        List<FormComponent> panels = new ArrayList<>();
+                        for (int p = 0; p < 20; p++) {
+                                panels.add(FormComponent.builder()
+                                                .key("panel" + p).type("panel").input(false)
+                                                .components(List.of(required("f" + p + "a"), required("f" + p + "b")))
+                                                .build());
+                        }
+                        FormSchema schema = FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(panels)
+                                        .build();
+
+                        Map<String, String> sequential = new ValidationEngine(null, 0).validate(schema, Map.of());
+                        Map<String, String> parallel = new ValidationEngine(null, 1).validate(schema, Map.of());
+
+                        assertEquals(40, parallel.size());
+                        assertEquals(List.copyOf(sequential.keySet()), List.copyOf(parallel.keySet()));
+                }
+
+                @Test
+                @DisplayName("should scale grid work by the submitted rows")
+                void estimatesSubmittedRows() {
+                        FormComponent grid = FormComponent.builder()
+                                        .key("rows").type("datagrid").input(true)
+                                        .components(List.of(required("a"), required("b"))).build();
+                        FormSchema schema = FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(List.of(required("title"), grid))
+                                        .build();
+                        ValidationPlan plan = ValidationPlan.compile(schema);
+
+                        assertEquals(3, plan.cost(grid));
+                        assertEquals(1 + 100 * 2, plan.cost(grid, Map.of("rows", Collections.nCopies(100, Map.of()))));
+                        assertEquals(1, plan.cost(grid, Map.of()));
+                }
+
+                @Test
+                @DisplayName("should run branches on the engine's own pool")
+                void usesDedicatedPool() {
+                        Set<String> threads = ConcurrentHashMap.newKeySet();
+                        ComponentValidator recording = new ComponentValidator() {
+                                @Override
+                                public Set<String> types() {
+                                        return Set.of("recorded");
+                                }
+
+                                @Override
+                                public String validate(FormComponent component, Object value) {
+                                        threads.add(Thread.currentThread().getName());
+                                        return null;
+                                }
+                        };
+                        FormComponent grid = FormComponent.builder()
+                                        .key("rows").type("datagrid").input(true)
+                                        .components(List.of(FormComponent.builder()
+                                                        .key("v").type("recorded").input(true).build()))
+                                        .build();
+                        FormSchema schema = FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(List.of(grid))
+                                        .build();
+                        Map<String, Object> data = Map.of("rows", Collections.nCopies(500, Map.of("v", "x")));
+
+                        try (ValidationEngine engine = new ValidationEngine(null, 1, false,
+                                        new ComponentValidatorRegistry(List.of(recording)), 2)) {
+                                assertTrue(engine.validate(schema, data).isEmpty());
+                        }
+
+                        threads.remove(Thread.currentThread().getName());
+                        assertFalse(threads.isEmpty());
+                        assertTrue(threads.stream().allMatch(name -> name.startsWith("genericform-validation-")),
+                                        "unexpected threads: " + threads);
+                }
+        }
+
+        // ───────────────────────────── Adaptive Ordering ──────────────────────
+
+        @Nested
+        @DisplayName("Adaptive ordering")
+        class AdaptiveOrderingTests {
+
+                private FormSchema twoRequired() {
+                        FormComponent rarelyFails = FormComponent.builder()
+                                        .key("a").type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                        FormComponent alwaysFails = FormComponent.builder()
+                                        .key("z").type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                        return SchemaFreezer.freeze(wrapInLayout(rarelyFails, alwaysFails), null);
+                }
+
+                private void train(ValidationEngine engine, FormSchema schema) {
+                        for (int i = 0; i < AdaptiveOrdering.REORDER_INTERVAL; i++) {
+                                engine.validate(schema, Map.of("a", "x"), ValidationMode.FAIL_FAST);
+                        }
+                }
+
+                @Test
+                @DisplayName("should run the field that fails most often first once trained")
+                void failingFieldFirst() {
+                        ValidationEngine engine = new ValidationEngine(null, 0, true);
+                        FormSchema schema = twoRequired();
+
+                        assertEquals(Set.of("a"), engine.validate(schema, Map.of(), ValidationMode.FAIL_FAST).keySet());
+                        train(engine, schema);
+
+                        assertEquals(Set.of("z"), engine.validate(schema, Map.of(), ValidationMode.FAIL_FAST).keySet());
+                        assertEquals(Set.of("a", "z"), engine.validate(schema, Map.of()).keySet());
+                }
+
+                @Test
+                @DisplayName("should keep measuring a field at the back that starts failing")
+                void sampleSkippedUnits() {
+                        ValidationEngine engine = new ValidationEngine(null, 0, true);
+                        FormSchema schema = twoRequired();
+                        train(engine, schema);
+                        FormComponent a = schema.getComponents().get(0).getComponents().get(0).getComponents().get(0);
+                        AdaptiveOrdering.Unit back = engine.plan(schema).ordering().unit(a);
+                        long failures = back.failures();
+
+                        for (int i = 0; i < AdaptiveOrdering.REORDER_INTERVAL; i++) {
+                                assertEquals(Set.of("z"), engine.validate(schema, Map.of(), ValidationMode.FAIL_FAST).keySet());
+                        }
+
+                        assertEquals(AdaptiveOrdering.REORDER_INTERVAL / AdaptiveOrdering.SAMPLE_INTERVAL,
+                                        back.failures() - failures);
+                }
+
+                @Test
+                @DisplayName("should keep schema order when disabled")
+                void disabledKeepsSchemaOrder() {
+                        ValidationEngine engine = new ValidationEngine(null, 0);
+                        FormSchema schema = twoRequired();
+
+                        train(engine, schema);
+
+                        assertEquals(Set.of("a"), engine.validate(schema, Map.of(), ValidationMode.FAIL_FAST).keySet());
+                }
+
+                @Test
+                @DisplayName("should skip units under a hidden layout")
+                void hiddenAncestor() {
+                        FormComponent field = FormComponent.builder()
+                                        .key("inner").type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                        FormComponent panel = FormComponent.builder()
+                                        .key("panel").type("panel").input(false)
+                                        .components(List.of(field)).build();
+                        panel.setAdditionalProperty("conditional",
+                                        Map.of("show", false, "when", "mode", "eq", "skip"));
+                        FormSchema schema = SchemaFreezer.freeze(FormSchema.builder()
+                                        .formId("test").version("1.0")
+                                        .components(List.of(panel)).build(), null);
+                        ValidationEngine engine = new ValidationEngine(null, 0, true);
+
+                        assertTrue(engine.validate(schema, Map.of("mode", "skip"), ValidationMode.FAIL_FAST).isEmpty());
+                        assertEquals(Set.of("inner"), engine.validate(schema, Map.of(), ValidationMode.FAIL_FAST).keySet());
+                }
+        }
+
+        // ───────────────────────────── Typed Submission ───────────────────────
+
+        @Nested
+        @DisplayName("Typed submission")
+        class TypedSubmissionTests {
+
+                private FormComponent input(String key, String type) {
+                        return FormComponent.builder().key(key).type(type).input(true).build();
+                }
+
+                private FormSchema typedSchema() {
+                        FormComponent quantity = input("quantity", "number");
+                        quantity.setAdditionalProperty("decimalLimit", 0);
+                        FormComponent birthday = input("birthday", "datetime");
+                        birthday.setAdditionalProperty("enableTime", false);
+                        FormComponent address = FormComponent.builder()
+                                        .key("address").type("container").input(true)
+                                        .components(List.of(input("zip", "number"))).build();
+                        return wrapInLayout(input("name", "textfield"), quantity, input("weight", "number"),
+                                        input("price", "currency"), input("agreed", "checkbox"), birthday,
+                                        input("createdAt", "datetime"), address);
+                }
+
+                @Test
+                @DisplayName("should coerce each field into its declared type")
+                void coercesDeclaredTypes() {
+                        Map<String, Object> data = new HashMap<>();
+                        data.put("name", "Ada");
+                        data.put("quantity", "3");
+                        data.put("weight", "2.5");
+                        data.put("price", "19.99");
+                        data.put("agreed", "true");
+                        data.put("birthday", "1990-04-01T00:00:00+02:00");
+                        data.put("createdAt", "2024-05-01T10:15:30Z");
+                        data.put("address", Map.of("zip", "12345"));
+
+                        TypedSubmission record = validationEngine.coerce(typedSchema(), data);
+                        TypedSubmission.Layout layout = record.getLayout();
+
+                        assertEquals(3L, record.getLong(layout.slot("quantity")));
+                        assertEquals(2.5, record.getDouble(layout.slot("weight")));
+                        assertEquals(new BigDecimal("19.99"), record.getDecimal(layout.slot("price")));
+                        assertTrue(record.getBoolean(layout.slot("agreed")));
+                        assertEquals(LocalDate.of(1990, 4, 1), record.getDate(layout.slot("birthday")));
+                        assertEquals(Instant.parse("2024-05-01T10:15:30Z"),
+                                        record.getInstant(layout.slot("createdAt")));
+                        assertEquals(12345.0, record.getDouble(layout.slot("address.zip")));
+                        assertEquals("Ada", record.getString(layout.slot("name")));
+                }
+
+                @Test
+                @DisplayName("should persist numbers and booleans as such and keep other values as submitted")
+                void toMapReplacesNumbers() {
+                        Map<String, Object> data = Map.of(
+                                        "quantity", "3", "agreed", "false",
+                                        "birthday", "1990-04-01", "extra", "kept",
+                                        "address", Map.of("zip", "12345"));
+
+                        Map<String, Object> stored = validationEngine.coerce(typedSchema(), data).toMap();
+
+                        assertEquals(3L, stored.get("quantity"));
+                        assertEquals(false, stored.get("agreed"));
+                        assertEquals("1990-04-01", stored.get("birthday"));
+                        assertEquals("kept", stored.get("extra"));
+                        assertEquals(Map.of("zip", 12345.0), stored.get("address"));
+                        assertEquals("12345", ((Map<?, ?>) data.get("address")).get("zip"));
+                }
+
+                @Test
+                @DisplayName("should write every coerced field of a container into one copy")
+                void toMapCopiesContainerOnce() {
+                        FormComponent address = FormComponent.builder()
+                                        .key("address").type("container").input(true)
+                                        .components(List.of(input("zip", "number"), input("floor", "number"),
+                                                        input("street", "textfield"))).build();
+                        Map<String, Object> submitted = new HashMap<>(Map.of("zip", "12345", "floor", "2",
+                                        "street", "Main St"));
+                        Map<String, Object> data = Map.of("address", submitted);
+
+                        Map<String, Object> stored = validationEngine.coerce(wrapInLayout(address), data).toMap();
+
+                        assertEquals(Map.of("zip", 12345.0, "floor", 2.0, "street", "Main St"), stored.get("address"));
+                        assertEquals(Map.of("zip", "12345", "floor", "2", "street", "Main St"), submitted);
+                }
+
+                @Test
+                @DisplayName("should report values that cannot be converted")
+                void rejectsUnconvertibleNumbers() {
+                        Map<String, Object> data = Map.of("quantity", "1.5", "weight", "NaN", "price", "abc");
+
+                        Map<String, String> errors = validationEngine.validate(typedSchema(), data);
+
+                        assertEquals("Expected a whole number", errors.get("quantity"));
+                        assertEquals("Expected a numeric value", errors.get("weight"));
+                        assertEquals("Expected a numeric value", errors.get("price"));
+                }
+
+                @Test
+                @DisplayName("should validate a coerced submission like the raw data")
+                void validatesRecord() {
+                        FormSchema schema = typedSchema();
+                        Map<String, Object> data = Map.of("quantity", "x", "weight", 4, "price", "1.00");
+
+                        TypedSubmission record = validationEngine.coerce(schema, data);
+
+                        assertEquals(validationEngine.validate(schema, data),
+                                        validationEngine.validate(schema, record, ValidationMode.COLLECT_ALL));
+                        assertThrows(IllegalArgumentException.class, () -> validationEngine.validate(
+                                        wrapInLayout(input("other", "number")), record, ValidationMode.COLLECT_ALL));
+                }
+        }
+
+        // ───────────────────────────── Date / Time ────────────────────────────
+
+        @Nested
+        @DisplayName("Date and time validation")
+        class DateTimeTests {
+
+                private FormComponent input(String key, String type, Map<String, Object> settings) {
+                        FormComponent component = FormComponent.builder().key(key).type(type).input(true).build();
+                        settings.forEach(component::setAdditionalProperty);
+                        return component;
+                }
+
+                private Map<String, String> validateOne(FormComponent component, Object value) {
+                        return validationEngine.validate(wrapInLayout(component), Map.of(component.getKey(), value));
+                }
+
+                @Test
+                @DisplayName("should accept ISO-8601 dates and date-times with or without offset")
+                void acceptsIso() {
+                        FormComponent when = input("when", "datetime", Map.of());
+
+                        assertTrue(validateOne(when, "2024-05-01T10:15:30+02:00").isEmpty());
+                        assertTrue(validateOne(when, "2024-05-01T10:15:30.123Z").isEmpty());
+                        assertTrue(validateOne(when, "2024-05-01T10:15").isEmpty());
+                        assertTrue(validateOne(when, "2024-05-01").isEmpty());
+                }
+
+                @Test
+                @DisplayName("should compile a date/time input without additional properties")
+                void nullProperties() {
+                        FormComponent when = FormComponent.builder().key("when").type("datetime").input(true)
+                                        .additionalProperties(null).build();
+
+                        assertTrue(validateOne(when, "2024-05-01T10:15:30Z").isEmpty());
+                        assertEquals("A valid date/time is required", validateOne(when, "yesterday").get("when"));
+                }
+
+                @Test
+                @DisplayName("should reject malformed and impossible dates")
+                void rejectsBadDates() {
+                        FormComponent when = input("when", "datetime", Map.of());
+
+                        assertEquals("A valid date/time is required", validateOne(when, "yesterday").get("when"));
+                        assertEquals("A valid date/time is required", validateOne(when, "2024-02-30").get("when"));
+                        assertEquals("A valid date/time is required",
+                                        validateOne(when, "2024-13-01T00:00:00Z").get("when"));
+                }
+
+                @Test
+                @DisplayName("should fall back to the component's display format")
+                void displayFormat() {
+                        FormComponent when = input("when", "datetime", Map.of("format", "yyyy-MM-dd hh:mm a"));
+
+                        assertTrue(validateOne(when, "2024-05-01 03:30 PM").isEmpty());
+                        assertFalse(validateOne(when, "01/05/2024").isEmpty());
+                }
+
+                @Test
+                @DisplayName("should enforce datePicker min and max dates")
+                void minMaxDate() {
+                        FormComponent date = input("date", "datetime", Map.of("enableTime", false,
+                                        "datePicker", Map.of("minDate", "2024-01-01", "maxDate", "2024-12-31")));
+                        FormComponent at = input("at", "datetime", Map.of(
+                                        "datePicker", Map.of("minDate", "2024-01-01T12:00:00Z")));
+
+                        assertTrue(validateOne(date, "2024-01-01T00:00:00+02:00").isEmpty());
+                        assertEquals("Date must be on or after 2024-01-01",
+                                        validateOne(date, "2023-12-31").get("date"));
+                        assertEquals("Date must be on or before 2024-12-31",
+                                        validateOne(date, "2025-01-01").get("date"));
+                        assertTrue(validateOne(at, "2024-01-01T14:00:00+01:00").isEmpty());
+                        assertFalse(validateOne(at, "2024-01-01T12:00:00+01:00").isEmpty());
+                }
+
+                @Test
+                @DisplayName("should validate day values, allowing empty parts")
+                void dayValues() {
+                        FormComponent day = input("day", "day", Map.of());
+                        FormComponent dayFirst = input("day", "day", Map.of("dayFirst", true));
+
+                        assertTrue(validateOne(day, "02/29/2024").isEmpty());
+                        assertTrue(validateOne(day, "00/00/2024").isEmpty());
+                        assertEquals("A valid day is required", validateOne(day, "02/30/2024").get("day"));
+                        assertEquals("A valid day is required", validateOne(day, "2024-02-01").get("day"));
+                        assertTrue(validateOne(dayFirst, "31/12/2024").isEmpty());
+                }
+
+                @Test
+                @DisplayName("should validate time values against the data format")
+                void timeValues() {
+                        FormComponent time = input("time", "time", Map.of("dataFormat", "HH:mm:ss"));
+
+                        assertTrue(validateOne(time, "23:59:00").isEmpty());
+                        assertTrue(validateOne(time, "08:30").isEmpty());
+                        assertEquals("A valid time is required", validateOne(time, "25:00:00").get("time"));
+                }
+
+                @Test
+                @DisplayName("should validate dates in grid rows")
+                void gridRows() {
+                        FormComponent grid = FormComponent.builder()
+                                        .key("rows").type("datagrid").input(true)
+                                        .components(List.of(input("on", "datetime", Map.of()))).build();
+
+                        Map<String, String> errors = validationEngine.validate(wrapInLayout(grid),
+                                        Map.of("rows", List.of(Map.of("on", "2024-05-01"), Map.of("on", "soon"))));
+
+                        assertEquals(Set.of("rows[1].on"), errors.keySet());
+                }
+        }
+
+        // ───────────────────────────── Input Masks ────────────────────────────
+
+        @Nested
+        @DisplayName("Input masks")
+        class InputMaskTests {
+
+                private FormSchema masked(String mask) {
+                        return wrapInLayout(FormComponent.builder()
+                                        .key("phone").type("phoneNumber").input(true)
+                                        .inputMask(mask).build());
+                }
+
+                @Test
+                @DisplayName("should accept values matching the mask")
+                void matches() {
+                        assertTrue(validationEngine.validate(masked("(999) 999-9999"),
+                                        Map.of("phone", "(555) 123-4567")).isEmpty());
+                        assertTrue(validationEngine.validate(masked("Aa*-99"), Map.of("phone", "Xy7-01")).isEmpty());
+                }
+
+                @Test
+                @DisplayName("should report the position of the first mismatch")
+                void mismatchPosition() {
+                        FormSchema schema = masked("9999-9999");
+
+                        assertEquals("Value does not match the mask 9999-9999 at character 3",
+                                        validationEngine.validate(schema, Map.of("phone", "12a4-5678")).get("phone"));
+                        assertEquals("Value does not match the mask 9999-9999 at character 5",
+                                        validationEngine.validate(schema, Map.of("phone", "12345678")).get("phone"));
+                        assertEquals("Value does not match the mask 9999-9999 at character 7",
+                                        validationEngine.validate(schema, Map.of("phone", "1234-5")).get("phone"));
+                        assertEquals("Value does not match the mask 9999-9999 at character 10",
+                                        validationEngine.validate(schema, Map.of("phone", "1234-56789")).get("phone"));
+                }
+
+                @Test
+                @DisplayName("should apply the mask of an input without additional properties")
+                void nullProperties() {
+                        FormSchema schema = wrapInLayout(FormComponent.builder()
+                                        .key("phone").type("phoneNumber").input(true)
+                                        .inputMask("9999-9999").additionalProperties(null).build());
+
+                        assertEquals("Value does not match the mask 9999-9999 at character 3",
+                                        validationEngine.validate(schema, Map.of("phone", "12a4-5678")).get("phone"));
+                }
+
+                @Test
+                @DisplayName("should ignore masks of components allowing multiple masks")
+                void multipleMasks() {
+                        FormComponent phone = FormComponent.builder()
+                                        .key("phone").type("phoneNumber").input(true)
+                                        .inputMask("9999-9999").build();
+                        phone.setAdditionalProperty("allowMultipleMasks", true);
+                        FormSchema schema = wrapInLayout(phone);
+
+                        assertTrue(validationEngine.validate(schema, Map.of("phone", "anything")).isEmpty());
+                }
+        }
+
+        // ───────────────────────────── Component Validators ───────────────────
+
+        @Nested
+        @DisplayName("Component validator registry")
+        class ComponentValidatorTests {
+
+                private final ComponentValidator iban = new ComponentValidator() {
+                        @Override
+                        public Set<String> types() {
+                                return Set.of("IBAN");
+                        }
+
+                        @Override
+                        public String validate(FormComponent component, Object value) {
+                                return value.toString().startsWith("GB") ? null : "Invalid IBAN";
+                        }
+                };
+
+                private ValidationEngine engineWith(ComponentValidator... validators) {
+                        return new ValidationEngine(null, 0, false, new ComponentValidatorRegistry(List.of(validators)));
+                }
+
+                @Test
+                @DisplayName("should validate custom component types with registered validators")
+                void customType() {
+                        FormComponent account = FormComponent.builder().key("account").type("iban").input(true).build();
+                        FormComponent grid = FormComponent.builder()
+                                        .key("rows").type("datagrid").input(true)
+                                        .components(List.of(FormComponent.builder()
+                                                        .key("account").type("iban").input(true).build()))
+                                        .build();
+                        FormSchema schema = wrapInLayout(account, grid);
+
+                        Map<String, String> errors = engineWith(iban).validate(schema, Map.of("account", "DE00",
+                                        "rows", List.of(Map.of("account", "GB29"), Map.of("account", "FR76"))));
+
+                        assertEquals(Map.of("account", "Invalid IBAN", "rows[1].account", "Invalid IBAN"), errors);
+                }
+
+                @Test
+                @DisplayName("should validate unknown types as text without a registered validator")
+                void unknownTypeAsText() {
+                        FormComponent account = FormComponent.builder().key("account").type("iban").input(true)
+                                        .validate(ComponentValidation.builder().maxLength("4").build()).build();
+
+                        assertEquals("Value must be at most 4 characters", validationEngine
+                                        .validate(wrapInLayout(account), Map.of("account", "DE0012")).get("account"));
+                }
+
+                @Test
+                @DisplayName("should let a registered validator replace a built-in one")
+                void overrideBuiltIn() {
+                        ComponentValidator corporateEmail = new ComponentValidator() {
+                                @Override
+                                public Set<String> types() {
+                                        return Set.of("email");
+                                }
+
+                                @Override
+                                public String validate(FormComponent component, Object value) {
+                                        return value.toString().endsWith("@example.com") ? null : "Use your work address";
+                                }
+                        };
+                        FormSchema schema = wrapInLayout(
+                                        FormComponent.builder().key("mail").type("email").input(true).build());
+
+                        assertEquals("Use your work address",
+                                        engineWith(corporateEmail).validate(schema, Map.of("mail", "a@b.org")).get("mail"));
+                        assertTrue(validationEngine.validate(schema, Map.of("mail", "a@b.org")).isEmpty());
+                }
+
+                @Test
+                @DisplayName("should reject two validators for the same type")
+                void duplicateType() {
+                        assertThrows(IllegalArgumentException.class,
+                                        () -> new ComponentValidatorRegistry(List.of(iban, iban)));
+                        assertSame(ComponentValidatorRegistry.defaults().get("email"),
+                                        ComponentValidatorRegistry.defaults().get("EMAIL"));
+                }
+        }
+
+        @Nested
+        @DisplayName("Server-side calculated values")
+        class CalculationTests {
+
+                private FormComponent calculated(String key, String script, boolean server) {
+                        FormComponent component = FormComponent.builder().key(key).type("number").input(true).build();
+                        component.setAdditionalProperty("calculateValue", script);
+                        component.setAdditionalProperty("calculateServer", server);
+                        return component;
+                }
+
+                private FormComponent number(String key) {
+                        return FormComponent.builder().key(key).type("number").input(true).build();
+                }
+
+                @Test
+                @DisplayName("should replace client values by compiled arithmetic in dependency order")
+                void dependencyOrder() {
+                        FormSchema schema = wrapInLayout(
+                                        calculated("total", "value = data.subtotal * (1 + data['rate'] / 100);", true),
+                                        calculated("subtotal", "value = data.price * data.quantity - -2", true),
+                                        number("price"), number("quantity"), number("rate"));
+                        Map<String, Object> data = Map.of("price", 2.5, "quantity", 4, "rate", 10,
+                                        "subtotal", 1, "total", 1);
+
+                        Map<String, Object> result = validationEngine.calculate(schema, data);
+
+                        assertEquals(12, result.get("subtotal"));
+                        assertEquals(13.200000000000001, result.get("total"));
+                        assertEquals(1, data.get("total"), "input map is not modified");
+                        assertEquals(List.of("subtotal", "total"), ValidationPlan.compile(schema).calculations()
+                                        .calculations().stream().map(c -> c.path().toString()).toList());
+                        assertTrue(ValidationPlan.compile(schema).calculations().calculations().stream()
+                                        .allMatch(c -> c.expression() != null));
+                }
+
+                @Test
+                @DisplayName("should recompute in partial validation only when a calculation input changed")
+                void partialValidation() {
+                        FormComponent total = calculated("total", "value = data.a + data.b", true);
+                        total.setValidate(ComponentValidation.builder().maxLength("10").build());
+                        FormComponent note = FormComponent.builder().key("note").type("textfield").input(true)
+                                        .validate(requiredValidation()).build();
+                        FormSchema schema = wrapInLayout(total, number("a"), number("b"), note);
+                        Map<String, Object> data = Map.of("a", 6, "b", 7, "total", 3);
+
+                        assertEquals("Value must be <= 10.0",
+                                        validationEngine.validateFields(schema, data, Set.of("a", "total")).get("total"));
+                        assertEquals(Set.of("note"),
+                                        validationEngine.validateFields(schema, data, Set.of("note")).keySet());
+                        assertTrue(ValidationPlan.compile(schema).calculations().isAffectedBy(Set.of("b")));
+                        assertFalse(ValidationPlan.compile(schema).calculations().isAffectedBy(Set.of("note")));
+
+                        FormSchema opaque = wrapInLayout(calculated("total", "value = row.a + row.b", true));
+                        assertTrue(ValidationPlan.compile(opaque).calculations().isAffectedBy(Set.of("note")));
+                }
+
+                @Test
+                @DisplayName("should validate and coerce the recomputed values")
+                void validatesComputedValues() {
+                        FormComponent total = calculated("total", "value = data.a + data.b", true);
+                        total.setValidate(ComponentValidation.builder().maxLength("10").build());
+                        FormSchema schema = wrapInLayout(total, number("a"), number("b"));
+                        Map<String, Object> data = Map.of("a", 6, "b", 7, "total", 3);
+
+                        assertEquals("Value must be <= 10.0", validationEngine.validate(schema, data).get("total"));
+                        TypedSubmission record = validationEngine.coerce(schema, data);
+                        assertEquals(13, record.getSource().get("total"));
+                }
+
+                @Test
+                @DisplayName("should write nested values and keep fields without calculateServer")
+                void nestedAndClientOnly() {
+                        FormComponent container = FormComponent.builder().key("order").type("container").input(true)
+                                        .components(List.of(number("qty"),
+                                                        calculated("sum", "value = data.order.qty * 3", true)))
+                                        .build();
+                        FormSchema schema = wrapInLayout(container, calculated("client", "value = 1", false));
+                        Map<String, Object> data = Map.of("order", Map.of("qty", 2, "sum", 0), "client", 5);
+
+                        Map<String, Object> result = validationEngine.calculate(schema, data);
+
+                        assertEquals(Map.of("qty", 2, "sum", 6), result.get("order"));
+                        assertEquals(5, result.get("client"));
+                }
+
+                @Test
+                @DisplayName("should read null operands as 0 and missing ones as NaN, like JavaScript")
+                void nullAndMissingOperands() {
+                        FormSchema schema = wrapInLayout(
+                                        calculated("sum", "value = data.a + data.b", true),
+                                        calculated("missing", "value = data.a + data.c", true),
+                                        calculated("nested", "value = data.order.qty * 2", true),
+                                        calculated("copy", "value = data.b", true),
+                                        calculated("plus", "value = +data.b", true),
+                                        number("a"), number("b"));
+                        Map<String, Object> data = new HashMap<>(Map.of("a", 3, "missing", 1, "nested", 1,
+                                        "copy", 1, "plus", 1));
+                        data.put("b", null);
+
+                        Map<String, Object> result = validationEngine.calculate(schema, data);
+
+                        assertEquals(3, result.get("sum"));
+                        assertNull(result.get("missing"));
+                        assertNull(result.get("nested"));
+                        assertNull(result.get("copy"));
+                        assertEquals(0, result.get("plus"));
+                }
+
+                @Test
+                @DisplayName("should clear fields whose scripts need JS when it is disabled")
+                void noJsEngine() {
+                        FormSchema schema = wrapInLayout(
+                                        calculated("label", "value = data.first + ' ' + data.last", true),
+                                        calculated("sum", "value = data.a + data.b", true));
+                        Map<String, Object> data = Map.of("label", "x", "a", "1", "b", 2, "sum", 0);
+
+                        Map<String, Object> result = validationEngine.calculate(schema, data);
+
+                        assertNull(result.get("label"));
+                        assertNull(result.get("sum"), "string operand: left to JavaScript semantics");
+                        assertNull(ValidationPlan.compile(schema).calculations().calculations().get(0).expression());
+                        assertSame(data, validationEngine.calculate(wrapInLayout(number("a")), data));
+                }
+        }
+
         // ───────────────────────────── Full Form Sample ───────────────────────
 
         @Test